@@ -166,6 +166,128 @@ public class Validation {
             "messageQueueSize", 0, messageQueueSize);
    }
 
+   /**
+    * Validate that the value of specified argument is grater than or equal to one; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param parallelism the number of threads to check
+    */
+   public static final void validateParallelism(final int parallelism) {
+      Validate.isTrue(parallelism >= 1, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE, "parallelism", 1,
+            parallelism);
+   }
+
+   /**
+    * Validate that the value of specified argument is between 64 and the greatest number of bits that can be stored
+    * in an array of longs; otherwise throwing a {@code IllegalArgumentException}.
+    *
+    * @param bitstateSize the number of bits to check
+    */
+   public static final void validateBitstateSize(final long bitstateSize) {
+      Validate.isTrue(bitstateSize >= Long.SIZE && bitstateSize <= (long) Integer.MAX_VALUE * Long.SIZE,
+            ValidationMessages.IS_NOT_BETWEEN_EXCEPTION_MESSAGE, "bitstateSize", Long.SIZE,
+            (long) Integer.MAX_VALUE * Long.SIZE, bitstateSize);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to one; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param externalMemoryBufferSize the number of states to check
+    */
+   public static final void validateExternalMemoryBufferSize(final int externalMemoryBufferSize) {
+      Validate.isTrue(externalMemoryBufferSize >= 1, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE,
+            "externalMemoryBufferSize", 1, externalMemoryBufferSize);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to zero; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param checkpointInterval the number of milliseconds to check
+    */
+   public static final void validateCheckpointInterval(final long checkpointInterval) {
+      Validate.isTrue(checkpointInterval >= 0, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE,
+            "checkpointInterval", 0, checkpointInterval);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to one; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param queueCapacity the number of transitions to check
+    */
+   public static final void validateQueueCapacity(final int queueCapacity) {
+      Validate.isTrue(queueCapacity >= 1, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE, "queueCapacity",
+            1, queueCapacity);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to one; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param maxStateCount the number of states to check
+    */
+   public static final void validateMaxStateCount(final int maxStateCount) {
+      Validate.isTrue(maxStateCount >= 1, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE, "maxStateCount",
+            1, maxStateCount);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to zero; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param maxTransitionCount the number of transitions to check
+    */
+   public static final void validateMaxTransitionCount(final long maxTransitionCount) {
+      Validate.isTrue(maxTransitionCount >= 0, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE,
+            "maxTransitionCount", 0, maxTransitionCount);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to zero; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param maxDepth the depth to check
+    */
+   public static final void validateMaxDepth(final int maxDepth) {
+      Validate.isTrue(maxDepth >= 0, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE, "maxDepth", 0,
+            maxDepth);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to zero; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param timeLimit the number of milliseconds to check
+    */
+   public static final void validateTimeLimit(final long timeLimit) {
+      Validate.isTrue(timeLimit >= 0, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE, "timeLimit", 0,
+            timeLimit);
+   }
+
+   /**
+    * Validate that the value of specified argument is a percentage between 1 and 100; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param maxHeapUsage the percentage to check
+    */
+   public static final void validateMaxHeapUsage(final int maxHeapUsage) {
+      Validate.isTrue(maxHeapUsage >= 1 && maxHeapUsage <= 100, ValidationMessages.IS_NOT_BETWEEN_EXCEPTION_MESSAGE,
+            "maxHeapUsage", 1, 100, maxHeapUsage);
+   }
+
+   /**
+    * Validate that the value of specified argument is grater than or equal to one; otherwise throwing a
+    * {@code IllegalArgumentException}.
+    *
+    * @param hashFunctionCount the number of hash functions to check
+    */
+   public static final void validateHashFunctionCount(final int hashFunctionCount) {
+      Validate.isTrue(hashFunctionCount >= 1, ValidationMessages.IS_NOT_GRATER_OR_EQUAL_EXCEPTION_MESSAGE,
+            "hashFunctionCount", 1, hashFunctionCount);
+   }
+
    /**
     * Validate that for each pair of participants i and j the set of {@link InputMessage}s of i and j are disjoint by
     * using {@link CollectionUtils#containsAny(Collection, Collection)}; otherwise throwing a
@@ -39,6 +39,14 @@ public class ValidationMessages {
 
    public static final String IS_STATE_NOT_IN_SET_OF_STATES_EXCEPTION_MESSAGE
          = "The state %s is not contained in the set of states";
+   public static final String IS_NOT_BETWEEN_EXCEPTION_MESSAGE
+         = "The element '%s' must be between %d and %d but was: %d";
+   public static final String IS_NOT_SUPPORTED_STATE_STORAGE_EXCEPTION_MESSAGE
+         = "The exploration strategy %s does not support the state storage %s";
+   public static final String IS_NOT_SUPPORTED_CHECKPOINT_EXCEPTION_MESSAGE
+         = "The state storage %s does not support checkpoints";
+   public static final String IS_NOT_SUPPORTED_EXPLORATION_LIMITS_EXCEPTION_MESSAGE
+         = "The exploration strategy %s does not support exploration limits";
 
    // -----------------------------------------------------------------------
 
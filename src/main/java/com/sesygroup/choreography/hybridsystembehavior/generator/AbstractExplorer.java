@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageAlphabet;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Base class of the explorers used by the {@link HybridSystemBehaviorGenerator}: it provides the creation of the
+ * initial state and the computation of the outgoing transitions of a state, whereas the order in which the states are
+ * explored is up to the subclasses.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+abstract class AbstractExplorer {
+   protected final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap;
+   protected final Map<Participant, Integer> participantToMessageQueueSizeMap;
+   protected final ConcreteTransitionIndex concreteTransitionIndex;
+   /*
+    * null whether the exploration is not limited
+    */
+   protected ExplorationLimits explorationLimits;
+   protected StopReason stopReason = StopReason.COMPLETED;
+   protected Set<State> frontier = Collections.emptySet();
+   private volatile boolean cancelled;
+
+   protected AbstractExplorer(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap) {
+      super();
+      this.participantToConcreteParticipantBehaviorMap = participantToConcreteParticipantBehaviorMap;
+      this.participantToMessageQueueSizeMap = participantToMessageQueueSizeMap;
+      this.concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+   }
+
+   /**
+    * Explores all the states reachable from the initial state.
+    *
+    * @return the hybrid system behavior containing all reachable states and transitions
+    */
+   public abstract HybridSystemBehavior explore();
+
+   /**
+    * Limits the exploration; only the breadth-first explorers performed by the calling thread support limits.
+    */
+   public void setExplorationLimits(final ExplorationLimits explorationLimits) {
+      this.explorationLimits = explorationLimits;
+   }
+
+   /**
+    * Requests the cancellation of the exploration, which is honoured before the next state is expanded by throwing a
+    * {@link CancellationException} from {@link #explore()}; it can be called by any thread.
+    */
+   public void cancel() {
+      cancelled = true;
+   }
+
+   public boolean isCancelled() {
+      return cancelled;
+   }
+
+   /**
+    * Returns the reason why the last exploration stopped.
+    */
+   public StopReason getStopReason() {
+      return stopReason;
+   }
+
+   /**
+    * Returns the states discovered but not expanded by the last exploration, empty whether it completed.
+    */
+   public Set<State> getFrontier() {
+      return frontier;
+   }
+
+   /**
+    * Returns the compression ratio of the states stored by the last exploration (see
+    * {@link HybridSystemBehaviorGenerator#getCompressionRatio()}).
+    *
+    * @return the compression ratio, {@link Double#NaN} whether the states are stored as objects
+    */
+   public double getCompressionRatio() {
+      return Double.NaN;
+   }
+
+   /**
+    * Returns the file in which the last exploration stored the state vectors (see
+    * {@link HybridSystemBehaviorGenerator#getStateVectorFile()}).
+    *
+    * @return the file, null whether the states are not stored in a file
+    */
+   public Path getStateVectorFile() {
+      return null;
+   }
+
+   /**
+    * Creates the frozen initial state; its message queues are packed in a single {@code long} whether the capacity
+    * and the message alphabet fit (see {@link MessageQueue#packedCopy(MessageAlphabet)}), and so are the message
+    * queues of all the states derived from it.
+    *
+    * @return the initial state
+    */
+   protected State createInitialState() {
+      return createInitialState(concreteTransitionIndex, participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap);
+   }
+
+   /**
+    * Same as {@link #createInitialState()}, for the explorers that do not extend this class.
+    */
+   static State createInitialState(final ConcreteTransitionIndex concreteTransitionIndex,
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap) {
+      State initialState = HybridSystemBehaviorGeneratorUtils
+            .createInitialState(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      MessageAlphabet messageAlphabet = concreteTransitionIndex.getSymbolTable().getMessageAlphabet();
+      initialState.getParticipantToMessageQueueMap()
+            .replaceAll((participant, messageQueue) -> messageQueue.packedCopy(messageAlphabet));
+      initialState.freeze();
+      return initialState;
+   }
+
+   /**
+    * Finds all the transitions outgoing from {@code <i>sourceState</i>}; the target states of the returned
+    * transitions are new frozen instances, sharing with the source state the components that are not changed.
+    *
+    * @param sourceState the state from which transitions are searched, must not be null
+    * @return the transitions outgoing from the source state; an empty collection otherwise
+    * @throws CancellationException whether the exploration has been cancelled (see {@link #cancel()})
+    */
+   protected Collection<Transition> findTransitions(final State sourceState) {
+      Collection<Transition> transitions = new ArrayList<Transition>();
+      findTransitions(sourceState, transitions);
+      return transitions;
+   }
+
+   /**
+    * Same as {@link #findTransitions(State)}, but the transitions are added to {@code <i>transitions</i>}, so that an
+    * explorer expanding one state at a time can reuse the same buffer for all the states.
+    *
+    * @param sourceState the state from which transitions are searched, must not be null
+    * @param transitions the buffer to which the transitions outgoing from the source state are added, must not be null
+    * @throws CancellationException whether the exploration has been cancelled (see {@link #cancel()})
+    */
+   protected void findTransitions(final State sourceState, final Collection<Transition> transitions) {
+      findTransitions(sourceState, EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState),
+            transitions, null);
+   }
+
+   /**
+    * Same as {@link #findTransitions(State, Collection)}, where the concrete states and the queue heads of the source
+    * state are read from {@code <i>sourceMoves</i>} instead of being looked up, and the summaries of the target states
+    * are derived from it (see {@link EnabledMoves}), so that an explorer carrying the summary of each state to be
+    * checked never computes one from scratch.
+    *
+    * @param sourceState the state from which transitions are searched, must not be null
+    * @param sourceMoves the summary of the source state, must not be null
+    * @param transitions the buffer to which the transitions outgoing from the source state are added, must not be null
+    * @param targetMoves the buffer to which the summaries of the target states are added in the same order of the
+    * transitions, null whether they are not needed
+    * @throws CancellationException whether the exploration has been cancelled (see {@link #cancel()})
+    */
+   protected void findTransitions(final State sourceState, final EnabledMoves sourceMoves,
+         final Collection<Transition> transitions, final Collection<EnabledMoves> targetMoves) {
+      if (cancelled) {
+         throw new CancellationException("The exploration has been cancelled");
+      }
+      HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, sourceState, sourceMoves,
+            transitions, targetMoves);
+   }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Depth-first explorer performed by the calling thread, which stores no state: the visited states are recorded in a
+ * {@link VisitedStateSet} and the found transitions are passed to a {@link TransitionSink}. Only the transitions
+ * outgoing from the states on the current path are kept as objects; on the other hand, a reachable state that collides
+ * with the visited states is not explored.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class ApproximateExplorer {
+   private final ConcreteTransitionIndex concreteTransitionIndex;
+   private final StateCodec stateCodec;
+   private final State initialState;
+   private final VisitedStateSet visitedStateSet;
+
+   ApproximateExplorer(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final VisitedStateSet visitedStateSet) {
+      super();
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(), participantToMessageQueueSizeMap);
+      initialState = AbstractExplorer.createInitialState(concreteTransitionIndex,
+            participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      this.visitedStateSet = visitedStateSet;
+   }
+
+   /**
+    * Explores the states reachable from the initial state, passing to {@code <i>transitionSink</i>} the transitions
+    * outgoing from each visited state.
+    *
+    * @param transitionSink the sink of the transitions, must not be null
+    * @return the number of transitions passed to the sink
+    */
+   public long explore(final TransitionSink transitionSink) {
+      int[] vector = new int[stateCodec.getVectorLength()];
+      long transitionCount = 0;
+
+      /*
+       * FIRST STEP: visit initial state
+       */
+      stateCodec.encode(initialState, vector, 0);
+      visitedStateSet.add(vector);
+      transitionSink.acceptState(initialState);
+      Deque<Iterator<Transition>> path = new ArrayDeque<Iterator<Transition>>();
+      path.push(HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, initialState).iterator());
+
+      /*
+       * ITERATION STEP: follow the next transition of the last state of the path, and visit its target state whether
+       * it is not in the set of visited states; go back once all the transitions of the last state have been followed
+       */
+      while (!path.isEmpty()) {
+         Iterator<Transition> transitions = path.peek();
+         if (!transitions.hasNext()) {
+            path.pop();
+            continue;
+         }
+         Transition transition = transitions.next();
+         transitionSink.accept(transition);
+         transitionCount++;
+
+         stateCodec.encode(transition.getTargetState(), vector, 0);
+         if (visitedStateSet.add(vector)) {
+            transitionSink.acceptState(transition.getTargetState());
+            path.push(HybridSystemBehaviorGeneratorUtils
+                  .findTransitions(concreteTransitionIndex, transition.getTargetState()).iterator());
+         }
+      }
+      return transitionCount;
+   }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Outcome of a bitstate exploration (see {@link HybridSystemBehaviorGenerator#generateBitstate(TransitionSink)}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class BitstateStatistics {
+   private final long visitedStateCount;
+   private final long transitionCount;
+   private final long bitstateSize;
+   private final int hashFunctionCount;
+   private final long setBitCount;
+   private final double collisionProbability;
+   private final double estimatedCoverage;
+
+   BitstateStatistics(final BitstateTable bitstateTable, final long transitionCount) {
+      super();
+      this.visitedStateCount = bitstateTable.getAddedVectorCount();
+      this.transitionCount = transitionCount;
+      this.bitstateSize = bitstateTable.getSize();
+      this.hashFunctionCount = bitstateTable.getHashFunctionCount();
+      this.setBitCount = bitstateTable.getSetBitCount();
+      this.collisionProbability = bitstateTable.getCollisionProbability();
+      this.estimatedCoverage = bitstateTable.getEstimatedCoverage();
+   }
+
+   /**
+    * Returns the number of visited states, that is the number of states whose outgoing transitions have been found.
+    */
+   public long getVisitedStateCount() {
+      return visitedStateCount;
+   }
+
+   /**
+    * Returns the number of transitions passed to the {@link TransitionSink}.
+    */
+   public long getTransitionCount() {
+      return transitionCount;
+   }
+
+   /**
+    * Returns the number of bits of the bit array.
+    */
+   public long getBitstateSize() {
+      return bitstateSize;
+   }
+
+   public int getHashFunctionCount() {
+      return hashFunctionCount;
+   }
+
+   public long getSetBitCount() {
+      return setBitCount;
+   }
+
+   /**
+    * Returns the probability, at the end of the exploration, that a state never visited is wrongly considered already
+    * visited, that is the probability that all its bits are set.
+    */
+   public double getCollisionProbability() {
+      return collisionProbability;
+   }
+
+   /**
+    * Returns the estimated fraction of the reachable states that have been visited, between zero and one; the states
+    * reachable only from the states wrongly considered already visited are not taken into account, therefore it is an
+    * upper bound of the actual coverage.
+    */
+   public double getEstimatedCoverage() {
+      return estimatedCoverage;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("visited states: %d, transitions: %d, bits: %d/%d, hash functions: %d, "
+            + "collision probability: %.3e, estimated coverage: %.4f", visitedStateCount, transitionCount, setBitCount,
+            bitstateSize, hashFunctionCount, collisionProbability, estimatedCoverage);
+   }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Approximate set of state vectors (see {@link StateCodec}) used by the bitstate exploration: a vector is represented
+ * by {@code k} bits of a bit array, chosen by {@code k} hash functions, and it is considered contained whether all its
+ * bits are set. No vector is stored, therefore two distinct vectors may collide and a reachable state may be wrongly
+ * considered already visited; the hash functions are derived from two independent 64 bit hashes of the vector by
+ * double hashing.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class BitstateTable implements VisitedStateSet {
+   private final long[] words;
+   private final long size;
+   private final int hashFunctionCount;
+   private long setBitCount;
+   private long addedVectorCount;
+   /*
+    * expected number of vectors wrongly considered contained, accumulated each time a vector is added
+    */
+   private double expectedOmittedVectorCount;
+
+   /**
+    * Creates a table of {@code <i>size</i>} bits, rounded up to a multiple of 64.
+    *
+    * @param size the number of bits
+    * @param hashFunctionCount the number of bits set for each vector
+    */
+   BitstateTable(final long size, final int hashFunctionCount) {
+      super();
+      this.words = new long[(int) ((size + Long.SIZE - 1) / Long.SIZE)];
+      this.size = (long) words.length * Long.SIZE;
+      this.hashFunctionCount = hashFunctionCount;
+   }
+
+   /**
+    * Sets the bits of {@code <i>vector</i>}.
+    *
+    * @return true whether at least one bit was not set, that is the vector was certainly not contained; false otherwise
+    */
+   @Override
+   public boolean add(final int[] vector) {
+      long previousSetBitCount = setBitCount;
+      long hash = VisitedStateSet.hash(vector, 0x9e3779b97f4a7c15L);
+      long step = VisitedStateSet.hash(vector, 0xc2b2ae3d27d4eb4fL) | 1L;
+      boolean added = false;
+      for (int i = 0; i < hashFunctionCount; i++) {
+         long bit = Long.remainderUnsigned(hash + i * step, size);
+         int word = (int) (bit >>> 6);
+         long mask = 1L << bit;
+         if ((words[word] & mask) == 0) {
+            words[word] |= mask;
+            setBitCount++;
+            added = true;
+         }
+      }
+      if (added) {
+         addedVectorCount++;
+         /*
+          * before finding a new vector, a geometric number of new vectors is missed
+          */
+         double collisionProbability = getCollisionProbability(previousSetBitCount);
+         expectedOmittedVectorCount += collisionProbability / (1 - collisionProbability);
+      }
+      return added;
+   }
+
+   long getSize() {
+      return size;
+   }
+
+   int getHashFunctionCount() {
+      return hashFunctionCount;
+   }
+
+   long getSetBitCount() {
+      return setBitCount;
+   }
+
+   long getAddedVectorCount() {
+      return addedVectorCount;
+   }
+
+   /**
+    * Returns the probability that a vector not contained is considered contained, that is the probability that all
+    * its bits are already set.
+    */
+   double getCollisionProbability() {
+      return getCollisionProbability(setBitCount);
+   }
+
+   private double getCollisionProbability(final long bitCount) {
+      return Math.pow((double) bitCount / size, hashFunctionCount);
+   }
+
+   /**
+    * Returns the estimated fraction of the reachable vectors that have been added, considering the vectors wrongly
+    * considered contained and ignoring the vectors reachable only from them.
+    */
+   double getEstimatedCoverage() {
+      return addedVectorCount == 0
+            ? 1.0
+            : addedVectorCount / (addedVectorCount + expectedOmittedVectorCount);
+   }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Sink that writes each transition it receives to a channel, e.g., a {@link java.nio.channels.FileChannel}, as a line
+ * of UTF-8 text; by default the line is the {@link Transition#toString()} of the transition. The lines are buffered,
+ * and the buffer is written to the channel when it is full, flushed or closed; the states are not written.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class ChannelTransitionSink implements TransitionSink, Flushable, Closeable {
+   private static final int BUFFER_SIZE = 1 << 16;
+   private final WritableByteChannel channel;
+   private final Function<? super Transition, String> formatter;
+   private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+   private long transitionCount;
+
+   public ChannelTransitionSink(final WritableByteChannel channel) {
+      this(channel, Transition::toString);
+   }
+
+   /**
+    * @param channel the channel to which the lines are written, closed by {@link #close()}
+    * @param formatter the function that returns the line of a transition, without line terminator
+    */
+   public ChannelTransitionSink(final WritableByteChannel channel,
+         final Function<? super Transition, String> formatter) {
+      super();
+      this.channel = channel;
+      this.formatter = formatter;
+   }
+
+   /**
+    * Writes the line of {@code <i>transition</i>}.
+    *
+    * @throws UncheckedIOException whether the channel cannot be written
+    */
+   @Override
+   public void accept(final Transition transition) {
+      byte[] line = (formatter.apply(transition) + '\n').getBytes(StandardCharsets.UTF_8);
+      try {
+         if (line.length > buffer.remaining()) {
+            writeBuffer();
+         }
+         if (line.length > buffer.remaining()) {
+            write(ByteBuffer.wrap(line));
+         } else {
+            buffer.put(line);
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      transitionCount++;
+   }
+
+   public long getTransitionCount() {
+      return transitionCount;
+   }
+
+   @Override
+   public void flush() throws IOException {
+      writeBuffer();
+   }
+
+   @Override
+   public void close() throws IOException {
+      try {
+         flush();
+      } finally {
+         channel.close();
+      }
+   }
+
+   private void writeBuffer() throws IOException {
+      buffer.flip();
+      write(buffer);
+      buffer.clear();
+   }
+
+   private void write(final ByteBuffer byteBuffer) throws IOException {
+      while (byteBuffer.hasRemaining()) {
+         channel.write(byteBuffer);
+      }
+   }
+}
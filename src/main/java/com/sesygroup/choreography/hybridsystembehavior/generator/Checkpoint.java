@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkpoint of a breadth-first exploration whose states are identified by the order in which they are discovered,
+ * which is also the order in which they are expanded (see {@link EncodedExplorer}). The visited states are the state
+ * vectors stored so far, the states to be checked are the ones not yet expanded, and the transitions are the ones
+ * outgoing from the expanded states, therefore a checkpoint is made of:
+ * <ul>
+ * <li>a file of the state vectors, each one as {@link StateVectorStorage#getVectorLength()} integers;</li>
+ * <li>a file of the labels of the transitions (see {@link TransitionLabels});</li>
+ * <li>a file of the transitions, each one as the identifiers of its source state, target state and label;</li>
+ * <li>a file of the progress, holding how many elements of the other files are valid and how many states have been
+ * expanded.</li>
+ * </ul>
+ * Each checkpoint only appends the new elements to the first three files, and then atomically replaces the progress
+ * file; the elements appended after the last replacement of the progress file, e.g., by a process killed while
+ * writing a checkpoint, are ignored and overwritten.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class Checkpoint {
+   private static final int MAGIC = 0x48534243;
+   private static final String STATES_FILE_NAME = "states.bin";
+   private static final String LABELS_FILE_NAME = "labels.bin";
+   private static final String TRANSITIONS_FILE_NAME = "transitions.bin";
+   private static final String PROGRESS_FILE_NAME = "progress.bin";
+   private final Path directory;
+   private final SymbolTable symbolTable;
+   private final int vectorLength;
+   private final long interval;
+   private long lastWriteTime;
+   private int stateCount;
+   private int labelCount;
+   private long transitionCount;
+   private long labelsFileLength;
+   private int expandedStateCount;
+
+   /**
+    * @param interval the minimum number of milliseconds between two checkpoints
+    */
+   Checkpoint(final Path directory, final SymbolTable symbolTable, final int vectorLength, final long interval) {
+      super();
+      this.directory = directory;
+      this.symbolTable = symbolTable;
+      this.vectorLength = vectorLength;
+      this.interval = TimeUnit.MILLISECONDS.toNanos(interval);
+      this.lastWriteTime = System.nanoTime();
+   }
+
+   int getExpandedStateCount() {
+      return expandedStateCount;
+   }
+
+   /**
+    * Returns whether the interval elapsed since the last checkpoint.
+    */
+   boolean isDue() {
+      return System.nanoTime() - lastWriteTime >= interval;
+   }
+
+   /**
+    * Reads the last checkpoint of the directory, adding its state vectors, labels and transitions in the same order
+    * in which they were added when the checkpoint was written.
+    *
+    * @throws IOException whether the checkpoint cannot be read, or it was written for state vectors of another length
+    */
+   void read(final StateVectorStorage stateVectorStorage, final TransitionLabels transitionLabels,
+         final PagedIntArray transitions) throws IOException {
+      try (DataInputStream input = newInputStream(PROGRESS_FILE_NAME)) {
+         if (input.readInt() != MAGIC || input.readInt() != vectorLength) {
+            throw new IOException("The checkpoint in " + directory + " does not match the participant behaviors");
+         }
+         stateCount = input.readInt();
+         labelCount = input.readInt();
+         transitionCount = input.readLong();
+         labelsFileLength = input.readLong();
+         expandedStateCount = input.readInt();
+      }
+      try (DataInputStream input = newInputStream(STATES_FILE_NAME)) {
+         int[] vector = new int[vectorLength];
+         for (int id = 0; id < stateCount; id++) {
+            for (int i = 0; i < vectorLength; i++) {
+               vector[i] = input.readInt();
+            }
+            stateVectorStorage.add(vector);
+         }
+      }
+      try (DataInputStream input = newInputStream(LABELS_FILE_NAME)) {
+         for (int labelIndex = 0; labelIndex < labelCount; labelIndex++) {
+            transitionLabels.read(symbolTable, input);
+         }
+      }
+      try (DataInputStream input = newInputStream(TRANSITIONS_FILE_NAME)) {
+         for (long index = 0; index < transitionCount * 3; index++) {
+            transitions.add(input.readInt());
+         }
+      }
+      lastWriteTime = System.nanoTime();
+   }
+
+   /**
+    * Writes a checkpoint where the first {@code <i>expandedStateCount</i>} states have been expanded, appending the
+    * state vectors, labels and transitions added since the last checkpoint.
+    *
+    * @throws IOException whether the checkpoint cannot be written
+    */
+   void write(final int expandedStateCount, final StateVectorStorage stateVectorStorage,
+         final TransitionLabels transitionLabels, final PagedIntArray transitions) throws IOException {
+      Files.createDirectories(directory);
+      int[] vector = new int[vectorLength];
+      try (FileChannel channel = openForAppend(STATES_FILE_NAME, (long) stateCount * vectorLength * Integer.BYTES);
+            DataOutputStream output = newOutputStream(channel)) {
+         for (int id = stateCount; id < stateVectorStorage.size(); id++) {
+            stateVectorStorage.get(id, vector);
+            for (int i = 0; i < vectorLength; i++) {
+               output.writeInt(vector[i]);
+            }
+         }
+         output.flush();
+         channel.force(false);
+      }
+      try (FileChannel channel = openForAppend(LABELS_FILE_NAME, labelsFileLength);
+            DataOutputStream output = newOutputStream(channel)) {
+         for (int labelIndex = labelCount; labelIndex < transitionLabels.size(); labelIndex++) {
+            transitionLabels.write(labelIndex, symbolTable, output);
+         }
+         output.flush();
+         channel.force(false);
+         labelsFileLength = channel.position();
+      }
+      try (FileChannel channel = openForAppend(TRANSITIONS_FILE_NAME, transitionCount * 3 * Integer.BYTES);
+            DataOutputStream output = newOutputStream(channel)) {
+         for (long index = transitionCount * 3; index < transitions.size(); index++) {
+            output.writeInt(transitions.get(index));
+         }
+         output.flush();
+         channel.force(false);
+      }
+
+      stateCount = stateVectorStorage.size();
+      labelCount = transitionLabels.size();
+      transitionCount = transitions.size() / 3;
+      this.expandedStateCount = expandedStateCount;
+      Path progressFile = directory.resolve(PROGRESS_FILE_NAME);
+      Path temporaryProgressFile = directory.resolve(PROGRESS_FILE_NAME + ".tmp");
+      try (FileChannel channel = FileChannel.open(temporaryProgressFile, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            DataOutputStream output = newOutputStream(channel)) {
+         output.writeInt(MAGIC);
+         output.writeInt(vectorLength);
+         output.writeInt(stateCount);
+         output.writeInt(labelCount);
+         output.writeLong(transitionCount);
+         output.writeLong(labelsFileLength);
+         output.writeInt(expandedStateCount);
+         output.flush();
+         channel.force(false);
+      }
+      Files.move(temporaryProgressFile, progressFile, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      lastWriteTime = System.nanoTime();
+   }
+
+   /**
+    * Deletes the files of the checkpoint, whether any.
+    */
+   void delete() throws IOException {
+      for (String fileName : Arrays.asList(PROGRESS_FILE_NAME, STATES_FILE_NAME, LABELS_FILE_NAME,
+            TRANSITIONS_FILE_NAME)) {
+         Files.deleteIfExists(directory.resolve(fileName));
+      }
+      stateCount = 0;
+      labelCount = 0;
+      transitionCount = 0;
+      labelsFileLength = 0;
+      expandedStateCount = 0;
+   }
+
+   /*
+    * the elements beyond the valid length were written after the last checkpoint, they are overwritten
+    */
+   private FileChannel openForAppend(final String fileName, final long validLength) throws IOException {
+      FileChannel channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE);
+      channel.truncate(validLength);
+      channel.position(validLength);
+      return channel;
+   }
+
+   private DataInputStream newInputStream(final String fileName) throws IOException {
+      return new DataInputStream(new BufferedInputStream(Files.newInputStream(directory.resolve(fileName))));
+   }
+
+   private static DataOutputStream newOutputStream(final FileChannel channel) {
+      return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+   }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Set of state vectors stored with collapse compression: the vector is split in components, each component is stored
+ * once in a table of the distinct values of that component, and a vector is stored as the tuple of the identifiers of
+ * its components in the tables. Since many states share the same concrete state and message queue of a participant,
+ * the tuples plus the tables are usually much smaller than the vectors.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class CollapsedStateVectorStore implements StateVectorStorage {
+   private final int vectorLength;
+   private final int[][] componentPositions;
+   private final StateVectorStore[] componentStores;
+   private final StateVectorStore tupleStore;
+   /*
+    * buffers reused to split and join the vectors, therefore neither adding nor searching nor reading is thread safe
+    */
+   private final int[][] components;
+   private final int[] tuple;
+
+   /**
+    * Creates a store of vectors of length {@code <i>vectorLength</i>}, split in the components defined by
+    * {@code <i>componentPositions</i>}.
+    *
+    * @param vectorLength the length of the vectors
+    * @param componentPositions the positions of the vector of each component; each position must belong to exactly
+    * one component
+    */
+   CollapsedStateVectorStore(final int vectorLength, final int[][] componentPositions) {
+      super();
+      this.vectorLength = vectorLength;
+      this.componentPositions = componentPositions;
+      componentStores = new StateVectorStore[componentPositions.length];
+      components = new int[componentPositions.length][];
+      for (int i = 0; i < componentPositions.length; i++) {
+         componentStores[i] = new StateVectorStore(componentPositions[i].length);
+         components[i] = new int[componentPositions[i].length];
+      }
+      tupleStore = new StateVectorStore(componentPositions.length);
+      tuple = new int[componentPositions.length];
+   }
+
+   @Override
+   public int getVectorLength() {
+      return vectorLength;
+   }
+
+   @Override
+   public int size() {
+      return tupleStore.size();
+   }
+
+   @Override
+   public int add(final int[] vector) {
+      for (int i = 0; i < componentPositions.length; i++) {
+         split(vector, i);
+         int componentId = componentStores[i].add(components[i]);
+         tuple[i] = componentId < 0
+               ? -componentId - 1
+               : componentId;
+      }
+      return tupleStore.add(tuple);
+   }
+
+   @Override
+   public int indexOf(final int[] vector) {
+      for (int i = 0; i < componentPositions.length; i++) {
+         split(vector, i);
+         tuple[i] = componentStores[i].indexOf(components[i]);
+         if (tuple[i] < 0) {
+            return -1;
+         }
+      }
+      return tupleStore.indexOf(tuple);
+   }
+
+   @Override
+   public void get(final int id, final int[] target) {
+      tupleStore.get(id, tuple);
+      for (int i = 0; i < componentPositions.length; i++) {
+         componentStores[i].get(tuple[i], components[i]);
+         for (int j = 0; j < componentPositions[i].length; j++) {
+            target[componentPositions[i][j]] = components[i][j];
+         }
+      }
+   }
+
+   private void split(final int[] vector, final int component) {
+      for (int j = 0; j < componentPositions[component].length; j++) {
+         components[component][j] = vector[componentPositions[component][j]];
+      }
+   }
+
+   /**
+    * Returns the number of integers needed to store the vectors without compression divided by the number of integers
+    * stored, that is the tuples plus the distinct components; the hash tables are not counted.
+    *
+    * @return the compression ratio, one whether the store is empty
+    */
+   double getCompressionRatio() {
+      long storedIntegers = (long) tupleStore.size() * tupleStore.getVectorLength();
+      for (StateVectorStore componentStore : componentStores) {
+         storedIntegers += (long) componentStore.size() * componentStore.getVectorLength();
+      }
+      return storedIntegers == 0
+            ? 1.0
+            : (double) size() * vectorLength / storedIntegers;
+   }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ * A communication channel between two participants, i.e., a message that is an
+ * {@link com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage} of the sender participant
+ * and an {@link com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage} of the receiver
+ * participant.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class CommunicationChannel {
+   private final Participant senderParticipant;
+   private final Participant receiverParticipant;
+   private final String messageName;
+
+   public CommunicationChannel(final Participant senderParticipant, final Participant receiverParticipant,
+         final String messageName) {
+      super();
+      this.senderParticipant = senderParticipant;
+      this.receiverParticipant = receiverParticipant;
+      this.messageName = messageName;
+   }
+
+   public Participant getSenderParticipant() {
+      return senderParticipant;
+   }
+
+   public Participant getReceiverParticipant() {
+      return receiverParticipant;
+   }
+
+   public String getMessageName() {
+      return messageName;
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + ((senderParticipant == null)
+            ? 0
+            : senderParticipant.hashCode());
+      result = prime * result + ((receiverParticipant == null)
+            ? 0
+            : receiverParticipant.hashCode());
+      result = prime * result + ((messageName == null)
+            ? 0
+            : messageName.hashCode());
+      return result;
+   }
+
+   @Override
+   public boolean equals(final Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (obj == null) {
+         return false;
+      }
+      if (getClass() != obj.getClass()) {
+         return false;
+      }
+      CommunicationChannel other = (CommunicationChannel) obj;
+      if (senderParticipant == null) {
+         if (other.senderParticipant != null) {
+            return false;
+         }
+      } else if (!senderParticipant.equals(other.senderParticipant)) {
+         return false;
+      }
+      if (receiverParticipant == null) {
+         if (other.receiverParticipant != null) {
+            return false;
+         }
+      } else if (!receiverParticipant.equals(other.receiverParticipant)) {
+         return false;
+      }
+      if (messageName == null) {
+         if (other.messageName != null) {
+            return false;
+         }
+      } else if (!messageName.equals(other.messageName)) {
+         return false;
+      }
+      return true;
+   }
+
+   @Override
+   public String toString() {
+      return senderParticipant + " -" + messageName + "-> " + receiverParticipant;
+   }
+}
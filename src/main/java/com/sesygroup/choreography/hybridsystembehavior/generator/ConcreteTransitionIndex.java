@@ -0,0 +1,423 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.State;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.InternalActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.SynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.SynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ * Immutable index of the transitions of the concrete participant behaviors, by participant, source state, kind of
+ * transition and message. Participants, concrete states and messages are identified by the integers of a
+ * {@link SymbolTable}, therefore finding the transitions of a participant that are enabled from one of its states
+ * takes a few array accesses instead of a scan of all its transitions. The index also holds the
+ * {@link CommunicationChannel}s between the participants, so that the send transitions are searched only along the
+ * channels that actually exist instead of along every pair of participants.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class ConcreteTransitionIndex {
+   private static final int NO_MESSAGE_ID = -1;
+   private static final int[] NO_IDS = new int[0];
+   private final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap;
+   private final SymbolTable symbolTable;
+   /*
+    * for each participant identifier and concrete state identifier, the outgoing transitions
+    */
+   private final SourceStateTransitions[][] index;
+   private final List<CommunicationChannel> communicationChannels;
+   /*
+    * for each communication channel, the identifiers of the sender participant, of the receiver participant and of the
+    * message
+    */
+   private final int[] communicationChannelIds;
+   /*
+    * for each participant identifier, the index of its first communication channel as sender participant; the last
+    * element is the number of communication channels
+    */
+   private final int[] senderParticipantChannelIndexes;
+   /*
+    * for each participant identifier and concrete state identifier, the indexes of the communication channels along
+    * which the participant has asynchronous or synchronous send transitions from the state
+    */
+   private final int[][][] sendChannelIndexes;
+   /*
+    * for each participant identifier and concrete state identifier, whether the participant has more than one
+    * synchronous receive transition from the state for a message of one of the communication channels to it
+    */
+   private final boolean[][] ambiguousSynchronousReceives;
+
+   /**
+    * The kinds of transition of a concrete participant behavior.
+    */
+   public enum Kind {
+      ASYNCHRONOUS_SEND, ASYNCHRONOUS_RECEIVE, SYNCHRONOUS_SEND, SYNCHRONOUS_RECEIVE, INTERNAL
+   }
+
+   public ConcreteTransitionIndex(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap) {
+      super();
+      this.participantToConcreteParticipantBehaviorMap = Collections
+            .unmodifiableMap(new LinkedHashMap<Participant, ConcreteParticipantBehavior>(
+                  participantToConcreteParticipantBehaviorMap));
+      this.symbolTable = new SymbolTable(participantToConcreteParticipantBehaviorMap);
+
+      index = new SourceStateTransitions[symbolTable.getParticipantCount()][];
+      for (int participantId = 0; participantId < symbolTable.getParticipantCount(); participantId++) {
+         index[participantId] = new SourceStateTransitions[symbolTable.getConcreteStateCount(participantId)];
+
+         /*
+          * group the transitions by source state, kind and message, sorting the messages by identifier
+          */
+         Map<Integer, Map<Kind, SortedMap<Integer, List<Transition>>>> stateIndex
+               = new HashMap<Integer, Map<Kind, SortedMap<Integer, List<Transition>>>>();
+         for (Transition transition : participantToConcreteParticipantBehaviorMap
+               .get(symbolTable.getParticipant(participantId)).getTransitions()) {
+            Kind kind = kindOf(transition);
+            String messageName = messageNameOf(transition);
+            int messageId = messageName == null
+                  ? NO_MESSAGE_ID
+                  : symbolTable.getMessageId(messageName);
+            /*
+             * the transitions exchanging a message that is not declared by the concrete participant behavior are never
+             * enabled
+             */
+            if (kind != null && (messageName == null || messageId >= 0)) {
+               stateIndex
+                     .computeIfAbsent(symbolTable.getConcreteStateId(participantId, transition.getSourceState()),
+                           key -> new EnumMap<Kind, SortedMap<Integer, List<Transition>>>(Kind.class))
+                     .computeIfAbsent(kind, key -> new TreeMap<Integer, List<Transition>>())
+                     .computeIfAbsent(messageId, key -> new ArrayList<Transition>())
+                     .add(transition);
+            }
+         }
+         for (Map.Entry<Integer, Map<Kind, SortedMap<Integer, List<Transition>>>> entry : stateIndex.entrySet()) {
+            index[participantId][entry.getKey()] = new SourceStateTransitions(symbolTable, participantId,
+                  entry.getValue());
+         }
+      }
+
+      this.communicationChannels = Collections
+            .unmodifiableList(createCommunicationChannels(participantToConcreteParticipantBehaviorMap));
+      this.communicationChannelIds = new int[communicationChannels.size() * 3];
+      for (int i = 0; i < communicationChannels.size(); i++) {
+         communicationChannelIds[i * 3] = symbolTable
+               .getParticipantId(communicationChannels.get(i).getSenderParticipant());
+         communicationChannelIds[i * 3 + 1] = symbolTable
+               .getParticipantId(communicationChannels.get(i).getReceiverParticipant());
+         communicationChannelIds[i * 3 + 2] = symbolTable.getMessageId(communicationChannels.get(i).getMessageName());
+      }
+      this.senderParticipantChannelIndexes = new int[symbolTable.getParticipantCount() + 1];
+      for (int participantId = 0, i = 0; participantId <= symbolTable.getParticipantCount(); participantId++) {
+         while (i < communicationChannels.size() && communicationChannelIds[i * 3] < participantId) {
+            i++;
+         }
+         senderParticipantChannelIndexes[participantId] = i;
+      }
+
+      this.sendChannelIndexes = new int[symbolTable.getParticipantCount()][][];
+      for (int participantId = 0; participantId < symbolTable.getParticipantCount(); participantId++) {
+         sendChannelIndexes[participantId] = new int[symbolTable.getConcreteStateCount(participantId)][];
+         for (int stateId = 0; stateId < symbolTable.getConcreteStateCount(participantId); stateId++) {
+            List<Integer> channelIndexes = new ArrayList<Integer>();
+            int firstChannelIndex = getFirstChannelIndex(participantId);
+            int endChannelIndex = getFirstChannelIndex(participantId + 1);
+            for (int channelIndex = firstChannelIndex; channelIndex < endChannelIndex; channelIndex++) {
+               int messageId = getMessageId(channelIndex);
+               if (!getTransitions(participantId, stateId, Kind.ASYNCHRONOUS_SEND, messageId).isEmpty()
+                     || !getTransitions(participantId, stateId, Kind.SYNCHRONOUS_SEND, messageId).isEmpty()) {
+                  channelIndexes.add(channelIndex);
+               }
+            }
+            sendChannelIndexes[participantId][stateId] = channelIndexes.isEmpty()
+                  ? NO_IDS
+                  : channelIndexes.stream().mapToInt(Integer::intValue).toArray();
+         }
+      }
+
+      this.ambiguousSynchronousReceives = new boolean[symbolTable.getParticipantCount()][];
+      for (int participantId = 0; participantId < symbolTable.getParticipantCount(); participantId++) {
+         ambiguousSynchronousReceives[participantId] = new boolean[symbolTable.getConcreteStateCount(participantId)];
+      }
+      for (int channelIndex = 0; channelIndex < communicationChannels.size(); channelIndex++) {
+         int receiverParticipantId = getReceiverParticipantId(channelIndex);
+         for (int stateId = 0; stateId < symbolTable.getConcreteStateCount(receiverParticipantId); stateId++) {
+            if (getTransitions(receiverParticipantId, stateId, Kind.SYNCHRONOUS_RECEIVE, getMessageId(channelIndex))
+                  .size() > 1) {
+               ambiguousSynchronousReceives[receiverParticipantId][stateId] = true;
+            }
+         }
+      }
+   }
+
+   public Map<Participant, ConcreteParticipantBehavior> getParticipantToConcreteParticipantBehaviorMap() {
+      return participantToConcreteParticipantBehaviorMap;
+   }
+
+   public SymbolTable getSymbolTable() {
+      return symbolTable;
+   }
+
+   /**
+    * Returns the communication channels between the participants, i.e., for each participant i, each message m that is
+    * an {@link OutputMessage} of i and each participant j, other than i, having m as {@link InputMessage}, the channel
+    * from i to j for m. Channels are ordered by sender participant.
+    *
+    * @return an unmodifiable list of communication channels; an empty list otherwise
+    */
+   public List<CommunicationChannel> getCommunicationChannels() {
+      return communicationChannels;
+   }
+
+   /**
+    * Returns the index of the first communication channel of {@link #getCommunicationChannels()} whose sender is the
+    * participant identified by {@code <i>participantId</i>}; the channels of the participant end at the first channel
+    * of the next participant.
+    */
+   int getFirstChannelIndex(final int participantId) {
+      return senderParticipantChannelIndexes[participantId];
+   }
+
+   /**
+    * Returns the indexes of the communication channels of {@link #getCommunicationChannels()} along which the
+    * participant identified by {@code <i>participantId</i>} can send a message, asynchronously or synchronously, from
+    * its concrete state identified by {@code <i>stateId</i>}; the returned array must not be modified.
+    */
+   int[] getSendChannelIndexes(final int participantId, final int stateId) {
+      return stateId < 0
+            ? NO_IDS
+            : sendChannelIndexes[participantId][stateId];
+   }
+
+   /**
+    * Returns whether the participant identified by {@code <i>participantId</i>} has, from its concrete state identified
+    * by {@code <i>stateId</i>}, more than one synchronous receive transition for the message of a communication channel
+    * to it, which is not supported.
+    */
+   boolean hasAmbiguousSynchronousReceive(final int participantId, final int stateId) {
+      return stateId >= 0 && ambiguousSynchronousReceives[participantId][stateId];
+   }
+
+   /**
+    * Returns the identifier of the sender participant of the communication channel at position
+    * {@code <i>channelIndex</i>} of {@link #getCommunicationChannels()}.
+    */
+   int getSenderParticipantId(final int channelIndex) {
+      return communicationChannelIds[channelIndex * 3];
+   }
+
+   /**
+    * Returns the identifier of the receiver participant of the communication channel at position
+    * {@code <i>channelIndex</i>} of {@link #getCommunicationChannels()}.
+    */
+   int getReceiverParticipantId(final int channelIndex) {
+      return communicationChannelIds[channelIndex * 3 + 1];
+   }
+
+   /**
+    * Returns the identifier of the message of the communication channel at position {@code <i>channelIndex</i>} of
+    * {@link #getCommunicationChannels()}.
+    */
+   int getMessageId(final int channelIndex) {
+      return communicationChannelIds[channelIndex * 3 + 2];
+   }
+
+   /**
+    * Returns the transitions of {@code <i>participant</i>} having the specified kind, outgoing from
+    * {@code <i>sourceState</i>} and exchanging the message named {@code <i>messageName</i>}, in the order in which they
+    * are defined by the concrete participant behavior.
+    *
+    * @param participant the participant owning the transitions, must not be null
+    * @param sourceState the source state of the transitions, must not be null
+    * @param kind the kind of the transitions, must not be null
+    * @param messageName the name of the exchanged message; it is ignored for the {@link Kind#INTERNAL} transitions
+    * @return an unmodifiable list of transitions; an empty list otherwise
+    */
+   public List<Transition> getTransitions(final Participant participant, final State sourceState, final Kind kind,
+         final String messageName) {
+      int participantId = symbolTable.getParticipantId(participant);
+      if (participantId < 0) {
+         return Collections.emptyList();
+      }
+      return getTransitions(participantId, symbolTable.getConcreteStateId(participantId, sourceState), kind,
+            kind == Kind.INTERNAL
+                  ? NO_MESSAGE_ID
+                  : symbolTable.getMessageId(messageName));
+   }
+
+   /**
+    * Same as {@link #getTransitions(Participant, State, Kind, String)}, where the participant, the source state and the
+    * message are identified by the integers of {@link #getSymbolTable()}.
+    *
+    * @param participantId the identifier of the participant owning the transitions
+    * @param sourceStateId the identifier of the source state of the transitions, among the states of the participant
+    * @param kind the kind of the transitions, must not be null
+    * @param messageId the identifier of the exchanged message; it is ignored for the {@link Kind#INTERNAL} transitions
+    * @return an unmodifiable list of transitions; an empty list otherwise
+    */
+   public List<Transition> getTransitions(final int participantId, final int sourceStateId, final Kind kind,
+         final int messageId) {
+      if (sourceStateId < 0 || index[participantId][sourceStateId] == null) {
+         return Collections.emptyList();
+      }
+      return index[participantId][sourceStateId].getTransitions(kind, kind == Kind.INTERNAL
+            ? NO_MESSAGE_ID
+            : messageId);
+   }
+
+   /**
+    * Same as {@link #getTransitions(int, int, Kind, int)}, but it returns the identifiers of the target states of the
+    * transitions, in the same order; the returned array must not be modified.
+    */
+   int[] getTargetStateIds(final int participantId, final int sourceStateId, final Kind kind, final int messageId) {
+      if (sourceStateId < 0 || index[participantId][sourceStateId] == null) {
+         return NO_IDS;
+      }
+      return index[participantId][sourceStateId].getTargetStateIds(kind, kind == Kind.INTERNAL
+            ? NO_MESSAGE_ID
+            : messageId);
+   }
+
+   private static List<CommunicationChannel> createCommunicationChannels(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap) {
+      /*
+       * for each input message name, the participants that receive it
+       */
+      Map<String, List<Participant>> messageNameToReceiverParticipantsMap = new HashMap<String, List<Participant>>();
+      participantToConcreteParticipantBehaviorMap.forEach((participant, concreteParticipantBehavior) -> {
+         for (Message message : concreteParticipantBehavior.getMessages()) {
+            if (message instanceof InputMessage) {
+               List<Participant> receiverParticipants = messageNameToReceiverParticipantsMap
+                     .computeIfAbsent(message.getName(), key -> new ArrayList<Participant>());
+               if (!receiverParticipants.contains(participant)) {
+                  receiverParticipants.add(participant);
+               }
+            }
+         }
+      });
+
+      List<CommunicationChannel> communicationChannels = new ArrayList<CommunicationChannel>();
+      participantToConcreteParticipantBehaviorMap.forEach((participant, concreteParticipantBehavior) -> {
+         for (Message message : concreteParticipantBehavior.getMessages()) {
+            if (message instanceof OutputMessage) {
+               for (Participant receiverParticipant : messageNameToReceiverParticipantsMap
+                     .getOrDefault(message.getName(), Collections.<Participant>emptyList())) {
+                  if (!receiverParticipant.equals(participant)) {
+                     communicationChannels
+                           .add(new CommunicationChannel(participant, receiverParticipant, message.getName()));
+                  }
+               }
+            }
+         }
+      });
+      return communicationChannels;
+   }
+
+   private static Kind kindOf(final Transition transition) {
+      if (transition instanceof AsynchronousSendActionTransition) {
+         return Kind.ASYNCHRONOUS_SEND;
+      } else if (transition instanceof AsynchronousReceiveActionTransition) {
+         return Kind.ASYNCHRONOUS_RECEIVE;
+      } else if (transition instanceof SynchronousSendActionTransition) {
+         return Kind.SYNCHRONOUS_SEND;
+      } else if (transition instanceof SynchronousReceiveActionTransition) {
+         return Kind.SYNCHRONOUS_RECEIVE;
+      } else if (transition instanceof InternalActionTransition) {
+         return Kind.INTERNAL;
+      }
+      return null;
+   }
+
+   private static String messageNameOf(final Transition transition) {
+      if (transition instanceof AsynchronousSendActionTransition) {
+         return ((AsynchronousSendActionTransition) transition).getOutputMessage().getName();
+      } else if (transition instanceof AsynchronousReceiveActionTransition) {
+         return ((AsynchronousReceiveActionTransition) transition).getInputMessage().getName();
+      } else if (transition instanceof SynchronousSendActionTransition) {
+         return ((SynchronousSendActionTransition) transition).getOutputMessage().getName();
+      } else if (transition instanceof SynchronousReceiveActionTransition) {
+         return ((SynchronousReceiveActionTransition) transition).getInputMessage().getName();
+      }
+      return null;
+   }
+
+   /**
+    * The transitions outgoing from a concrete state, by kind and message identifier.
+    */
+   private static final class SourceStateTransitions {
+      /*
+       * for each kind, the sorted identifiers of the messages and the transitions exchanging each message
+       */
+      private final int[][] messageIds = new int[Kind.values().length][];
+      private final List<List<Transition>> transitions = new ArrayList<List<Transition>>();
+      private final List<int[]> targetStateIds = new ArrayList<int[]>();
+      private final int[] offsets = new int[Kind.values().length];
+
+      SourceStateTransitions(final SymbolTable symbolTable, final int participantId,
+            final Map<Kind, SortedMap<Integer, List<Transition>>> kindIndex) {
+         super();
+         for (Kind kind : Kind.values()) {
+            SortedMap<Integer, List<Transition>> messageIndex = kindIndex
+                  .getOrDefault(kind, Collections.<Integer, List<Transition>>emptySortedMap());
+            messageIds[kind.ordinal()] = new int[messageIndex.size()];
+            offsets[kind.ordinal()] = transitions.size();
+            int i = 0;
+            for (Map.Entry<Integer, List<Transition>> entry : messageIndex.entrySet()) {
+               messageIds[kind.ordinal()][i++] = entry.getKey();
+               transitions.add(Collections.unmodifiableList(entry.getValue()));
+               targetStateIds.add(entry.getValue().stream()
+                     .mapToInt(transition -> symbolTable.getConcreteStateId(participantId, transition.getTargetState()))
+                     .toArray());
+            }
+         }
+      }
+
+      List<Transition> getTransitions(final Kind kind, final int messageId) {
+         int i = Arrays.binarySearch(messageIds[kind.ordinal()], messageId);
+         return i < 0
+               ? Collections.<Transition>emptyList()
+               : transitions.get(offsets[kind.ordinal()] + i);
+      }
+
+      int[] getTargetStateIds(final Kind kind, final int messageId) {
+         int i = Arrays.binarySearch(messageIds[kind.ordinal()], messageId);
+         return i < 0
+               ? NO_IDS
+               : targetStateIds.get(offsets[kind.ordinal()] + i);
+      }
+   }
+}
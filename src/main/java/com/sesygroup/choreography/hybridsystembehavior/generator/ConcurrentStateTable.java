@@ -0,0 +1,272 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Concurrent canonical index of the visited states, shared by the workers of the parallel explorers in place of a
+ * {@code ConcurrentMap<State, State>}. Each state is identified by a fingerprint, that is its hash code spread over 64
+ * bits, and stored in an open addressing table made of an array of fingerprints and an array of states, so no node is
+ * allocated and no key is boxed: a state is inserted by a compare-and-set of the fingerprint in a free slot followed by
+ * the publication of the state, and two states with the same fingerprint are compared by {@link State#equals(Object)},
+ * therefore the index is exact. The fingerprint carries no more information than the hash code, it only selects the
+ * segment and the slot from independent bits.
+ *
+ * <p>
+ * The table is split in segments, selected by the high bits of the fingerprint, which grow independently and without
+ * locks. A full segment is migrated to a table twice as long by all the threads reaching it, each one moving a chunk
+ * of slots at a time: a free slot is sealed by a compare-and-set to a forwarding marker, so no state can be inserted
+ * in it anymore, whereas a used slot is copied and stays readable. A thread probing a segment being migrated reads the
+ * used slots as usual, and whether it reaches a forwarding marker it helps the migration and then continues in the new
+ * table, which cannot contain a state reachable in the old one; therefore neither the inserts nor the lookups ever
+ * wait for a resize, and the other segments are never involved.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class ConcurrentStateTable {
+   private static final int SEGMENTS_PER_THREAD = 16;
+   private static final int INITIAL_SEGMENT_LENGTH = 64;
+   private static final int MAXIMUM_SEGMENT_LENGTH = 1 << 30;
+   private static final String CAPACITY_EXCEEDED_MESSAGE = "The number of states exceeds the capacity of the table";
+   private static final int MIGRATION_CHUNK_LENGTH = 64;
+   private static final long FREE = 0;
+   private static final long MOVED = Long.MIN_VALUE;
+   private static final int FORWARDED = Integer.MIN_VALUE;
+   private final Segment[] segments;
+   private final int segmentShift;
+
+   /**
+    * Creates a table suitable for {@code <i>parallelism</i>} concurrent threads.
+    *
+    * @param parallelism the number of threads inserting states, must be greater than or equal to one; the table has
+    * at least sixteen segments per thread
+    */
+   ConcurrentStateTable(final int parallelism) {
+      super();
+      int segmentCount = Integer.highestOneBit(Math.max(1, parallelism * SEGMENTS_PER_THREAD - 1)) << 1;
+      segments = new Segment[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+         segments[i] = new Segment();
+      }
+      segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+   }
+
+   /**
+    * Inserts {@code <i>state</i>} whether no equal state is contained.
+    *
+    * @param state the frozen state to be inserted, must not be null
+    * @return the contained state equal to {@code <i>state</i>}, or null whether the state has been inserted
+    */
+   State putIfAbsent(final State state) {
+      long fingerprint = fingerprint(state);
+      return segments[(int) (fingerprint >>> segmentShift)].putIfAbsent(fingerprint, state);
+   }
+
+   /**
+    * Returns the number of contained states.
+    */
+   int size() {
+      int size = 0;
+      for (Segment segment : segments) {
+         size += segment.size.get();
+      }
+      return size;
+   }
+
+   /**
+    * Performs {@code <i>action</i>} for each contained state; it is meant to be invoked once no state is being
+    * inserted, when every migration has been completed.
+    */
+   void forEach(final Consumer<? super State> action) {
+      for (Segment segment : segments) {
+         Table table = segment.table.get();
+         for (int i = 0; i < table.length; i++) {
+            State state = table.states.get(i);
+            if (state != null) {
+               action.accept(state);
+            }
+         }
+      }
+   }
+
+   /*
+    * never FREE nor MOVED, which mark the free and the sealed slots
+    */
+   private static long fingerprint(final State state) {
+      long fingerprint = VisitedStateSet.mix(state.hashCode() * 0x9e3779b97f4a7c15L);
+      return fingerprint == FREE || fingerprint == MOVED
+            ? 1
+            : fingerprint;
+   }
+
+   private static final class Table {
+      private final int length;
+      private final AtomicLongArray fingerprints;
+      private final AtomicReferenceArray<State> states;
+      private final AtomicBoolean resizing = new AtomicBoolean();
+      private final AtomicInteger migrationIndex = new AtomicInteger();
+      private final AtomicInteger migratedSlotCount = new AtomicInteger();
+      private volatile Table next;
+      private volatile boolean migrated;
+      private volatile boolean exhausted;
+
+      Table(final int length) {
+         this.length = length;
+         this.fingerprints = new AtomicLongArray(length);
+         this.states = new AtomicReferenceArray<State>(length);
+      }
+
+      /*
+       * returns the slot of the state, minus one minus the claimed slot whether the state has been inserted, or
+       * FORWARDED whether the probe reached a slot sealed by a migration or went through a table filled up before
+       * being migrated
+       */
+      int putIfAbsent(final long fingerprint, final State state) {
+         int mask = length - 1;
+         int slot = (int) fingerprint & mask;
+         for (int probeCount = 0; probeCount < length; probeCount++) {
+            long slotFingerprint = fingerprints.get(slot);
+            if (slotFingerprint == FREE) {
+               if (fingerprints.compareAndSet(slot, FREE, fingerprint)) {
+                  states.set(slot, state);
+                  return -slot - 1;
+               }
+               slotFingerprint = fingerprints.get(slot);
+            }
+            if (slotFingerprint == MOVED) {
+               return FORWARDED;
+            }
+            if (slotFingerprint == fingerprint && getPublishedState(slot).equals(state)) {
+               return slot;
+            }
+            slot = (slot + 1) & mask;
+         }
+         return FORWARDED;
+      }
+
+      /*
+       * a table is filled up only after the resize has started, so its new table is about to be published, unless the
+       * table has already the maximum length
+       */
+      Table getNext() {
+         Table nextTable;
+         while ((nextTable = next) == null) {
+            if (exhausted) {
+               throw new IllegalStateException(CAPACITY_EXCEEDED_MESSAGE);
+            }
+            Thread.yield();
+         }
+         return nextTable;
+      }
+
+      /*
+       * the slot may have been claimed by another thread that has not yet published its state
+       */
+      State getPublishedState(final int slot) {
+         State state;
+         while ((state = states.get(slot)) == null) {
+            Thread.yield();
+         }
+         return state;
+      }
+   }
+
+   private static final class Segment {
+      private final AtomicInteger size = new AtomicInteger();
+      private final AtomicReference<Table> table = new AtomicReference<Table>(new Table(INITIAL_SEGMENT_LENGTH));
+
+      State putIfAbsent(final long fingerprint, final State state) {
+         Table currentTable = table.get();
+         while (true) {
+            int slot = currentTable.putIfAbsent(fingerprint, state);
+            if (slot == FORWARDED) {
+               migrate(currentTable);
+               currentTable = currentTable.getNext();
+            } else if (slot >= 0) {
+               return currentTable.states.get(slot);
+            } else {
+               if (size.incrementAndGet() > currentTable.length / 4 * 3) {
+                  resize(currentTable);
+               }
+               return null;
+            }
+         }
+      }
+
+      /*
+       * the new table is allocated by one thread only, whereas the others help the migration once it is available
+       */
+      private void resize(final Table fullTable) {
+         if (fullTable.resizing.compareAndSet(false, true)) {
+            if (fullTable.length >= MAXIMUM_SEGMENT_LENGTH) {
+               fullTable.exhausted = true;
+               throw new IllegalStateException(CAPACITY_EXCEEDED_MESSAGE);
+            }
+            fullTable.next = new Table(fullTable.length * 2);
+         }
+         if (fullTable.next != null) {
+            migrate(fullTable);
+         }
+      }
+
+      /*
+       * moves the chunks of slots of the full table that no thread has claimed yet
+       */
+      private void migrate(final Table fullTable) {
+         Table newTable = fullTable.getNext();
+         int from;
+         while ((from = fullTable.migrationIndex.getAndAdd(MIGRATION_CHUNK_LENGTH)) < fullTable.length) {
+            int to = Math.min(from + MIGRATION_CHUNK_LENGTH, fullTable.length);
+            for (int i = from; i < to; i++) {
+               if (!fullTable.fingerprints.compareAndSet(i, FREE, MOVED)) {
+                  copy(newTable, fullTable.fingerprints.get(i), fullTable.getPublishedState(i));
+               }
+            }
+            if (fullTable.migratedSlotCount.addAndGet(to - from) == fullTable.length) {
+               fullTable.migrated = true;
+               advance();
+            }
+         }
+      }
+
+      /*
+       * the new table may be in turn being migrated, whether it has been filled by the inserts following it
+       */
+      private void copy(final Table newTable, final long fingerprint, final State state) {
+         Table currentTable = newTable;
+         while (currentTable.putIfAbsent(fingerprint, state) == FORWARDED) {
+            migrate(currentTable);
+            currentTable = currentTable.getNext();
+         }
+      }
+
+      private void advance() {
+         Table currentTable;
+         while ((currentTable = table.get()).migrated) {
+            table.compareAndSet(currentTable, currentTable.next);
+         }
+      }
+   }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Sink that only counts the states and the transitions it receives; the counts can be read by any thread while the
+ * generation is running.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class CountingTransitionSink implements TransitionSink {
+   /*
+    * written by the generating thread only
+    */
+   private volatile long stateCount;
+   private volatile long transitionCount;
+
+   @Override
+   public void accept(final Transition transition) {
+      transitionCount++;
+   }
+
+   @Override
+   public void acceptState(final State state) {
+      stateCount++;
+   }
+
+   public long getStateCount() {
+      return stateCount;
+   }
+
+   public long getTransitionCount() {
+      return transitionCount;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("states: %d, transitions: %d", stateCount, transitionCount);
+   }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Immutable summary of what enables the moves of the participants in a hybrid system behavior {@link State}: for each
+ * participant, the identifier of its concrete state and the identifier of the message in the head of its queue, in
+ * the {@link SymbolTable}. Given the summary, the transitions of the {@link ConcreteTransitionIndex} enabled for a
+ * participant are found with a few array accesses, without hashing the concrete states nor the messages of the state.
+ *
+ * <p>
+ * A transition changes the concrete state of one or two participants and at most one queue, therefore the summary of
+ * its target state is derived from the summary of its source state by updating only the entries of the participants
+ * and of the queue that the transition changed (see {@link #withConcreteStateId(int, int)} and
+ * {@link #withHeadMessageId(int, int)}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class EnabledMoves {
+   /**
+    * The head message identifier of an empty queue.
+    */
+   static final int NO_MESSAGE_ID = -1;
+   /*
+    * the identifiers of the concrete states of the participants, followed by the identifiers of the head messages
+    */
+   private final int[] ids;
+
+   private EnabledMoves(final int[] ids) {
+      super();
+      this.ids = ids;
+   }
+
+   /**
+    * Computes the summary of {@code <i>state</i>} from scratch.
+    *
+    * @param symbolTable the symbol table of the concrete participant behaviors, must not be null
+    * @param state the state, must not be null
+    * @return the summary of the state
+    */
+   static EnabledMoves of(final SymbolTable symbolTable, final State state) {
+      int participantCount = symbolTable.getParticipantCount();
+      int[] ids = Arrays.copyOf(symbolTable.getConcreteStateIds(state), participantCount * 2);
+      for (int participantId = 0; participantId < participantCount; participantId++) {
+         MessageQueue messageQueue = state.getParticipantToMessageQueueMap()
+               .get(symbolTable.getParticipant(participantId));
+         ids[participantCount + participantId] = getHeadMessageId(symbolTable, messageQueue);
+      }
+      return new EnabledMoves(ids);
+   }
+
+   /**
+    * Computes the summary of the state encoded in {@code <i>vector</i>} (see {@link StateCodec}), which already holds
+    * the identifiers of the concrete states and of the messages.
+    *
+    * @param stateCodec the codec of the state, must not be null
+    * @param vector the vector encoding the state, must not be null
+    * @return the summary of the state
+    */
+   static EnabledMoves of(final StateCodec stateCodec, final int[] vector) {
+      int participantCount = stateCodec.getSymbolTable().getParticipantCount();
+      int[] ids = Arrays.copyOf(vector, participantCount * 2);
+      for (int participantId = 0; participantId < participantCount; participantId++) {
+         int queueOffset = stateCodec.getMessageQueueOffset(participantId);
+         ids[participantCount + participantId] = stateCodec.getMessageQueueCapacity(participantId) == 0
+               || vector[queueOffset] == 0
+                     ? NO_MESSAGE_ID
+                     : vector[queueOffset + 1];
+      }
+      return new EnabledMoves(ids);
+   }
+
+   /**
+    * Returns the identifier of the message in the head of {@code <i>messageQueue</i>}, {@link #NO_MESSAGE_ID} whether
+    * it is empty.
+    */
+   static int getHeadMessageId(final SymbolTable symbolTable, final MessageQueue messageQueue) {
+      Message headMessage = messageQueue == null || messageQueue.getQueue() == null
+            ? null
+            : messageQueue.getQueue().peek();
+      return headMessage == null
+            ? NO_MESSAGE_ID
+            : symbolTable.getMessageId(headMessage.getName());
+   }
+
+   int getConcreteStateId(final int participantId) {
+      return ids[participantId];
+   }
+
+   int getHeadMessageId(final int participantId) {
+      return ids[ids.length / 2 + participantId];
+   }
+
+   /**
+    * Returns the summary in which the participant identified by {@code <i>participantId</i>} is in the concrete state
+    * identified by {@code <i>concreteStateId</i>}, and everything else is as in this summary.
+    */
+   EnabledMoves withConcreteStateId(final int participantId, final int concreteStateId) {
+      if (ids[participantId] == concreteStateId) {
+         return this;
+      }
+      int[] targetIds = ids.clone();
+      targetIds[participantId] = concreteStateId;
+      return new EnabledMoves(targetIds);
+   }
+
+   /**
+    * Returns the summary in which the head of the queue of the participant identified by {@code <i>participantId</i>}
+    * is the message identified by {@code <i>messageId</i>}, and everything else is as in this summary.
+    */
+   EnabledMoves withHeadMessageId(final int participantId, final int messageId) {
+      if (getHeadMessageId(participantId) == messageId) {
+         return this;
+      }
+      int[] targetIds = ids.clone();
+      targetIds[ids.length / 2 + participantId] = messageId;
+      return new EnabledMoves(targetIds);
+   }
+}
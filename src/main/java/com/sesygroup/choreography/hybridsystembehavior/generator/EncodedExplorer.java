@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Breadth-first explorer performed by the calling thread, which stores the states as vectors of integers (see
+ * {@link StateCodec}) and the transitions as triples of integers. States are identified by the order in which they are
+ * discovered, which is also the order in which they are expanded, therefore no queue of states to be checked is needed
+ * and the transitions are stored sorted by source state.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class EncodedExplorer extends AbstractExplorer {
+   private final Logger logger = LoggerFactory.getLogger(EncodedExplorer.class);
+   private final StateStorage stateStorage;
+   private final Path stateVectorDirectory;
+   private double compressionRatio = Double.NaN;
+   private Path stateVectorFile;
+   private Path checkpointDirectory;
+   private long checkpointInterval;
+   private boolean resume;
+
+   /**
+    * @param stateStorage how the state vectors are stored: {@link StateStorage#ENCODED} (see
+    * {@link StateVectorStore}), {@link StateStorage#COLLAPSED} (see {@link CollapsedStateVectorStore}) or
+    * {@link StateStorage#OFF_HEAP} (see {@link OffHeapStateVectorStore})
+    * @param stateVectorDirectory the directory of the file in which the {@link StateStorage#OFF_HEAP} state storage
+    * maps the state vectors, null to store them in direct buffers
+    */
+   EncodedExplorer(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final StateStorage stateStorage,
+         final Path stateVectorDirectory) {
+      super(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      this.stateStorage = stateStorage;
+      this.stateVectorDirectory = stateVectorDirectory;
+   }
+
+   /**
+    * Makes the exploration write periodic checkpoints (see {@link Checkpoint}).
+    *
+    * @param checkpointDirectory the directory of the checkpoint
+    * @param checkpointInterval the minimum number of milliseconds between two checkpoints
+    * @param resume whether the exploration continues from the checkpoint of the directory instead of starting from
+    * the initial state, and discarding it
+    */
+   void setCheckpoint(final Path checkpointDirectory, final long checkpointInterval, final boolean resume) {
+      this.checkpointDirectory = checkpointDirectory;
+      this.checkpointInterval = checkpointInterval;
+      this.resume = resume;
+   }
+
+   @Override
+   public double getCompressionRatio() {
+      return compressionRatio;
+   }
+
+   @Override
+   public Path getStateVectorFile() {
+      return stateVectorFile;
+   }
+
+   @Override
+   public HybridSystemBehavior explore() {
+      StateCodec stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(),
+            participantToMessageQueueSizeMap);
+      StateVectorStorage stateVectorStore = createStateVectorStore(stateCodec);
+      TransitionLabels transitionLabels = new TransitionLabels();
+      PagedIntArray transitions = new PagedIntArray();
+      int[] vector = new int[stateCodec.getVectorLength()];
+      List<Transition> sourceStateTransitions = new ArrayList<Transition>();
+
+      /*
+       * FIRST STEP: create initial state
+       */
+      State initialState = createInitialState();
+      stateCodec.encode(initialState, vector, 0);
+      Checkpoint checkpoint = null;
+      int firstSourceStateId = 0;
+      if (checkpointDirectory == null) {
+         stateVectorStore.add(vector);
+      } else {
+         checkpoint = new Checkpoint(checkpointDirectory, concreteTransitionIndex.getSymbolTable(),
+               stateCodec.getVectorLength(), checkpointInterval);
+         firstSourceStateId = startCheckpoint(checkpoint, stateVectorStore, transitionLabels, transitions, vector);
+      }
+
+      /*
+       * ITERATION STEP: expand the states in the order in which they are discovered
+       */
+      ExplorationBudget explorationBudget = explorationLimits == null
+            ? null
+            : new ExplorationBudget(explorationLimits);
+      int depth = 0;
+      int levelEnd = stateVectorStore.size();
+      int sourceStateId = firstSourceStateId;
+      for (; sourceStateId < stateVectorStore.size(); sourceStateId++) {
+         if (sourceStateId == levelEnd) {
+            depth++;
+            levelEnd = stateVectorStore.size();
+         }
+         if (explorationBudget != null) {
+            StopReason limitReason = explorationBudget.check(stateVectorStore.size(), transitions.size() / 3, depth);
+            if (limitReason != null) {
+               stopReason = limitReason;
+               logger.info("Stopped at depth {} with {} states to be checked: {}", depth,
+                     stateVectorStore.size() - sourceStateId, stopReason);
+               break;
+            }
+         }
+         stateVectorStore.get(sourceStateId, vector);
+         sourceStateTransitions.clear();
+         findTransitions(stateCodec.decode(vector), EnabledMoves.of(stateCodec, vector), sourceStateTransitions,
+               null);
+         long firstSourceStateTransition = transitions.size();
+         for (Transition transition : sourceStateTransitions) {
+            stateCodec.encode(transition.getTargetState(), vector, 0);
+            int targetStateId = stateVectorStore.add(vector);
+            if (targetStateId < 0) {
+               targetStateId = -targetStateId - 1;
+            }
+            int labelIndex = transitionLabels.add(transition);
+            if (!containsTransition(transitions, firstSourceStateTransition, targetStateId, labelIndex)) {
+               transitions.add(sourceStateId);
+               transitions.add(targetStateId);
+               transitions.add(labelIndex);
+            }
+         }
+         if (checkpoint != null && checkpoint.isDue()) {
+            writeCheckpoint(checkpoint, sourceStateId + 1, stateVectorStore, transitionLabels, transitions);
+         }
+      }
+      if (checkpoint != null) {
+         writeCheckpoint(checkpoint, sourceStateId, stateVectorStore, transitionLabels, transitions);
+      }
+
+      if (stateStorage == StateStorage.COLLAPSED) {
+         compressionRatio = ((CollapsedStateVectorStore) stateVectorStore).getCompressionRatio();
+         logger.info("Stored {} states with compression ratio {}", stateVectorStore.size(),
+               String.format("%.2f", compressionRatio));
+      } else {
+         compressionRatio = 1.0;
+      }
+
+      Set<Message> messages = new HashSet<Message>();
+      participantToConcreteParticipantBehaviorMap.values()
+            .forEach(concreteParticipantBehavior -> messages.addAll(concreteParticipantBehavior.getMessages()));
+      EncodedStateSet states = new EncodedStateSet(stateCodec, stateVectorStore);
+      if (sourceStateId < states.size()) {
+         Set<State> frontierStates = new LinkedHashSet<State>();
+         for (int frontierStateId = sourceStateId; frontierStateId < states.size(); frontierStateId++) {
+            frontierStates.add(states.get(frontierStateId));
+         }
+         frontier = Collections.unmodifiableSet(frontierStates);
+      }
+      return new HybridSystemBehavior(participantToConcreteParticipantBehaviorMap, states, initialState, messages,
+            new EncodedTransitionSet(states, transitionLabels, transitions));
+   }
+
+   /**
+    * Explores the states reachable from the initial state as {@link #explore()}, but the transitions are passed to
+    * {@code <i>transitionSink</i>} instead of being stored, as well as each state when it is discovered; only the
+    * state vectors are stored.
+    *
+    * @param transitionSink the sink of the states and transitions, must not be null
+    * @return the number of transitions passed to the sink
+    */
+   public long explore(final TransitionSink transitionSink) {
+      StateCodec stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(),
+            participantToMessageQueueSizeMap);
+      StateVectorStorage stateVectorStore = createStateVectorStore(stateCodec);
+      int[] vector = new int[stateCodec.getVectorLength()];
+      long transitionCount = 0;
+      List<Transition> sourceStateTransitions = new ArrayList<Transition>();
+
+      State initialState = createInitialState();
+      stateCodec.encode(initialState, vector, 0);
+      stateVectorStore.add(vector);
+      transitionSink.acceptState(initialState);
+
+      for (int sourceStateId = 0; sourceStateId < stateVectorStore.size(); sourceStateId++) {
+         stateVectorStore.get(sourceStateId, vector);
+         sourceStateTransitions.clear();
+         findTransitions(stateCodec.decode(vector), EnabledMoves.of(stateCodec, vector), sourceStateTransitions,
+               null);
+         for (Transition transition : sourceStateTransitions) {
+            stateCodec.encode(transition.getTargetState(), vector, 0);
+            if (stateVectorStore.add(vector) >= 0) {
+               transitionSink.acceptState(transition.getTargetState());
+            }
+            transitionSink.accept(transition);
+            transitionCount++;
+         }
+      }
+      return transitionCount;
+   }
+
+   /*
+    * equal transitions may be found more than once from the same source state, e.g., the internal self-loops of two
+    * participants, whereas the hybrid system behavior contains each transition once, as the set of the transitions
+    * built by the other explorers; the triples of a source state are few, therefore they are scanned
+    */
+   private static boolean containsTransition(final PagedIntArray transitions, final long firstSourceStateTransition,
+         final int targetStateId, final int labelIndex) {
+      for (long i = firstSourceStateTransition; i < transitions.size(); i += 3) {
+         if (transitions.get(i + 1) == targetStateId && transitions.get(i + 2) == labelIndex) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /*
+    * returns the identifier of the first state to be expanded
+    */
+   private int startCheckpoint(final Checkpoint checkpoint, final StateVectorStorage stateVectorStore,
+         final TransitionLabels transitionLabels, final PagedIntArray transitions, final int[] initialStateVector) {
+      try {
+         if (!resume) {
+            checkpoint.delete();
+            stateVectorStore.add(initialStateVector);
+            return 0;
+         }
+         checkpoint.read(stateVectorStore, transitionLabels, transitions);
+         if (stateVectorStore.indexOf(initialStateVector) != 0) {
+            throw new IOException(
+                  "The checkpoint in " + checkpointDirectory + " does not match the participant behaviors");
+         }
+         logger.info("Resuming from {} states, {} of which expanded, and {} transitions", stateVectorStore.size(),
+               checkpoint.getExpandedStateCount(), transitions.size() / 3);
+         return checkpoint.getExpandedStateCount();
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   private void writeCheckpoint(final Checkpoint checkpoint, final int expandedStateCount,
+         final StateVectorStorage stateVectorStore, final TransitionLabels transitionLabels,
+         final PagedIntArray transitions) {
+      try {
+         checkpoint.write(expandedStateCount, stateVectorStore, transitionLabels, transitions);
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   private StateVectorStorage createStateVectorStore(final StateCodec stateCodec) {
+      StateVectorStorage stateVectorStore = createStateVectorStore(stateStorage, stateCodec, stateVectorDirectory);
+      if (stateVectorStore instanceof OffHeapStateVectorStore) {
+         stateVectorFile = ((OffHeapStateVectorStore) stateVectorStore).getFile();
+         if (stateVectorFile != null) {
+            logger.info("Storing the state vectors in {}", stateVectorFile);
+         }
+      }
+      return stateVectorStore;
+   }
+
+   /**
+    * Creates the store of the state vectors encoded by {@code <i>stateCodec</i>} as specified by
+    * {@code <i>stateStorage</i>}, {@link StateStorage#OBJECT} standing for {@link StateStorage#ENCODED}.
+    */
+   static StateVectorStorage createStateVectorStore(final StateStorage stateStorage, final StateCodec stateCodec,
+         final Path stateVectorDirectory) {
+      switch (stateStorage) {
+      case COLLAPSED:
+         return new CollapsedStateVectorStore(stateCodec.getVectorLength(), stateCodec.getParticipantPositions());
+      case OFF_HEAP:
+         return stateVectorDirectory == null
+               ? new OffHeapStateVectorStore(stateCodec.getVectorLength())
+               : new OffHeapStateVectorStore(stateCodec.getVectorLength(), stateVectorDirectory);
+      case ENCODED:
+      default:
+         return new StateVectorStore(stateCodec.getVectorLength());
+      }
+   }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Read-only set of the states stored in a {@link StateVectorStorage}; states are decoded each time they are iterated,
+ * and a state is searched by encoding it. It is serialized as a {@link HashSet} of decoded states.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class EncodedStateSet extends AbstractSet<State> implements Serializable {
+   private static final long serialVersionUID = 3681201469701175117L;
+   private final transient StateCodec stateCodec;
+   private final transient StateVectorStorage stateVectorStorage;
+
+   EncodedStateSet(final StateCodec stateCodec, final StateVectorStorage stateVectorStorage) {
+      super();
+      this.stateCodec = stateCodec;
+      this.stateVectorStorage = stateVectorStorage;
+   }
+
+   @Override
+   public Iterator<State> iterator() {
+      return new Iterator<State>() {
+         private final int[] vector = new int[stateVectorStorage.getVectorLength()];
+         private int id = 0;
+
+         @Override
+         public boolean hasNext() {
+            return id < stateVectorStorage.size();
+         }
+
+         @Override
+         public State next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            stateVectorStorage.get(id++, vector);
+            return stateCodec.decode(vector);
+         }
+      };
+   }
+
+   @Override
+   public int size() {
+      return stateVectorStorage.size();
+   }
+
+   @Override
+   public boolean contains(final Object obj) {
+      return obj instanceof State && indexOf((State) obj) >= 0;
+   }
+
+   /**
+    * Returns the identifier of {@code <i>state</i>} in the store, minus one whether it is not contained.
+    */
+   int indexOf(final State state) {
+      int[] vector = new int[stateVectorStorage.getVectorLength()];
+      return stateCodec.tryEncode(state, vector, 0)
+            ? stateVectorStorage.indexOf(vector)
+            : -1;
+   }
+
+   /**
+    * Decodes the state identified by {@code <i>id</i>}.
+    */
+   State get(final int id) {
+      int[] vector = new int[stateVectorStorage.getVectorLength()];
+      stateVectorStorage.get(id, vector);
+      return stateCodec.decode(vector);
+   }
+
+   private Object writeReplace() {
+      return new HashSet<State>(this);
+   }
+}
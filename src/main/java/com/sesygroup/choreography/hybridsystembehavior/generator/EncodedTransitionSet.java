@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Read-only set of transitions stored as triples of integers (identifier of the source state, identifier of the target
+ * state, identifier of the label), sorted by source state; transitions are decoded each time they are iterated. It is
+ * serialized as a {@link HashSet} of decoded transitions.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class EncodedTransitionSet extends AbstractSet<Transition> implements Serializable {
+   private static final long serialVersionUID = -1328782547307917214L;
+   private final transient EncodedStateSet states;
+   private final transient TransitionLabels transitionLabels;
+   private final transient PagedIntArray transitions;
+
+   /**
+    * @param states the states of the transitions
+    * @param transitionLabels the labels of the transitions
+    * @param transitions the triples of the transitions, sorted by source state identifier
+    */
+   EncodedTransitionSet(final EncodedStateSet states, final TransitionLabels transitionLabels,
+         final PagedIntArray transitions) {
+      super();
+      this.states = states;
+      this.transitionLabels = transitionLabels;
+      this.transitions = transitions;
+   }
+
+   @Override
+   public Iterator<Transition> iterator() {
+      return new Iterator<Transition>() {
+         private long index = 0;
+
+         @Override
+         public boolean hasNext() {
+            return index < transitions.size();
+         }
+
+         @Override
+         public Transition next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            Transition transition = get(index);
+            index += 3;
+            return transition;
+         }
+      };
+   }
+
+   @Override
+   public int size() {
+      return (int) Math.min(Integer.MAX_VALUE, transitions.size() / 3);
+   }
+
+   @Override
+   public boolean contains(final Object obj) {
+      if (!(obj instanceof Transition)) {
+         return false;
+      }
+      Transition transition = (Transition) obj;
+      int labelIndex = transitionLabels.indexOf(transition);
+      if (labelIndex < 0 || transition.getSourceState() == null || transition.getTargetState() == null) {
+         return false;
+      }
+      int sourceStateId = states.indexOf(transition.getSourceState());
+      int targetStateId = states.indexOf(transition.getTargetState());
+      if (sourceStateId < 0 || targetStateId < 0) {
+         return false;
+      }
+      for (long index = firstIndexOf(sourceStateId); index < transitions.size()
+            && transitions.get(index) == sourceStateId; index += 3) {
+         if (transitions.get(index + 1) == targetStateId && transitions.get(index + 2) == labelIndex) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /*
+    * binary search of the first transition having the specified source state
+    */
+   private long firstIndexOf(final int sourceStateId) {
+      long low = 0;
+      long high = transitions.size() / 3;
+      while (low < high) {
+         long middle = (low + high) >>> 1;
+         if (transitions.get(middle * 3) < sourceStateId) {
+            low = middle + 1;
+         } else {
+            high = middle;
+         }
+      }
+      return low * 3;
+   }
+
+   private Transition get(final long index) {
+      return transitionLabels.newTransition(transitions.get(index + 2), states.get(transitions.get(index)),
+            states.get(transitions.get(index + 1)));
+   }
+
+   private Object writeReplace() {
+      return new HashSet<Transition>(this);
+   }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the {@link ExplorationLimits} of a breadth-first exploration started when the budget is created.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class ExplorationBudget {
+   private final ExplorationLimits explorationLimits;
+   private final long deadline;
+   private final Runtime runtime = Runtime.getRuntime();
+
+   ExplorationBudget(final ExplorationLimits explorationLimits) {
+      super();
+      this.explorationLimits = explorationLimits;
+      long timeLimit = Math.min(explorationLimits.getTimeLimit(), TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE / 2));
+      this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimit);
+   }
+
+   /**
+    * Returns the reason why the exploration must stop before expanding a state at distance {@code <i>depth</i>} from
+    * the initial state, null whether it can go on.
+    */
+   StopReason check(final int stateCount, final long transitionCount, final int depth) {
+      if (stateCount >= explorationLimits.getMaxStateCount()) {
+         return StopReason.MAX_STATE_COUNT;
+      }
+      if (transitionCount >= explorationLimits.getMaxTransitionCount()) {
+         return StopReason.MAX_TRANSITION_COUNT;
+      }
+      if (depth >= explorationLimits.getMaxDepth()) {
+         return StopReason.MAX_DEPTH;
+      }
+      if (System.nanoTime() - deadline >= 0) {
+         return StopReason.TIME_LIMIT;
+      }
+      if (explorationLimits.getMaxHeapUsage() < 100 && runtime.totalMemory()
+            - runtime.freeMemory() >= runtime.maxMemory() / 100 * explorationLimits.getMaxHeapUsage()) {
+         return StopReason.MAX_HEAP_USAGE;
+      }
+      return null;
+   }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import com.sesygroup.choreography.hybridsystembehavior.Validation;
+
+/**
+ * Limits of a generation (see {@link HybridSystemBehaviorGenerator#generate(ExplorationLimits)}); by default there is
+ * no limit. The limits are checked before expanding each state, and the generation stops as soon as one of them is
+ * reached, therefore the number of states and transitions may exceed their limits by the number of transitions
+ * outgoing from the last expanded state.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class ExplorationLimits {
+   private int maxStateCount = Integer.MAX_VALUE;
+   private long maxTransitionCount = Long.MAX_VALUE;
+   private int maxDepth = Integer.MAX_VALUE;
+   private long timeLimit = Long.MAX_VALUE;
+   private int maxHeapUsage = 100;
+
+   public int getMaxStateCount() {
+      return maxStateCount;
+   }
+
+   /**
+    * Sets the number of states after which the generation stops (see {@link StopReason#MAX_STATE_COUNT}).
+    *
+    * @param maxStateCount the number of states, must be greater than or equal to one
+    */
+   public void setMaxStateCount(final int maxStateCount) {
+      Validation.validateMaxStateCount(maxStateCount);
+      this.maxStateCount = maxStateCount;
+   }
+
+   public long getMaxTransitionCount() {
+      return maxTransitionCount;
+   }
+
+   /**
+    * Sets the number of transitions after which the generation stops (see {@link StopReason#MAX_TRANSITION_COUNT}).
+    *
+    * @param maxTransitionCount the number of transitions, must be greater than or equal to zero
+    */
+   public void setMaxTransitionCount(final long maxTransitionCount) {
+      Validation.validateMaxTransitionCount(maxTransitionCount);
+      this.maxTransitionCount = maxTransitionCount;
+   }
+
+   public int getMaxDepth() {
+      return maxDepth;
+   }
+
+   /**
+    * Sets the greatest distance from the initial state of the expanded states: the states at distance
+    * {@code <i>maxDepth</i>} are discovered but not expanded (see {@link StopReason#MAX_DEPTH}).
+    *
+    * @param maxDepth the distance, must be greater than or equal to zero
+    */
+   public void setMaxDepth(final int maxDepth) {
+      Validation.validateMaxDepth(maxDepth);
+      this.maxDepth = maxDepth;
+   }
+
+   public long getTimeLimit() {
+      return timeLimit;
+   }
+
+   /**
+    * Sets the number of milliseconds, from the start of the generation, after which the generation stops (see
+    * {@link StopReason#TIME_LIMIT}).
+    *
+    * @param timeLimit the number of milliseconds, must be greater than or equal to zero
+    */
+   public void setTimeLimit(final long timeLimit) {
+      Validation.validateTimeLimit(timeLimit);
+      this.timeLimit = timeLimit;
+   }
+
+   public int getMaxHeapUsage() {
+      return maxHeapUsage;
+   }
+
+   /**
+    * Sets the percentage of the maximum heap size which, when used, stops the generation (see
+    * {@link StopReason#MAX_HEAP_USAGE}); the used heap includes the objects not yet garbage collected. By default it is
+    * 100, which means no limit.
+    *
+    * @param maxHeapUsage the percentage, must be between 1 and 100
+    */
+   public void setMaxHeapUsage(final int maxHeapUsage) {
+      Validation.validateMaxHeapUsage(maxHeapUsage);
+      this.maxHeapUsage = maxHeapUsage;
+   }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * The strategies that can be used by the {@link HybridSystemBehaviorGenerator} to explore the reachable states.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public enum ExplorationStrategy {
+   /**
+    * Breadth-first exploration performed by the calling thread.
+    */
+   SEQUENTIAL,
+   /**
+    * Level-synchronous breadth-first exploration: the states of each level are expanded in parallel by a
+    * {@link java.util.concurrent.ForkJoinPool}, then the discovered transitions and states are merged before the next
+    * level is explored.
+    */
+   PARALLEL_BREADTH_FIRST,
+   /**
+    * Asynchronous exploration without level barriers: each worker of a {@link java.util.concurrent.ForkJoinPool}
+    * expands the states of its own deque and steals states from the other workers when idle. The states are not
+    * explored in breadth-first order, which favours the throughput when few states have a huge number of outgoing
+    * transitions.
+    */
+   WORK_STEALING
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Breadth-first explorer performed by the calling thread, which keeps the state vectors (see {@link StateCodec}) on
+ * disk, in run files (see {@link VectorRuns}), with delayed duplicate detection:
+ * <ul>
+ * <li>the states of a level, the frontier, are read from their run file and expanded, the found transitions are passed
+ * to a {@link TransitionSink}, and the target states are collected in a bounded buffer, written to a new sorted run
+ * file whenever it is full;</li>
+ * <li>once the whole level has been expanded, the runs of the target states are merged with the runs of the visited
+ * states, and the target states not visited form the run file of the next level, which is also added to the visited
+ * runs.</li>
+ * </ul>
+ * The visited runs are merged in a single run whenever they are too many, and the target runs of a level are merged in
+ * groups, level after level, until they are few enough, so that the number of files open at once stays bounded. Only
+ * the buffer and the buffers of the open files are kept in memory, therefore the number of reachable states is bounded
+ * by the disk space only.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class ExternalMemoryExplorer {
+   private static final int MAXIMUM_MERGED_RUNS = 16;
+   private final ConcreteTransitionIndex concreteTransitionIndex;
+   private final StateCodec stateCodec;
+   private final State initialState;
+   private final Path directory;
+   private final int bufferSize;
+   private final List<Path> runs;
+
+   /**
+    * @param directory the directory in which the run files are written, they are deleted at the end of the exploration
+    * @param bufferSize the number of target states collected in memory before writing a run file
+    */
+   ExternalMemoryExplorer(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final Path directory,
+         final int bufferSize) {
+      super();
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(), participantToMessageQueueSizeMap);
+      initialState = AbstractExplorer.createInitialState(concreteTransitionIndex,
+            participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      this.directory = directory;
+      this.bufferSize = bufferSize;
+      this.runs = new ArrayList<Path>();
+   }
+
+   /**
+    * Explores the states reachable from the initial state, passing to {@code <i>transitionSink</i>} the transitions
+    * outgoing from each state.
+    *
+    * @param transitionSink the sink of the transitions, must not be null
+    * @return the statistics of the exploration
+    * @throws IOException whether a run file cannot be written or read
+    */
+   public ExternalMemoryStatistics explore(final TransitionSink transitionSink) throws IOException {
+      try {
+         int vectorLength = stateCodec.getVectorLength();
+         long visitedStateCount = 1;
+         long transitionCount = 0;
+         int levelCount = 0;
+         List<Path> visitedRuns = new ArrayList<Path>();
+         List<Transition> sourceStateTransitions = new ArrayList<Transition>();
+
+         /*
+          * FIRST STEP: the initial state is the first level
+          */
+         Path frontier = newRun(new ArrayList<int[]>(Collections.singletonList(stateCodec.encode(initialState))));
+         visitedRuns.add(frontier);
+
+         /*
+          * ITERATION STEP: expand the frontier, then detect the duplicates of the whole level at once
+          */
+         while (frontier != null) {
+            levelCount++;
+            List<Path> targetRuns = new ArrayList<Path>();
+            List<int[]> buffer = new ArrayList<int[]>();
+            int[] vector = new int[vectorLength];
+            try (VectorRuns.Reader reader = new VectorRuns.Reader(Collections.singletonList(frontier),
+                  vectorLength)) {
+               while (reader.next(vector)) {
+                  State sourceState = stateCodec.decode(vector);
+                  transitionSink.acceptState(sourceState);
+                  sourceStateTransitions.clear();
+                  HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, sourceState,
+                        sourceStateTransitions);
+                  for (Transition transition : sourceStateTransitions) {
+                     transitionSink.accept(transition);
+                     transitionCount++;
+                     buffer.add(stateCodec.encode(transition.getTargetState()));
+                     if (buffer.size() >= bufferSize) {
+                        targetRuns.add(newRun(buffer));
+                        buffer.clear();
+                     }
+                  }
+               }
+            }
+            if (!buffer.isEmpty()) {
+               targetRuns.add(newRun(buffer));
+            }
+
+            targetRuns = mergeInGroups(targetRuns);
+            frontier = subtract(targetRuns, visitedRuns);
+            deleteRuns(targetRuns);
+            if (frontier != null) {
+               if (visitedRuns.size() >= MAXIMUM_MERGED_RUNS) {
+                  Path visitedRun = merge(visitedRuns);
+                  deleteRuns(visitedRuns);
+                  visitedRuns.clear();
+                  visitedRuns.add(visitedRun);
+               }
+               visitedRuns.add(frontier);
+               visitedStateCount += size(frontier, vectorLength);
+            }
+         }
+         return new ExternalMemoryStatistics(visitedStateCount, transitionCount, levelCount);
+      } finally {
+         deleteRuns(new ArrayList<Path>(runs));
+      }
+   }
+
+   /*
+    * writes the vectors of the target runs not contained in the visited runs, returns null whether there are none
+    */
+   private Path subtract(final List<Path> targetRuns, final List<Path> visitedRuns) throws IOException {
+      int vectorLength = stateCodec.getVectorLength();
+      int[] targetVector = new int[vectorLength];
+      int[] visitedVector = new int[vectorLength];
+      Path run;
+      long size;
+      try (VectorRuns.Reader targetReader = new VectorRuns.Reader(targetRuns, vectorLength);
+            VectorRuns.Reader visitedReader = new VectorRuns.Reader(visitedRuns, vectorLength);
+            VectorRuns.Writer writer = new VectorRuns.Writer(directory)) {
+         run = writer.getRun();
+         runs.add(run);
+         boolean visited = visitedReader.next(visitedVector);
+         while (targetReader.next(targetVector)) {
+            while (visited && VectorRuns.compare(visitedVector, targetVector) < 0) {
+               visited = visitedReader.next(visitedVector);
+            }
+            if (!visited || VectorRuns.compare(visitedVector, targetVector) != 0) {
+               writer.write(targetVector);
+            }
+         }
+         size = writer.size();
+      }
+      if (size == 0) {
+         deleteRuns(Collections.singletonList(run));
+         return null;
+      }
+      return run;
+   }
+
+   /*
+    * merges the runs in groups of at most MAXIMUM_MERGED_RUNS runs, and then the merged runs in turn, until they are no
+    * more than MAXIMUM_MERGED_RUNS; the merged runs are deleted
+    */
+   private List<Path> mergeInGroups(final List<Path> mergedRuns) throws IOException {
+      List<Path> currentRuns = mergedRuns;
+      while (currentRuns.size() > MAXIMUM_MERGED_RUNS) {
+         List<Path> nextRuns = new ArrayList<Path>();
+         for (int from = 0; from < currentRuns.size(); from += MAXIMUM_MERGED_RUNS) {
+            List<Path> group = currentRuns.subList(from, Math.min(from + MAXIMUM_MERGED_RUNS, currentRuns.size()));
+            if (group.size() == 1) {
+               nextRuns.add(group.get(0));
+            } else {
+               nextRuns.add(merge(group));
+               deleteRuns(group);
+            }
+         }
+         currentRuns = nextRuns;
+      }
+      return currentRuns;
+   }
+
+   private Path merge(final List<Path> mergedRuns) throws IOException {
+      int[] vector = new int[stateCodec.getVectorLength()];
+      try (VectorRuns.Reader reader = new VectorRuns.Reader(mergedRuns, vector.length);
+            VectorRuns.Writer writer = new VectorRuns.Writer(directory)) {
+         runs.add(writer.getRun());
+         while (reader.next(vector)) {
+            writer.write(vector);
+         }
+         return writer.getRun();
+      }
+   }
+
+   private Path newRun(final List<int[]> vectors) throws IOException {
+      Path run = VectorRuns.writeRun(directory, vectors);
+      runs.add(run);
+      return run;
+   }
+
+   private static long size(final Path run, final int vectorLength) throws IOException {
+      return Files.size(run) / (Integer.BYTES * (long) vectorLength);
+   }
+
+   private void deleteRuns(final List<Path> deletedRuns) throws IOException {
+      for (Path run : deletedRuns) {
+         Files.deleteIfExists(run);
+         runs.remove(run);
+      }
+   }
+}
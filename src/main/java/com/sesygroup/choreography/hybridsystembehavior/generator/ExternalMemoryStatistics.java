@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Outcome of an external memory exploration (see
+ * {@link HybridSystemBehaviorGenerator#generateExternalMemory(java.nio.file.Path, TransitionSink)}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class ExternalMemoryStatistics {
+   private final long visitedStateCount;
+   private final long transitionCount;
+   private final int levelCount;
+
+   ExternalMemoryStatistics(final long visitedStateCount, final long transitionCount, final int levelCount) {
+      super();
+      this.visitedStateCount = visitedStateCount;
+      this.transitionCount = transitionCount;
+      this.levelCount = levelCount;
+   }
+
+   /**
+    * Returns the number of reachable states, each of them has been expanded exactly once.
+    */
+   public long getVisitedStateCount() {
+      return visitedStateCount;
+   }
+
+   /**
+    * Returns the number of transitions passed to the {@link TransitionSink}.
+    */
+   public long getTransitionCount() {
+      return transitionCount;
+   }
+
+   /**
+    * Returns the number of breadth-first levels, that is the greatest distance of a state from the initial state plus
+    * one.
+    */
+   public int getLevelCount() {
+      return levelCount;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("visited states: %d, transitions: %d, levels: %d", visitedStateCount, transitionCount,
+            levelCount);
+   }
+}
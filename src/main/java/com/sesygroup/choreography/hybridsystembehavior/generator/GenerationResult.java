@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Outcome of a generation bounded by {@link ExplorationLimits} (see
+ * {@link HybridSystemBehaviorGenerator#generate(ExplorationLimits)}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class GenerationResult {
+   private final HybridSystemBehavior hybridSystemBehavior;
+   private final Set<State> frontier;
+   private final StopReason stopReason;
+   private final double compressionRatio;
+   private final Path stateVectorFile;
+
+   GenerationResult(final HybridSystemBehavior hybridSystemBehavior, final Set<State> frontier,
+         final StopReason stopReason, final double compressionRatio, final Path stateVectorFile) {
+      super();
+      this.hybridSystemBehavior = hybridSystemBehavior;
+      this.frontier = frontier;
+      this.stopReason = stopReason;
+      this.compressionRatio = compressionRatio;
+      this.stateVectorFile = stateVectorFile;
+   }
+
+   /**
+    * Returns the generated hybrid system behavior, which is partial whether the generation did not complete: it
+    * contains the expanded states with all their outgoing transitions, and the discovered states not yet expanded
+    * without outgoing transitions.
+    */
+   public HybridSystemBehavior getHybridSystemBehavior() {
+      return hybridSystemBehavior;
+   }
+
+   /**
+    * Returns the states of the hybrid system behavior not yet expanded, in the order in which they would have been
+    * expanded; it is empty whether the generation completed.
+    */
+   public Set<State> getFrontier() {
+      return frontier;
+   }
+
+   public StopReason getStopReason() {
+      return stopReason;
+   }
+
+   /**
+    * Returns the compression ratio achieved by this generation (see
+    * {@link HybridSystemBehaviorGenerator#getCompressionRatio()}).
+    */
+   public double getCompressionRatio() {
+      return compressionRatio;
+   }
+
+   /**
+    * Returns the file in which this generation stored the state vectors (see
+    * {@link HybridSystemBehaviorGenerator#getStateVectorFile()}), or null.
+    */
+   public Path getStateVectorFile() {
+      return stateVectorFile;
+   }
+
+   /**
+    * Returns whether all the reachable states have been expanded.
+    */
+   public boolean isComplete() {
+      return stopReason == StopReason.COMPLETED;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("stop reason: %s, states: %d, transitions: %d, frontier: %d", stopReason,
+            hybridSystemBehavior.getStates().size(), hybridSystemBehavior.getTransitions().size(), frontier.size());
+   }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchReceiveActAndMsgConsumptionTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchSendActTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.SynchSendReceiveActAndMsgConsumptionTransition;
+
+/**
+ * Outcome of a statistics-only generation (see {@link HybridSystemBehaviorGenerator#generateStatistics()}): the
+ * numbers of the hybrid system behavior that {@link HybridSystemBehaviorGenerator#generate()} would build.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class GenerationStatistics {
+   private final long stateCount;
+   private final long asynchSendActTransitionCount;
+   private final long asynchReceiveActAndMsgConsumptionTransitionCount;
+   private final long synchSendReceiveActAndMsgConsumptionTransitionCount;
+   private final long internalActionTransitionCount;
+   private final int maximumMessageQueueFill;
+   private final long deadlockStateCount;
+
+   GenerationStatistics(final long stateCount, final long asynchSendActTransitionCount,
+         final long asynchReceiveActAndMsgConsumptionTransitionCount,
+         final long synchSendReceiveActAndMsgConsumptionTransitionCount, final long internalActionTransitionCount,
+         final int maximumMessageQueueFill, final long deadlockStateCount) {
+      super();
+      this.stateCount = stateCount;
+      this.asynchSendActTransitionCount = asynchSendActTransitionCount;
+      this.asynchReceiveActAndMsgConsumptionTransitionCount = asynchReceiveActAndMsgConsumptionTransitionCount;
+      this.synchSendReceiveActAndMsgConsumptionTransitionCount = synchSendReceiveActAndMsgConsumptionTransitionCount;
+      this.internalActionTransitionCount = internalActionTransitionCount;
+      this.maximumMessageQueueFill = maximumMessageQueueFill;
+      this.deadlockStateCount = deadlockStateCount;
+   }
+
+   /**
+    * Returns the number of reachable states.
+    */
+   public long getStateCount() {
+      return stateCount;
+   }
+
+   /**
+    * Returns the number of transitions, of any kind.
+    */
+   public long getTransitionCount() {
+      return asynchSendActTransitionCount + asynchReceiveActAndMsgConsumptionTransitionCount
+            + synchSendReceiveActAndMsgConsumptionTransitionCount + internalActionTransitionCount;
+   }
+
+   /**
+    * Returns the number of {@link AsynchSendActTransition}s.
+    */
+   public long getAsynchSendActTransitionCount() {
+      return asynchSendActTransitionCount;
+   }
+
+   /**
+    * Returns the number of {@link AsynchReceiveActAndMsgConsumptionTransition}s.
+    */
+   public long getAsynchReceiveActAndMsgConsumptionTransitionCount() {
+      return asynchReceiveActAndMsgConsumptionTransitionCount;
+   }
+
+   /**
+    * Returns the number of {@link SynchSendReceiveActAndMsgConsumptionTransition}s.
+    */
+   public long getSynchSendReceiveActAndMsgConsumptionTransitionCount() {
+      return synchSendReceiveActAndMsgConsumptionTransitionCount;
+   }
+
+   /**
+    * Returns the number of {@link InternalActionTransition}s.
+    */
+   public long getInternalActionTransitionCount() {
+      return internalActionTransitionCount;
+   }
+
+   /**
+    * Returns the greatest number of messages in a message queue of a reachable state.
+    */
+   public int getMaximumMessageQueueFill() {
+      return maximumMessageQueueFill;
+   }
+
+   /**
+    * Returns the number of reachable states without outgoing transitions.
+    */
+   public long getDeadlockStateCount() {
+      return deadlockStateCount;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("states: %d, transitions: %d (asynchronous send: %d, asynchronous receive: %d, "
+            + "synchronous: %d, internal: %d), maximum message queue fill: %d, deadlock states: %d",
+            stateCount, getTransitionCount(), asynchSendActTransitionCount,
+            asynchReceiveActAndMsgConsumptionTransitionCount, synchSendReceiveActAndMsgConsumptionTransitionCount,
+            internalActionTransitionCount, maximumMessageQueueFill, deadlockStateCount);
+   }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Outcome of an exploration with hash compaction (see
+ * {@link HybridSystemBehaviorGenerator#generateHashCompaction(TransitionSink)}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class HashCompactionStatistics {
+   private final long visitedStateCount;
+   private final long transitionCount;
+   private final double collisionProbability;
+   private final double expectedCollisionCount;
+
+   HashCompactionStatistics(final FingerprintTable fingerprintTable, final long transitionCount) {
+      super();
+      this.visitedStateCount = fingerprintTable.size();
+      this.transitionCount = transitionCount;
+      this.collisionProbability = fingerprintTable.getCollisionProbability();
+      this.expectedCollisionCount = fingerprintTable.getExpectedCollisionCount();
+   }
+
+   /**
+    * Returns the number of visited states, that is the number of stored fingerprints.
+    */
+   public long getVisitedStateCount() {
+      return visitedStateCount;
+   }
+
+   /**
+    * Returns the number of transitions passed to the {@link TransitionSink}.
+    */
+   public long getTransitionCount() {
+      return transitionCount;
+   }
+
+   /**
+    * Returns the probability, at the end of the exploration, that a state never visited has the fingerprint of a
+    * visited state, that is the number of visited states divided by 2^64.
+    */
+   public double getCollisionProbability() {
+      return collisionProbability;
+   }
+
+   /**
+    * Returns the expected number of states wrongly considered already visited during the whole exploration, that is
+    * {@code n (n - 1) / 2^65} for {@code n} visited states; it is also an upper bound of the probability that at least
+    * one state has been missed.
+    */
+   public double getExpectedCollisionCount() {
+      return expectedCollisionCount;
+   }
+
+   @Override
+   public String toString() {
+      return String.format("visited states: %d, transitions: %d, collision probability: %.3e, "
+            + "expected collisions: %.3e", visitedStateCount, transitionCount, collisionProbability,
+            expectedCollisionCount);
+   }
+}
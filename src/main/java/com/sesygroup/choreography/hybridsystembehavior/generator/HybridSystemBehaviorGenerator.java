@@ -15,21 +15,26 @@
  */
 package com.sesygroup.choreography.hybridsystembehavior.generator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.commons.lang3.Validate;
 
 import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
 import com.sesygroup.choreography.hybridsystembehavior.Validation;
+import com.sesygroup.choreography.hybridsystembehavior.ValidationMessages;
 import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
 import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
-import com.sesygroup.choreography.hybridsystembehavior.model.State;
 import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
 
 /**
@@ -38,9 +43,23 @@ import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
  *
  */
 public class HybridSystemBehaviorGenerator {
-   private final Logger logger = LoggerFactory.getLogger(HybridSystemBehaviorGenerator.class);
    private Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap;
    private Map<Participant, Integer> participantToMessageQueueSizeMap;
+   private ExplorationStrategy explorationStrategy = ExplorationStrategy.SEQUENTIAL;
+   private int parallelism = Runtime.getRuntime().availableProcessors();
+   private StateStorage stateStorage = StateStorage.OBJECT;
+   private Path stateVectorDirectory;
+   /*
+    * the state vector storage of the last completed generation; the generations may run concurrently (see
+    * generateAsync), therefore its compression ratio and its file are published together
+    */
+   private volatile StateVectorStorageOutcome lastStateVectorStorageOutcome = new StateVectorStorageOutcome(Double.NaN,
+         null);
+   private Path checkpointDirectory;
+   private long checkpointInterval = 10 * 60 * 1000;
+   private long bitstateSize = 1L << 30;
+   private int hashFunctionCount = 3;
+   private int externalMemoryBufferSize = 1 << 20;
 
    public HybridSystemBehaviorGenerator(
          final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
@@ -50,6 +69,7 @@ public class HybridSystemBehaviorGenerator {
       Validation.validateParticipantToConcreteParticipantBehaviorMap(participantToConcreteParticipantBehaviorMap);
       Validation.validateMessageQueueSize(messageQueueSize);
 
+      this.participantToConcreteParticipantBehaviorMap = participantToConcreteParticipantBehaviorMap;
       participantToMessageQueueSizeMap = new LinkedHashMap<Participant, Integer>();
       participantToConcreteParticipantBehaviorMap
             .forEach((key, value) -> participantToMessageQueueSizeMap.put(key, new Integer(messageQueueSize)));
@@ -77,49 +97,287 @@ public class HybridSystemBehaviorGenerator {
       return participantToMessageQueueSizeMap;
    }
 
-   public HybridSystemBehavior generate() {
-      HybridSystemBehavior hybridSystemBehavior = new HybridSystemBehavior(participantToConcreteParticipantBehaviorMap);
-      Set<State> sourceStatesToBeCheck = new LinkedHashSet<State>();
-      Set<State> statesVerified = new LinkedHashSet<State>();
+   public ExplorationStrategy getExplorationStrategy() {
+      return explorationStrategy;
+   }
 
-      /*
-       * FIRST STEP: create initial state
-       */
-      State initialState = HybridSystemBehaviorGeneratorUtils
-            .createInitialState(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
-      hybridSystemBehavior.setInitialState(initialState);
-      sourceStatesToBeCheck.add(initialState);
+   public void setExplorationStrategy(final ExplorationStrategy explorationStrategy) {
+      Validate.notNull(explorationStrategy, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "explorationStrategy");
+      this.explorationStrategy = explorationStrategy;
+   }
 
-      /*
-       * ITERATION STEP: find and add all states and transitions as long as we have a source states to be check
-       */
-      while (sourceStatesToBeCheck.iterator().hasNext()) {
-         State sourceState = sourceStatesToBeCheck.iterator().next();
-         sourceStatesToBeCheck.remove(sourceState);
+   public int getParallelism() {
+      return parallelism;
+   }
 
-         if (!hybridSystemBehavior.getStates().stream().collect(Collectors.toList()).contains(sourceState)) {
-            hybridSystemBehavior.getStates().add(sourceState);
-         }
+   /**
+    * Sets the number of threads used by the parallel exploration strategies; by default it is the number of available
+    * processors.
+    *
+    * @param parallelism the number of threads, must be greater than or equal to one
+    */
+   public void setParallelism(final int parallelism) {
+      Validation.validateParallelism(parallelism);
+      this.parallelism = parallelism;
+   }
+
+   public StateStorage getStateStorage() {
+      return stateStorage;
+   }
+
+   /**
+    * Sets how the reachable states are stored during the generation; by default they are stored as objects.
+    *
+    * @param stateStorage the state storage, must not be null
+    * @see StateStorage
+    */
+   public void setStateStorage(final StateStorage stateStorage) {
+      Validate.notNull(stateStorage, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "stateStorage");
+      this.stateStorage = stateStorage;
+   }
+
+   /**
+    * Returns the compression ratio achieved by the last completed generation with the {@link StateStorage#COLLAPSED}
+    * state storage, that is the number of integers needed by the state vectors (see {@link StateCodec}) divided by the
+    * number of integers actually stored; it is one for the {@link StateStorage#ENCODED} and
+    * {@link StateStorage#OFF_HEAP} state storages. Whether several generations run concurrently, the compression ratio
+    * of each one is returned by {@link GenerationResult#getCompressionRatio()}.
+    *
+    * @return the compression ratio, or {@link Double#NaN} whether no state has been generated with a state storage
+    * other than {@link StateStorage#OBJECT}
+    */
+   public double getCompressionRatio() {
+      return lastStateVectorStorageOutcome.compressionRatio;
+   }
+
+   public Path getStateVectorDirectory() {
+      return stateVectorDirectory;
+   }
+
+   /**
+    * Sets the directory in which the {@link StateStorage#OFF_HEAP} state storage creates a file mapped in memory to
+    * store the state vectors; the file is kept after the generation (see {@link #getStateVectorFile()}). By default it
+    * is null, and the state vectors are stored in direct buffers released together with the generated hybrid system
+    * behavior.
+    *
+    * @param stateVectorDirectory the directory, or null
+    */
+   public void setStateVectorDirectory(final Path stateVectorDirectory) {
+      this.stateVectorDirectory = stateVectorDirectory;
+   }
+
+   /**
+    * Returns the file in which the last completed generation with the {@link StateStorage#OFF_HEAP} state storage
+    * stored the state vectors (see {@link #setStateVectorDirectory(Path)}). The file contains the vectors of the states
+    * in the order in which they were discovered, each one as a fixed number of big-endian integers. Whether several
+    * generations run concurrently, the file of each one is returned by {@link GenerationResult#getStateVectorFile()}.
+    *
+    * @return the file, or null whether the last generation did not store the state vectors in a file
+    */
+   public Path getStateVectorFile() {
+      return lastStateVectorStorageOutcome.stateVectorFile;
+   }
+
+   public Path getCheckpointDirectory() {
+      return checkpointDirectory;
+   }
+
+   /**
+    * Sets the directory in which {@link #generate()} periodically writes checkpoints of the generation, that is the
+    * states visited so far, the states still to be checked and the transitions found so far, so that an interrupted
+    * generation can be continued by {@link #resume(Path)}. Each checkpoint only appends what is new since the previous
+    * one, and the last checkpoint holds the complete generation. By default it is null, and no checkpoint is written.
+    * Only the state storages other than {@link StateStorage#OBJECT} support checkpoints.
+    *
+    * @param checkpointDirectory the directory, or null; any checkpoint already in the directory is overwritten
+    */
+   public void setCheckpointDirectory(final Path checkpointDirectory) {
+      this.checkpointDirectory = checkpointDirectory;
+   }
+
+   public long getCheckpointInterval() {
+      return checkpointInterval;
+   }
+
+   /**
+    * Sets the minimum number of milliseconds between two checkpoints (see {@link #setCheckpointDirectory(Path)}); by
+    * default it is ten minutes.
+    *
+    * @param checkpointInterval the number of milliseconds, must be greater than or equal to zero
+    */
+   public void setCheckpointInterval(final long checkpointInterval) {
+      Validation.validateCheckpointInterval(checkpointInterval);
+      this.checkpointInterval = checkpointInterval;
+   }
+
+   public long getBitstateSize() {
+      return bitstateSize;
+   }
+
+   /**
+    * Sets the number of bits of the bit array used by {@link #generateBitstate(TransitionSink)}; by default it is
+    * 2^30 bits, that is 128 MiB.
+    *
+    * @param bitstateSize the number of bits, rounded up to a multiple of 64
+    */
+   public void setBitstateSize(final long bitstateSize) {
+      Validation.validateBitstateSize(bitstateSize);
+      this.bitstateSize = bitstateSize;
+   }
+
+   public int getHashFunctionCount() {
+      return hashFunctionCount;
+   }
+
+   /**
+    * Sets the number of hash functions used by {@link #generateBitstate(TransitionSink)}, that is the number of bits
+    * set for each visited state; by default it is three.
+    *
+    * @param hashFunctionCount the number of hash functions, must be greater than or equal to one
+    */
+   public void setHashFunctionCount(final int hashFunctionCount) {
+      Validation.validateHashFunctionCount(hashFunctionCount);
+      this.hashFunctionCount = hashFunctionCount;
+   }
 
-         if (!statesVerified.stream().collect(Collectors.toList()).contains(sourceState)) {
-            HybridSystemBehaviorGeneratorUtils
-                  .findAsynchSendActTransitions(participantToConcreteParticipantBehaviorMap, sourceState)
-                  .forEach(transition -> manageTransition(transition, hybridSystemBehavior, sourceStatesToBeCheck));
-            HybridSystemBehaviorGeneratorUtils
-                  .findAsynchReceiveActAndMsgConsumptionTransitions(participantToConcreteParticipantBehaviorMap,
-                        sourceState)
-                  .forEach(transition -> manageTransition(transition, hybridSystemBehavior, sourceStatesToBeCheck));
-            HybridSystemBehaviorGeneratorUtils
-                  .findSynchSendReceiveActAndMsgConsumptionTransitions(participantToConcreteParticipantBehaviorMap,
-                        sourceState)
-                  .forEach(transition -> manageTransition(transition, hybridSystemBehavior, sourceStatesToBeCheck));
-            HybridSystemBehaviorGeneratorUtils
-                  .findInternalActionTransitions(participantToConcreteParticipantBehaviorMap, sourceState)
-                  .forEach(transition -> manageTransition(transition, hybridSystemBehavior, sourceStatesToBeCheck));
-
-            statesVerified.add(sourceState);
+   public int getExternalMemoryBufferSize() {
+      return externalMemoryBufferSize;
+   }
+
+   /**
+    * Sets the number of states kept in memory by {@link #generateExternalMemory(Path, TransitionSink)} before writing
+    * them to disk; by default it is 2^20 states.
+    *
+    * @param externalMemoryBufferSize the number of states, must be greater than or equal to one
+    */
+   public void setExternalMemoryBufferSize(final int externalMemoryBufferSize) {
+      Validation.validateExternalMemoryBufferSize(externalMemoryBufferSize);
+      this.externalMemoryBufferSize = externalMemoryBufferSize;
+   }
+
+   /**
+    * Generates the hybrid system behavior, writing periodic checkpoints whether a checkpoint directory is set (see
+    * {@link #setCheckpointDirectory(Path)}).
+    *
+    * @return the hybrid system behavior
+    * @throws UncheckedIOException whether a checkpoint cannot be written
+    */
+   public HybridSystemBehavior generate() {
+      return generate(createGenerationExplorer());
+   }
+
+   /**
+    * Generates the hybrid system behavior as {@link #generate()}, but stops as soon as one of
+    * {@code <i>explorationLimits</i>} is reached, returning the partial hybrid system behavior together with the
+    * states not yet expanded. Whether a checkpoint directory is set, the last checkpoint holds the partial generation,
+    * so that {@link #resume(Path)} can complete it. Only the {@link ExplorationStrategy#SEQUENTIAL} exploration
+    * strategy supports exploration limits.
+    *
+    * @param explorationLimits the limits of the generation, must not be null
+    * @return the generated hybrid system behavior, the states not yet expanded and the reason why the generation
+    * stopped
+    */
+   public GenerationResult generate(final ExplorationLimits explorationLimits) {
+      Validate.notNull(explorationLimits, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "explorationLimits");
+      Validate.isTrue(explorationStrategy == ExplorationStrategy.SEQUENTIAL,
+            ValidationMessages.IS_NOT_SUPPORTED_EXPLORATION_LIMITS_EXCEPTION_MESSAGE, explorationStrategy);
+      AbstractExplorer explorer = createGenerationExplorer();
+      explorer.setExplorationLimits(explorationLimits);
+      HybridSystemBehavior hybridSystemBehavior = generate(explorer);
+      return new GenerationResult(hybridSystemBehavior, explorer.getFrontier(), explorer.getStopReason(),
+            explorer.getCompressionRatio(), explorer.getStateVectorFile());
+   }
+
+   /**
+    * Generates the hybrid system behavior as {@link #generate()}, but asynchronously by means of
+    * {@code <i>executor</i>}. Cancelling the returned future stops the generation before the next state is expanded,
+    * whatever the exploration strategy is, so that the executor does not waste time on abandoned generations. Several
+    * generations may run concurrently on the same generator, each one with the settings of the generator at the time
+    * of the call.
+    *
+    * @param executor the executor that runs the generation, must not be null
+    * @return the future hybrid system behavior
+    */
+   public CompletableFuture<HybridSystemBehavior> generateAsync(final Executor executor) {
+      Validate.notNull(executor, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "executor");
+      AbstractExplorer explorer = createGenerationExplorer();
+      CompletableFuture<HybridSystemBehavior> future = new CompletableFuture<HybridSystemBehavior>();
+      future.whenComplete((hybridSystemBehavior, throwable) -> {
+         if (future.isCancelled()) {
+            explorer.cancel();
+         }
+      });
+      executor.execute(() -> {
+         if (future.isDone()) {
+            return;
          }
+         try {
+            future.complete(generate(explorer));
+         } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+         }
+      });
+      return future;
+   }
+
+   /**
+    * Returns a lazy stream of the transitions of the hybrid system behavior: the states are explored breadth-first,
+    * and each state is expanded only when the transitions of the previous states have been consumed, therefore a
+    * consumer that stops early, e.g., by means of {@link Stream#findFirst()} or {@link Stream#limit(long)}, does not
+    * pay for the rest of the generation. The stream can be consumed in parallel (see {@link #transitionSpliterator()});
+    * the exploration strategy and the state storage are not used.
+    *
+    * @return the sequential stream of the transitions
+    */
+   public Stream<Transition> transitionStream() {
+      return StreamSupport.stream(transitionSpliterator(), false);
+   }
+
+   /**
+    * Same as {@link #transitionStream()}, as an iterator.
+    *
+    * @return the iterator of the transitions
+    */
+   public Iterator<Transition> transitionIterator() {
+      return Spliterators.iterator(transitionSpliterator());
+   }
+
+   /**
+    * Same as {@link #transitionStream()}, as a spliterator. Splitting hands over half of the states still to be
+    * expanded, and the split spliterators share the set of the discovered states, so that each reachable state is
+    * expanded exactly once by one of them.
+    *
+    * @return the spliterator of the transitions
+    */
+   public Spliterator<Transition> transitionSpliterator() {
+      return new TransitionSpliterator(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+            parallelism);
+   }
+
+   /**
+    * Continues the generation whose checkpoints are written in {@code <i>checkpointDirectory</i>} (see
+    * {@link #setCheckpointDirectory(Path)}) from its last checkpoint, going on writing checkpoints in the same
+    * directory. The participant behaviors and the message queue sizes must be the same of the interrupted
+    * generation, while the state storage may differ, provided that it is not {@link StateStorage#OBJECT}.
+    *
+    * @param checkpointDirectory the directory of the checkpoints, must not be null
+    * @return the hybrid system behavior
+    * @throws IOException whether the checkpoint cannot be read or written, or it does not match the participant
+    * behaviors
+    */
+   public HybridSystemBehavior resume(final Path checkpointDirectory) throws IOException {
+      Validate.notNull(checkpointDirectory, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "checkpointDirectory");
+      try {
+         return generate(createCheckpointExplorer(checkpointDirectory, true));
+      } catch (UncheckedIOException e) {
+         throw e.getCause();
       }
+   }
+
+   private HybridSystemBehavior generate(final AbstractExplorer explorer) {
+      HybridSystemBehavior hybridSystemBehavior = explorer.explore();
+      lastStateVectorStorageOutcome = new StateVectorStorageOutcome(explorer.getCompressionRatio(),
+            explorer.getStateVectorFile());
 
       /*
        * Validate the generated hybrid system behavior
@@ -129,37 +387,153 @@ public class HybridSystemBehaviorGenerator {
       return hybridSystemBehavior;
    }
 
-   private void manageTransition(final Transition transition, final HybridSystemBehavior hybridSystemBehavior,
-         final Set<State> sourceStatesToCheck) {
-      /*
-       * important: convert the set to list before using the contains method because, if you change an element in the
-       * Set, Set.contains(element) may fail to locate it, since the hashCode of the element will be different than what
-       * it was when the element was first added to the HashSet
-       */
-      if (!hybridSystemBehavior.getTransitions().stream().collect(Collectors.toList()).contains(transition)) {
-         hybridSystemBehavior.getTransitions().add(transition);
-      } else {
-         logger.info("The transition " + transition
-               + " already exists in the set of transitions, therefore the transition it is not added");
-         return;
-      }
+   /**
+    * Explores all the reachable states as {@link #generate()}, but instead of building a {@link HybridSystemBehavior},
+    * each state is passed to {@code <i>transitionSink</i>} as soon as it is discovered, and each transition as soon as
+    * it is found: only the visited states are kept in memory, encoded as vectors of integers stored as specified by
+    * the state storage ({@link StateStorage#OBJECT} stands for {@link StateStorage#ENCODED}), and the states still to
+    * be expanded are the last stored ones. The states are explored breadth-first by the calling thread, whatever the
+    * exploration strategy is.
+    *
+    * @param transitionSink the sink of the states and transitions, must not be null (see
+    * {@link CountingTransitionSink}, {@link ChannelTransitionSink} and {@link QueueTransitionSink})
+    * @return the number of transitions passed to the sink
+    */
+   public long generate(final TransitionSink transitionSink) {
+      Validate.notNull(transitionSink, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "transitionSink");
+      return new EncodedExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+            stateStorage == StateStorage.OBJECT
+                  ? StateStorage.ENCODED
+                  : stateStorage,
+            stateVectorDirectory).explore(transitionSink);
+   }
 
-      if (!sourceStatesToCheck.stream().collect(Collectors.toList()).contains(transition.getTargetState())) {
-         sourceStatesToCheck.add(transition.getTargetState());
-      } else {
-         logger.info("The target state " + transition.getTargetState() + " of the transition " + transition
-               + " already exists in the set of source states to be check, therefore it is not added");
+   /**
+    * Computes the statistics of the hybrid system behavior that {@link #generate()} would build, that is the number of
+    * states, the number of transitions of each kind, the greatest number of messages in a message queue and the
+    * number of states without outgoing transitions, without building it: the successors of each state are computed
+    * on its encoding (see {@link StateCodec}), therefore no state and no transition is created as an object, and only
+    * the visited states are kept in memory, stored as specified by the state storage ({@link StateStorage#OBJECT}
+    * stands for {@link StateStorage#ENCODED}). The states are explored breadth-first by the calling thread, whatever
+    * the exploration strategy is.
+    *
+    * @return the statistics of the hybrid system behavior
+    */
+   public GenerationStatistics generateStatistics() {
+      return new StatisticsExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+            stateStorage, stateVectorDirectory).explore();
+   }
+
+   /**
+    * Explores the reachable states approximately, with bitstate hashing: each visited state sets
+    * {@link #getHashFunctionCount()} bits of a bit array of {@link #getBitstateSize()} bits, and no state is stored.
+    * Instead of building a {@link HybridSystemBehavior}, the transitions outgoing from each visited state are passed to
+    * {@code <i>transitionSink</i>} as soon as they are found. The states are explored depth-first by the calling
+    * thread, whatever the exploration strategy and the state storage are.
+    *
+    * <p>
+    * A reachable state whose bits are already set by other states is wrongly considered visited, therefore some
+    * states and transitions may be missed; the returned statistics estimate the coverage of the exploration.
+    *
+    * @param transitionSink the sink of the transitions, must not be null
+    * @return the statistics of the exploration
+    */
+   public BitstateStatistics generateBitstate(final TransitionSink transitionSink) {
+      Validate.notNull(transitionSink, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "transitionSink");
+      BitstateTable bitstateTable = new BitstateTable(bitstateSize, hashFunctionCount);
+      long transitionCount = new ApproximateExplorer(participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap, bitstateTable).explore(transitionSink);
+      return new BitstateStatistics(bitstateTable, transitionCount);
+   }
+
+   /**
+    * Explores the reachable states with hash compaction: only a 64 bit fingerprint of each visited state is stored, in
+    * a hash table of longs taking between 10.7 and 21.3 bytes per state, and the transitions outgoing from each
+    * visited state are passed to {@code <i>transitionSink</i>} as soon as they are found, instead of building a
+    * {@link HybridSystemBehavior}. The states are explored depth-first by the calling thread, whatever the exploration
+    * strategy and the state storage are, and only the states on the current path are kept as objects.
+    *
+    * <p>
+    * A reachable state having the same fingerprint of a visited state is wrongly considered visited; with {@code n}
+    * visited states the expected number of such states is {@code n (n - 1) / 2^65}, less than 0.0003 for one hundred
+    * million states, therefore the result is exact in practice (see {@link HashCompactionStatistics}).
+    *
+    * @param transitionSink the sink of the transitions, must not be null
+    * @return the statistics of the exploration
+    */
+   public HashCompactionStatistics generateHashCompaction(final TransitionSink transitionSink) {
+      Validate.notNull(transitionSink, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "transitionSink");
+      FingerprintTable fingerprintTable = new FingerprintTable();
+      long transitionCount = new ApproximateExplorer(participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap, fingerprintTable).explore(transitionSink);
+      return new HashCompactionStatistics(fingerprintTable, transitionCount);
+   }
 
+   /**
+    * Explores the reachable states breadth-first, keeping them on disk instead of in memory: the states of each level
+    * are written, encoded (see {@link StateCodec}), to sorted run files of {@code <i>directory</i>}, and the duplicates
+    * are detected once per level by merging the run files of the new states with the run files of the visited states.
+    * Instead of building a {@link HybridSystemBehavior}, the transitions outgoing from each state are passed to
+    * {@code <i>transitionSink</i>} as soon as they are found. Only {@link #getExternalMemoryBufferSize()} states plus
+    * the buffers of the open files are kept in memory, whatever the exploration strategy and the state storage are.
+    *
+    * @param directory the directory in which the run files are written, must not be null; the run files are deleted
+    * at the end of the exploration
+    * @param transitionSink the sink of the transitions, must not be null
+    * @return the statistics of the exploration
+    * @throws IOException whether a run file cannot be written or read
+    */
+   public ExternalMemoryStatistics generateExternalMemory(final Path directory, final TransitionSink transitionSink)
+         throws IOException {
+      Validate.notNull(directory, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "directory");
+      Validate.notNull(transitionSink, ValidationMessages.IS_NULL_EXCEPTION_MESSAGE, "transitionSink");
+      return new ExternalMemoryExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+            directory, externalMemoryBufferSize).explore(transitionSink);
+   }
+
+   private AbstractExplorer createGenerationExplorer() {
+      return checkpointDirectory == null
+            ? createExplorer()
+            : createCheckpointExplorer(checkpointDirectory, false);
+   }
+
+   private AbstractExplorer createCheckpointExplorer(final Path checkpointDirectory, final boolean resume) {
+      Validate.isTrue(stateStorage != StateStorage.OBJECT,
+            ValidationMessages.IS_NOT_SUPPORTED_CHECKPOINT_EXCEPTION_MESSAGE, stateStorage);
+      EncodedExplorer explorer = (EncodedExplorer) createExplorer();
+      explorer.setCheckpoint(checkpointDirectory, checkpointInterval, resume);
+      return explorer;
+   }
+
+   private AbstractExplorer createExplorer() {
+      if (stateStorage != StateStorage.OBJECT) {
+         Validate.isTrue(explorationStrategy == ExplorationStrategy.SEQUENTIAL,
+               ValidationMessages.IS_NOT_SUPPORTED_STATE_STORAGE_EXCEPTION_MESSAGE, explorationStrategy, stateStorage);
+         return new EncodedExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+               stateStorage, stateVectorDirectory);
       }
 
-      List<State> states = hybridSystemBehavior.getStates().stream().collect(Collectors.toList());
-      if (!states.contains(transition.getTargetState())) {
-         hybridSystemBehavior.getStates().add(transition.getTargetState());
-      } else {
-         logger.info("The target state " + transition.getTargetState() + " of the transition " + transition
-               + " already exists in the set of hybrid system behavior states, therefore the target state will be changed with the existing one");
-         transition.setTargetState(states.get(states.indexOf(transition.getTargetState())));
+      switch (explorationStrategy) {
+      case PARALLEL_BREADTH_FIRST:
+         return new ParallelBreadthFirstExplorer(participantToConcreteParticipantBehaviorMap,
+               participantToMessageQueueSizeMap, parallelism);
+      case WORK_STEALING:
+         return new WorkStealingExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+               parallelism);
+      case SEQUENTIAL:
+      default:
+         return new SequentialExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
       }
+   }
 
+   private static final class StateVectorStorageOutcome {
+      private final double compressionRatio;
+      private final Path stateVectorFile;
+
+      StateVectorStorageOutcome(final double compressionRatio, final Path stateVectorFile) {
+         super();
+         this.compressionRatio = compressionRatio;
+         this.stateVectorFile = stateVectorFile;
+      }
    }
 }
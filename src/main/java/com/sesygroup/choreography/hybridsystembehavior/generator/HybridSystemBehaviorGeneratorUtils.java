@@ -15,6 +15,7 @@
  */
 package com.sesygroup.choreography.hybridsystembehavior.generator;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -156,6 +157,23 @@ public class HybridSystemBehaviorGeneratorUtils {
       return asynchSendActTransitions;
    }
 
+   /**
+    * Same as {@link #findAsynchSendActTransitions(Map, State)}, where the transitions of the concrete participant
+    * behaviors are looked up in a precomputed {@link ConcreteTransitionIndex} and only the pairs of participants
+    * connected by a {@link CommunicationChannel} are considered.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which asynchronous send action transition are searched, must not be null
+    * @return a collection of asynchronous send action transitions; an empty collection otherwise
+    */
+   public static Collection<AsynchSendActTransition> findAsynchSendActTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState) {
+      Collection<AsynchSendActTransition> asynchSendActTransitions = new LinkedHashSet<AsynchSendActTransition>();
+      findAsynchSendActTransitions(concreteTransitionIndex, sourceState,
+            EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState), asynchSendActTransitions);
+      return asynchSendActTransitions;
+   }
+
    /**
     *
     * For each participant j, find all messages m, such that m is an {@link InputMessage} of j. Whether j has an
@@ -238,6 +256,27 @@ public class HybridSystemBehaviorGeneratorUtils {
       return asynchReceiveActAndMsgConsumptionTransitions;
    }
 
+   /**
+    * Same as {@link #findAsynchReceiveActAndMsgConsumptionTransitions(Map, State)}, where the transitions of the
+    * concrete participant behaviors are looked up in a precomputed {@link ConcreteTransitionIndex}: only the message in
+    * the queue head of each participant j is looked up.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which asynchronous receive action and message consumption transition are
+    * searched, must not be null
+    * @return a collection of asynchronous receive action and message consumption transitions; an empty collection
+    * otherwise
+    */
+   public static Collection<AsynchReceiveActAndMsgConsumptionTransition> findAsynchReceiveActAndMsgConsumptionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState) {
+      Collection<AsynchReceiveActAndMsgConsumptionTransition> asynchReceiveActAndMsgConsumptionTransitions
+            = new LinkedHashSet<AsynchReceiveActAndMsgConsumptionTransition>();
+      findAsynchReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState,
+            EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState),
+            asynchReceiveActAndMsgConsumptionTransitions);
+      return asynchReceiveActAndMsgConsumptionTransitions;
+   }
+
    /**
     *
     * For each pair of participants i and j, find all messages m, such that m is an {@link InputMessage} of i and m is
@@ -339,6 +378,27 @@ public class HybridSystemBehaviorGeneratorUtils {
       return synchSendReceiveActAndMsgConsumptionTransitions;
    }
 
+   /**
+    * Same as {@link #findSynchSendReceiveActAndMsgConsumptionTransitions(Map, State)}, where the transitions of the
+    * concrete participant behaviors are looked up in a precomputed {@link ConcreteTransitionIndex} and only the pairs
+    * of participants connected by a {@link CommunicationChannel} are considered.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which synchronous send-receive action and message consumption transition
+    * are searched, must not be null
+    * @return a collection of synchronous send-receive action and message consumption transitions; an empty collection
+    * otherwise
+    */
+   public static Collection<SynchSendReceiveActAndMsgConsumptionTransition> findSynchSendReceiveActAndMsgConsumptionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState) {
+      Collection<SynchSendReceiveActAndMsgConsumptionTransition> synchSendReceiveActAndMsgConsumptionTransitions
+            = new LinkedHashSet<SynchSendReceiveActAndMsgConsumptionTransition>();
+      findSynchSendReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState,
+            EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState),
+            synchSendReceiveActAndMsgConsumptionTransitions);
+      return synchSendReceiveActAndMsgConsumptionTransitions;
+   }
+
    /**
     *
     * For each participant, find all internal action transition from its
@@ -388,6 +448,383 @@ public class HybridSystemBehaviorGeneratorUtils {
       return internalActionTransitions;
    }
 
+   /**
+    * Same as {@link #findInternalActionTransitions(Map, State)}, where the transitions of the concrete participant
+    * behaviors are looked up in a precomputed {@link ConcreteTransitionIndex}.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which internal action transition are searched, must not be null
+    * @return a collection of internal action transitions; an empty collection otherwise
+    */
+   public static Collection<InternalActionTransition> findInternalActionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState) {
+      Collection<InternalActionTransition> internalActionTransitions = new LinkedHashSet<InternalActionTransition>();
+      findInternalActionTransitions(concreteTransitionIndex, sourceState,
+            EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState), internalActionTransitions);
+      return internalActionTransitions;
+   }
+
+   /**
+    * Finds all the transitions outgoing from {@code <i>sourceState</i>}, i.e., the union of the transitions found by
+    * {@link #findAsynchSendActTransitions(ConcreteTransitionIndex, State)},
+    * {@link #findAsynchReceiveActAndMsgConsumptionTransitions(ConcreteTransitionIndex, State)},
+    * {@link #findSynchSendReceiveActAndMsgConsumptionTransitions(ConcreteTransitionIndex, State)} and
+    * {@link #findInternalActionTransitions(ConcreteTransitionIndex, State)} (see
+    * {@link #findTransitions(ConcreteTransitionIndex, State, Collection)}).
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which transitions are searched, must not be null
+    * @return a collection of transitions; an empty collection otherwise
+    */
+   public static Collection<com.sesygroup.choreography.hybridsystembehavior.model.Transition> findTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState) {
+      Collection<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new ArrayList<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      findTransitions(concreteTransitionIndex, sourceState, transitions);
+      return transitions;
+   }
+
+   /**
+    * Same as {@link #findTransitions(ConcreteTransitionIndex, State)}, but the transitions are added to
+    * {@code <i>transitions</i>}, so that the caller can reuse the same buffer for all the states it expands. The
+    * participants are walked once: for each participant, the asynchronous send and the synchronous send-receive
+    * transitions along the communication channels on which it can send from its concrete state are found first, then
+    * the asynchronous receive transitions of the message in its queue head and its internal action transitions.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which transitions are searched, must not be null
+    * @param transitions the buffer to which the found transitions are added, must not be null
+    */
+   public static void findTransitions(final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState,
+         final Collection<? super com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions) {
+      findTransitions(concreteTransitionIndex, sourceState,
+            EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), sourceState), transitions, null);
+   }
+
+   /**
+    * Same as {@link #findTransitions(ConcreteTransitionIndex, State, Collection)}, where the concrete states and the
+    * queue heads of the source state are read from {@code <i>sourceMoves</i>}, and the summary of the target state of
+    * each found transition, derived from the source one, is added to {@code <i>targetMoves</i>}, in the same order of
+    * the transitions.
+    *
+    * @param concreteTransitionIndex the index of the concrete participant behavior transitions, must not be null
+    * @param sourceState the {@link State} from which transitions are searched, must not be null
+    * @param sourceMoves the summary of the source state, must not be null
+    * @param transitions the buffer to which the found transitions are added, must not be null
+    * @param targetMoves the buffer to which the summaries of the target states are added, null whether they are not
+    * needed
+    */
+   static void findTransitions(final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState,
+         final EnabledMoves sourceMoves,
+         final Collection<? super com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions,
+         final Collection<? super EnabledMoves> targetMoves) {
+      for (int participantId = 0; participantId < concreteTransitionIndex.getSymbolTable()
+            .getParticipantCount(); participantId++) {
+         for (int channelIndex : concreteTransitionIndex.getSendChannelIndexes(participantId,
+               sourceMoves.getConcreteStateId(participantId))) {
+            findAsynchSendActTransitions(concreteTransitionIndex, sourceState, sourceMoves, channelIndex, transitions,
+                  targetMoves);
+            findSynchSendReceiveActAndMsgConsumptionTransition(concreteTransitionIndex, sourceState, sourceMoves,
+                  channelIndex, transitions, targetMoves);
+         }
+         findAsynchReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState, sourceMoves,
+               participantId, transitions, targetMoves);
+         findInternalActionTransitions(concreteTransitionIndex, sourceState, sourceMoves, participantId, transitions,
+               targetMoves);
+
+         /*
+          * the channels along which the participant cannot send are skipped, therefore the synchronous receive
+          * transitions of the participant are validated separately
+          */
+         if (concreteTransitionIndex.hasAmbiguousSynchronousReceive(participantId,
+               sourceMoves.getConcreteStateId(participantId))) {
+            for (int channelIndex = 0; channelIndex < concreteTransitionIndex.getCommunicationChannels()
+                  .size(); channelIndex++) {
+               if (concreteTransitionIndex.getReceiverParticipantId(channelIndex) == participantId) {
+                  int senderParticipantId = concreteTransitionIndex.getSenderParticipantId(channelIndex);
+                  Validation.validateFoundedSynchronousSendReceiveActionTransition(
+                        concreteTransitionIndex.getTransitions(senderParticipantId,
+                              sourceMoves.getConcreteStateId(senderParticipantId),
+                              ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND,
+                              concreteTransitionIndex.getMessageId(channelIndex)),
+                        concreteTransitionIndex.getTransitions(participantId,
+                              sourceMoves.getConcreteStateId(participantId),
+                              ConcreteTransitionIndex.Kind.SYNCHRONOUS_RECEIVE,
+                              concreteTransitionIndex.getMessageId(channelIndex)));
+               }
+            }
+         }
+      }
+   }
+
+   private static void findAsynchSendActTransitions(final ConcreteTransitionIndex concreteTransitionIndex,
+         final State sourceState, final EnabledMoves sourceMoves,
+         final Collection<? super AsynchSendActTransition> asynchSendActTransitions) {
+      /*
+       * for each communication channel from the participant i to the participant j for the message m
+       */
+      for (int channelIndex = 0; channelIndex < concreteTransitionIndex.getCommunicationChannels()
+            .size(); channelIndex++) {
+         findAsynchSendActTransitions(concreteTransitionIndex, sourceState, sourceMoves, channelIndex,
+               asynchSendActTransitions, null);
+      }
+   }
+
+   private static void findAsynchSendActTransitions(final ConcreteTransitionIndex concreteTransitionIndex,
+         final State sourceState, final EnabledMoves sourceMoves, final int channelIndex,
+         final Collection<? super AsynchSendActTransition> asynchSendActTransitions,
+         final Collection<? super EnabledMoves> targetMoves) {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int senderParticipantId = concreteTransitionIndex.getSenderParticipantId(channelIndex);
+      int receiverParticipantId = concreteTransitionIndex.getReceiverParticipantId(channelIndex);
+      int messageId = concreteTransitionIndex.getMessageId(channelIndex);
+
+      /*
+       * find all asynchronous send action transition where the participant i send the output message from its state
+       * contained in sourceState
+       */
+      int senderStateId = sourceMoves.getConcreteStateId(senderParticipantId);
+      Collection<Transition> asynchronousSendActionTransitions = concreteTransitionIndex.getTransitions(
+            senderParticipantId, senderStateId, ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, messageId);
+      if (asynchronousSendActionTransitions.isEmpty()) {
+         return;
+      }
+
+      /*
+       * check whether the participant j can receives the message (i.e., whether the message can be put in the queue of
+       * the participant j)
+       */
+      Participant senderParticipant = symbolTable.getParticipant(senderParticipantId);
+      Participant receiverParticipant = symbolTable.getParticipant(receiverParticipantId);
+      MessageQueue messageQueue = sourceState.getParticipantToMessageQueueMap().get(receiverParticipant);
+      if (messageQueue.getQueue() == null || messageQueue.getQueue().size() >= messageQueue.getCapacity()) {
+         return;
+      }
+
+      /*
+       * the message is the head of the queue of the participant j only whether the queue is empty
+       */
+      EnabledMoves receiverMoves = sourceMoves.getHeadMessageId(receiverParticipantId) == EnabledMoves.NO_MESSAGE_ID
+            ? sourceMoves.withHeadMessageId(receiverParticipantId, messageId)
+            : sourceMoves;
+      int[] targetStateIds = concreteTransitionIndex.getTargetStateIds(senderParticipantId, senderStateId,
+            ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, messageId);
+      int i = 0;
+      for (Transition transition : asynchronousSendActionTransitions) {
+         OutputMessage outputMessage = ((AsynchronousSendActionTransition) transition).getOutputMessage();
+
+         /*
+          * put the message in the queue of the participant j and change the state of the participant i with the target
+          * state of it transition
+          */
+         State targetState = sourceState
+               .withMessageQueue(receiverParticipant, messageQueue.withMessageAtTail(outputMessage))
+               .withConcreteParticipantBehaviorState(senderParticipant, transition.getTargetState());
+
+         /*
+          * create the AsynchSendActTransition
+          */
+         AsynchSendActTransition asynchSendActTransition = new AsynchSendActTransition(sourceState, targetState,
+               senderParticipant, receiverParticipant, outputMessage);
+         asynchSendActTransitions.add(asynchSendActTransition);
+         if (targetMoves != null) {
+            targetMoves.add(receiverMoves.withConcreteStateId(senderParticipantId, targetStateIds[i]));
+         }
+         i++;
+      }
+   }
+
+   private static void findAsynchReceiveActAndMsgConsumptionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState, final EnabledMoves sourceMoves,
+         final Collection<? super AsynchReceiveActAndMsgConsumptionTransition> asynchReceiveActAndMsgConsumptionTransitions) {
+      for (int participantId = 0; participantId < concreteTransitionIndex.getSymbolTable()
+            .getParticipantCount(); participantId++) {
+         findAsynchReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState, sourceMoves,
+               participantId, asynchReceiveActAndMsgConsumptionTransitions, null);
+      }
+   }
+
+   private static void findAsynchReceiveActAndMsgConsumptionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState, final EnabledMoves sourceMoves,
+         final int participantId,
+         final Collection<? super AsynchReceiveActAndMsgConsumptionTransition> asynchReceiveActAndMsgConsumptionTransitions,
+         final Collection<? super EnabledMoves> targetMoves) {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+
+      /*
+       * check whether the participant j can consume a message (i.e., whether there is a message in the queue head of
+       * the participant j) and whether the message is an input message of the participant j
+       */
+      int headMessageId = sourceMoves.getHeadMessageId(participantId);
+      if (headMessageId == EnabledMoves.NO_MESSAGE_ID || !symbolTable.isInputMessage(participantId, headMessageId)) {
+         return;
+      }
+
+      /*
+       * find all asynchronous receive action transition where the participant j receive the message in the queue head
+       * from its state contained in sourceState
+       */
+      int stateId = sourceMoves.getConcreteStateId(participantId);
+      Collection<Transition> asynchronousReceiveActionTransitions = concreteTransitionIndex.getTransitions(
+            participantId, stateId, ConcreteTransitionIndex.Kind.ASYNCHRONOUS_RECEIVE, headMessageId);
+      if (asynchronousReceiveActionTransitions.isEmpty()) {
+         return;
+      }
+
+      /*
+       * consume the message from the queue head of the participant j; the consumed queue is shared by all the target
+       * states
+       */
+      Participant participant = symbolTable.getParticipant(participantId);
+      MessageQueue consumedMessageQueue = sourceState.getParticipantToMessageQueueMap().get(participant)
+            .withoutHeadMessage();
+      EnabledMoves consumedMoves = targetMoves == null
+            ? null
+            : sourceMoves.withHeadMessageId(participantId,
+                  EnabledMoves.getHeadMessageId(symbolTable, consumedMessageQueue));
+      int[] targetStateIds = concreteTransitionIndex.getTargetStateIds(participantId, stateId,
+            ConcreteTransitionIndex.Kind.ASYNCHRONOUS_RECEIVE, headMessageId);
+      int i = 0;
+      for (Transition transition : asynchronousReceiveActionTransitions) {
+         /*
+          * change the state of the participant j with the target state of it transition
+          */
+         State targetState = sourceState.withMessageQueue(participant, consumedMessageQueue)
+               .withConcreteParticipantBehaviorState(participant, transition.getTargetState());
+         /*
+          * create the AsynchReceiveActAndMsgConsumptionTransition
+          */
+         AsynchReceiveActAndMsgConsumptionTransition asynchReceiveActAndMsgConsumptionTransition
+               = new AsynchReceiveActAndMsgConsumptionTransition(sourceState, targetState,
+                     ((AsynchronousReceiveActionTransition) transition).getInputMessage());
+         asynchReceiveActAndMsgConsumptionTransitions.add(asynchReceiveActAndMsgConsumptionTransition);
+         if (targetMoves != null) {
+            targetMoves.add(consumedMoves.withConcreteStateId(participantId, targetStateIds[i]));
+         }
+         i++;
+      }
+   }
+
+   private static void findSynchSendReceiveActAndMsgConsumptionTransitions(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState, final EnabledMoves sourceMoves,
+         final Collection<? super SynchSendReceiveActAndMsgConsumptionTransition> synchSendReceiveActAndMsgConsumptionTransitions) {
+      /*
+       * for each communication channel from the participant i to the participant j for the message m
+       */
+      for (int channelIndex = 0; channelIndex < concreteTransitionIndex.getCommunicationChannels()
+            .size(); channelIndex++) {
+         findSynchSendReceiveActAndMsgConsumptionTransition(concreteTransitionIndex, sourceState, sourceMoves,
+               channelIndex, synchSendReceiveActAndMsgConsumptionTransitions, null);
+      }
+   }
+
+   private static void findSynchSendReceiveActAndMsgConsumptionTransition(
+         final ConcreteTransitionIndex concreteTransitionIndex, final State sourceState, final EnabledMoves sourceMoves,
+         final int channelIndex,
+         final Collection<? super SynchSendReceiveActAndMsgConsumptionTransition> synchSendReceiveActAndMsgConsumptionTransitions,
+         final Collection<? super EnabledMoves> targetMoves) {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int senderParticipantId = concreteTransitionIndex.getSenderParticipantId(channelIndex);
+      int receiverParticipantId = concreteTransitionIndex.getReceiverParticipantId(channelIndex);
+      int messageId = concreteTransitionIndex.getMessageId(channelIndex);
+      int senderStateId = sourceMoves.getConcreteStateId(senderParticipantId);
+      int receiverStateId = sourceMoves.getConcreteStateId(receiverParticipantId);
+
+      Collection<Transition> synchronousSendActionTransitions = concreteTransitionIndex.getTransitions(
+            senderParticipantId, senderStateId, ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, messageId);
+
+      Collection<Transition> synchronousReceiveActionTransitions = concreteTransitionIndex.getTransitions(
+            receiverParticipantId, receiverStateId, ConcreteTransitionIndex.Kind.SYNCHRONOUS_RECEIVE, messageId);
+
+      /*
+       * the validation fails only whether there is more than one transition, therefore the usual case is not checked
+       */
+      if (synchronousSendActionTransitions.size() > 1 || synchronousReceiveActionTransitions.size() > 1) {
+         Validation.validateFoundedSynchronousSendReceiveActionTransition(synchronousSendActionTransitions,
+               synchronousReceiveActionTransitions);
+      }
+
+      if (!synchronousSendActionTransitions.isEmpty() && !synchronousReceiveActionTransitions.isEmpty()) {
+         /*
+          * whether the if statement is true the check before ensure that we have only one
+          * synchronousSendActionTransitions and only one synchronousReceiveActionTransitions
+          */
+         Participant senderParticipant = symbolTable.getParticipant(senderParticipantId);
+         Participant receiverParticipant = symbolTable.getParticipant(receiverParticipantId);
+
+         /*
+          * change the state of the participant i and of the participant j with the target state of their transitions
+          */
+         State targetState = sourceState
+               .withConcreteParticipantBehaviorState(senderParticipant,
+                     synchronousSendActionTransitions.iterator().next().getTargetState())
+               .withConcreteParticipantBehaviorState(receiverParticipant,
+                     synchronousReceiveActionTransitions.iterator().next().getTargetState());
+
+         /*
+          * create the SynchSendReceiveActAndMsgConsumptionTransition
+          */
+         SynchSendReceiveActAndMsgConsumptionTransition synchSendReceiveActAndMsgConsumptionTransition
+               = new SynchSendReceiveActAndMsgConsumptionTransition(sourceState, targetState, senderParticipant,
+                     receiverParticipant, symbolTable.getMessageName(messageId));
+         synchSendReceiveActAndMsgConsumptionTransitions.add(synchSendReceiveActAndMsgConsumptionTransition);
+         if (targetMoves != null) {
+            targetMoves.add(sourceMoves
+                  .withConcreteStateId(senderParticipantId,
+                        concreteTransitionIndex.getTargetStateIds(senderParticipantId, senderStateId,
+                              ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, messageId)[0])
+                  .withConcreteStateId(receiverParticipantId,
+                        concreteTransitionIndex.getTargetStateIds(receiverParticipantId, receiverStateId,
+                              ConcreteTransitionIndex.Kind.SYNCHRONOUS_RECEIVE, messageId)[0]));
+         }
+      }
+   }
+
+   private static void findInternalActionTransitions(final ConcreteTransitionIndex concreteTransitionIndex,
+         final State sourceState, final EnabledMoves sourceMoves,
+         final Collection<? super InternalActionTransition> internalActionTransitions) {
+      for (int participantId = 0; participantId < concreteTransitionIndex.getSymbolTable()
+            .getParticipantCount(); participantId++) {
+         findInternalActionTransitions(concreteTransitionIndex, sourceState, sourceMoves, participantId,
+               internalActionTransitions, null);
+      }
+   }
+
+   private static void findInternalActionTransitions(final ConcreteTransitionIndex concreteTransitionIndex,
+         final State sourceState, final EnabledMoves sourceMoves, final int participantId,
+         final Collection<? super InternalActionTransition> internalActionTransitions,
+         final Collection<? super EnabledMoves> targetMoves) {
+      /*
+       * find all internal action transition from the state contained in sourceState
+       */
+      int stateId = sourceMoves.getConcreteStateId(participantId);
+      Collection<Transition> internalTransitions = concreteTransitionIndex.getTransitions(participantId, stateId,
+            ConcreteTransitionIndex.Kind.INTERNAL, -1);
+      if (internalTransitions.isEmpty()) {
+         return;
+      }
+
+      int[] targetStateIds = concreteTransitionIndex.getTargetStateIds(participantId, stateId,
+            ConcreteTransitionIndex.Kind.INTERNAL, -1);
+      int i = 0;
+      for (Transition transition : internalTransitions) {
+         /*
+          * change the state of the participant with the target state of it transition
+          */
+         State targetState = sourceState.withConcreteParticipantBehaviorState(
+               concreteTransitionIndex.getSymbolTable().getParticipant(participantId), transition.getTargetState());
+         /*
+          * create the InternalActionTransition
+          */
+         InternalActionTransition internalActionTransition = new InternalActionTransition(sourceState, targetState);
+         internalActionTransitions.add(internalActionTransition);
+         if (targetMoves != null) {
+            targetMoves.add(sourceMoves.withConcreteStateId(participantId, targetStateIds[i]));
+         }
+         i++;
+      }
+   }
+
    /**
     * Returns a {@link Collection} containing the intersection between {@code InputMessage}s of
     * {@code <i>participantMessages</i>} and {@code OutputMessage}s of {@code <i>otherParticipantMessages</i>}, by
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Set of state vectors of the same length (see {@link StateCodec}) stored outside of the Java heap, so that the heap
+ * footprint does not depend on the number of states. The vectors are stored one after the other in append-only pages,
+ * and they are found by means of an open addressing hash table of identifiers, which is stored outside of the heap as
+ * well. Each vector is identified by the order in which it was added, starting from zero.
+ *
+ * <p>
+ * The pages are either direct buffers, which are released when the store is garbage collected, or regions of a file
+ * mapped in memory, which is kept after the store is discarded. The file contains the vectors in the order of their
+ * identifiers, each one as {@link #getVectorLength()} big-endian integers, followed by zeros up to the end of the last
+ * page.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class OffHeapStateVectorStore implements StateVectorStorage {
+   private static final int PAGE_BYTES = 1 << 22;
+   /*
+    * a direct buffer holds less than 2^31 bytes
+    */
+   private static final int MAXIMUM_TABLE_LENGTH = 1 << 28;
+   private static final int MAXIMUM_SIZE = MAXIMUM_TABLE_LENGTH / 4 * 3;
+   private final int vectorLength;
+   private final int vectorsPerPage;
+   private final Path file;
+   private final int[] buffer;
+   private IntBuffer[] pages;
+   private int size;
+   /*
+    * identifier plus one of the vector in each bucket, zero for the empty buckets
+    */
+   private IntBuffer table;
+
+   /**
+    * Creates a store whose pages are direct buffers.
+    */
+   OffHeapStateVectorStore(final int vectorLength) {
+      this(vectorLength, Math.max(1, PAGE_BYTES / (vectorLength * Integer.BYTES)), null);
+   }
+
+   /**
+    * Creates a store whose pages are mapped from a new file in {@code <i>directory</i>}.
+    *
+    * @throws UncheckedIOException whether the file cannot be created
+    */
+   OffHeapStateVectorStore(final int vectorLength, final Path directory) {
+      this(vectorLength, Math.max(1, PAGE_BYTES / (vectorLength * Integer.BYTES)), createFile(directory));
+   }
+
+   OffHeapStateVectorStore(final int vectorLength, final int vectorsPerPage, final Path file) {
+      super();
+      this.vectorLength = vectorLength;
+      this.vectorsPerPage = vectorsPerPage;
+      this.file = file;
+      this.buffer = new int[vectorLength];
+      this.pages = new IntBuffer[16];
+      this.table = allocate(1024);
+   }
+
+   /**
+    * Returns the file from which the pages are mapped.
+    *
+    * @return the file, or null whether the pages are direct buffers
+    */
+   Path getFile() {
+      return file;
+   }
+
+   @Override
+   public int getVectorLength() {
+      return vectorLength;
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public int add(final int[] vector) {
+      int bucket = findBucket(vector);
+      if (table.get(bucket) != 0) {
+         return -table.get(bucket);
+      }
+      if (size >= MAXIMUM_SIZE) {
+         throw new IllegalStateException("The number of states exceeds the capacity of the store");
+      }
+      int id = size++;
+      int page = id / vectorsPerPage;
+      if (page == pages.length) {
+         pages = Arrays.copyOf(pages, pages.length * 2);
+      }
+      if (pages[page] == null) {
+         pages[page] = createPage(page);
+      }
+      int offset = (id % vectorsPerPage) * vectorLength;
+      for (int i = 0; i < vectorLength; i++) {
+         pages[page].put(offset + i, vector[i]);
+      }
+      table.put(bucket, id + 1);
+      if (size > table.capacity() / 4 * 3) {
+         resize();
+      }
+      return id;
+   }
+
+   @Override
+   public int indexOf(final int[] vector) {
+      return table.get(findBucket(vector)) - 1;
+   }
+
+   @Override
+   public void get(final int id, final int[] target) {
+      IntBuffer page = pages[id / vectorsPerPage];
+      int offset = (id % vectorsPerPage) * vectorLength;
+      for (int i = 0; i < vectorLength; i++) {
+         target[i] = page.get(offset + i);
+      }
+   }
+
+   private int findBucket(final int[] vector) {
+      int mask = table.capacity() - 1;
+      int bucket = StateVectorStore.hash(vector, 0, vectorLength) & mask;
+      while (table.get(bucket) != 0 && !equals(table.get(bucket) - 1, vector)) {
+         bucket = (bucket + 1) & mask;
+      }
+      return bucket;
+   }
+
+   private boolean equals(final int id, final int[] vector) {
+      IntBuffer page = pages[id / vectorsPerPage];
+      int offset = (id % vectorsPerPage) * vectorLength;
+      for (int i = 0; i < vectorLength; i++) {
+         if (page.get(offset + i) != vector[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private void resize() {
+      if (table.capacity() >= MAXIMUM_TABLE_LENGTH) {
+         return;
+      }
+      IntBuffer newTable = allocate(table.capacity() * 2);
+      int mask = newTable.capacity() - 1;
+      for (int id = 0; id < size; id++) {
+         get(id, buffer);
+         int bucket = StateVectorStore.hash(buffer, 0, vectorLength) & mask;
+         while (newTable.get(bucket) != 0) {
+            bucket = (bucket + 1) & mask;
+         }
+         newTable.put(bucket, id + 1);
+      }
+      table = newTable;
+   }
+
+   private IntBuffer createPage(final int page) {
+      int pageBytes = vectorsPerPage * vectorLength * Integer.BYTES;
+      if (file == null) {
+         return allocate(pageBytes / Integer.BYTES);
+      }
+      /*
+       * the mapping remains valid after the channel is closed
+       */
+      try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+         return fileChannel.map(MapMode.READ_WRITE, (long) page * pageBytes, pageBytes).asIntBuffer();
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+
+   private static IntBuffer allocate(final int length) {
+      return ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+   }
+
+   private static Path createFile(final Path directory) {
+      try {
+         return Files.createTempFile(directory, "states", ".vectors");
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+   }
+}
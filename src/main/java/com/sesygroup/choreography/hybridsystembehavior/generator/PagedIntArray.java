@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+
+/**
+ * Growable array of integers stored in pages, so that it can hold more than {@link Integer#MAX_VALUE} elements and
+ * it never copies its elements when growing.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class PagedIntArray {
+   private static final int PAGE_BITS = 16;
+   private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+   private int[][] pages = new int[16][];
+   private long size;
+
+   void add(final int value) {
+      int page = (int) (size >>> PAGE_BITS);
+      if (page == pages.length) {
+         pages = Arrays.copyOf(pages, pages.length * 2);
+      }
+      if (pages[page] == null) {
+         pages[page] = new int[1 << PAGE_BITS];
+      }
+      pages[page][(int) (size & PAGE_MASK)] = value;
+      size++;
+   }
+
+   int get(final long index) {
+      if (index < 0 || index >= size) {
+         throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      return pages[(int) (index >>> PAGE_BITS)][(int) (index & PAGE_MASK)];
+   }
+
+   long size() {
+      return size;
+   }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Level-synchronous breadth-first explorer. The states of each level are expanded in parallel by a
+ * {@link ForkJoinPool}: the discovered states are deduplicated through a {@link ConcurrentStateTable}, whereas the
+ * transitions found by each expansion are kept apart and merged into the hybrid system behavior, by the calling
+ * thread, once the whole level has been expanded. The states discovered in a level form the next level.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class ParallelBreadthFirstExplorer extends AbstractExplorer {
+   /*
+    * number of leaf tasks per worker thread in which a level is split, so that the workers can balance the load of
+    * states having a different number of outgoing transitions
+    */
+   private static final int TASKS_PER_THREAD = 8;
+   private final int parallelism;
+
+   ParallelBreadthFirstExplorer(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final int parallelism) {
+      super(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      this.parallelism = parallelism;
+   }
+
+   @Override
+   public HybridSystemBehavior explore() {
+      HybridSystemBehavior hybridSystemBehavior = new HybridSystemBehavior(participantToConcreteParticipantBehaviorMap);
+      ConcurrentStateTable canonicalStates = new ConcurrentStateTable(parallelism);
+
+      State initialState = createInitialState();
+      hybridSystemBehavior.setInitialState(initialState);
+      hybridSystemBehavior.getStates().add(initialState);
+      canonicalStates.putIfAbsent(initialState);
+
+      ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+      try {
+         List<State> level = Collections.singletonList(initialState);
+         while (!level.isEmpty()) {
+            Expansion[] expansions = new Expansion[level.size()];
+            forkJoinPool.invoke(new ExpandLevelAction(level, expansions, canonicalStates, 0, level.size(),
+                  Math.max(1, level.size() / (parallelism * TASKS_PER_THREAD))));
+
+            /*
+             * merge step: performed by a single thread, in the order of the states of the level
+             */
+            List<State> nextLevel = new ArrayList<State>();
+            for (Expansion expansion : expansions) {
+               hybridSystemBehavior.getTransitions().addAll(expansion.transitions);
+               hybridSystemBehavior.getStates().addAll(expansion.discoveredStates);
+               nextLevel.addAll(expansion.discoveredStates);
+            }
+            level = nextLevel;
+         }
+      } finally {
+         forkJoinPool.shutdown();
+      }
+
+      return hybridSystemBehavior;
+   }
+
+   /**
+    * The transitions outgoing from a state and the target states discovered for the first time by the expansion.
+    */
+   private static final class Expansion {
+      private final Collection<Transition> transitions;
+      private final List<State> discoveredStates;
+
+      Expansion(final Collection<Transition> transitions, final List<State> discoveredStates) {
+         this.transitions = transitions;
+         this.discoveredStates = discoveredStates;
+      }
+   }
+
+   /**
+    * Expands the states of a level in the range [from, to), splitting the range as long as it is greater than the
+    * threshold.
+    */
+   private final class ExpandLevelAction extends RecursiveAction {
+      private static final long serialVersionUID = -2436190218861394536L;
+      private final List<State> level;
+      private final Expansion[] expansions;
+      private final ConcurrentStateTable canonicalStates;
+      private final int from;
+      private final int to;
+      private final int threshold;
+
+      ExpandLevelAction(final List<State> level, final Expansion[] expansions,
+            final ConcurrentStateTable canonicalStates, final int from, final int to, final int threshold) {
+         this.level = level;
+         this.expansions = expansions;
+         this.canonicalStates = canonicalStates;
+         this.from = from;
+         this.to = to;
+         this.threshold = threshold;
+      }
+
+      @Override
+      protected void compute() {
+         if (to - from > threshold) {
+            int middle = (from + to) >>> 1;
+            invokeAll(new ExpandLevelAction(level, expansions, canonicalStates, from, middle, threshold),
+                  new ExpandLevelAction(level, expansions, canonicalStates, middle, to, threshold));
+         } else {
+            for (int i = from; i < to; i++) {
+               expansions[i] = expand(level.get(i));
+            }
+         }
+      }
+
+      private Expansion expand(final State sourceState) {
+         Collection<Transition> transitions = findTransitions(sourceState);
+         List<State> discoveredStates = new ArrayList<State>();
+         for (Transition transition : transitions) {
+            State storedTargetState = canonicalStates.putIfAbsent(transition.getTargetState());
+            if (storedTargetState == null) {
+               discoveredStates.add(transition.getTargetState());
+            } else {
+               transition.setTargetState(storedTargetState);
+            }
+         }
+         return new Expansion(transitions, discoveredStates);
+      }
+   }
+}
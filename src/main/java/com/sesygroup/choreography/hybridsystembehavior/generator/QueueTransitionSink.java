@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.sesygroup.choreography.hybridsystembehavior.Validation;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+
+/**
+ * Sink that forwards the transitions it receives to a bounded queue, from which they are taken by other threads: the
+ * generation waits whenever the queue is full, so that it does not outpace the consumers. Once the generation is over,
+ * the sink must be closed to let the consumers know that no other transition will come.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class QueueTransitionSink implements TransitionSink, AutoCloseable {
+   /*
+    * put in the queue by close(), and put back by each consumer that takes it so that every consumer sees it
+    */
+   private static final Transition END = new InternalActionTransition();
+   private final BlockingQueue<Transition> queue;
+
+   /**
+    * @param capacity the number of transitions that the queue can hold, must be greater than or equal to one
+    */
+   public QueueTransitionSink(final int capacity) {
+      super();
+      Validation.validateQueueCapacity(capacity);
+      queue = new ArrayBlockingQueue<Transition>(capacity);
+   }
+
+   /**
+    * Puts {@code <i>transition</i>} in the queue, waiting whether the queue is full.
+    *
+    * @throws IllegalStateException whether the generating thread is interrupted while waiting, which stops the
+    * generation; the interrupt status of the thread is kept
+    */
+   @Override
+   public void accept(final Transition transition) {
+      put(transition);
+   }
+
+   /**
+    * Takes the next transition from the queue, waiting whether the queue is empty.
+    *
+    * @return the next transition, or null whether the sink has been closed and all its transitions have been taken
+    * @throws InterruptedException whether the consuming thread is interrupted while waiting
+    */
+   public Transition take() throws InterruptedException {
+      Transition transition = queue.take();
+      if (transition == END) {
+         /*
+          * the slot just freed guarantees room for the other consumers to see the end
+          */
+         queue.offer(END);
+         return null;
+      }
+      return transition;
+   }
+
+   /**
+    * Lets the consumers know that no other transition will come, waiting whether the queue is full.
+    */
+   @Override
+   public void close() {
+      put(END);
+   }
+
+   private void put(final Transition transition) {
+      try {
+         queue.put(transition);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new IllegalStateException("Interrupted while waiting for room in the queue", e);
+      }
+   }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Breadth-first explorer performed by the calling thread.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class SequentialExplorer extends AbstractExplorer {
+   private final Logger logger = LoggerFactory.getLogger(SequentialExplorer.class);
+
+   SequentialExplorer(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap) {
+      super(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+   }
+
+   @Override
+   public HybridSystemBehavior explore() {
+      HybridSystemBehavior hybridSystemBehavior = new HybridSystemBehavior(participantToConcreteParticipantBehaviorMap);
+      /*
+       * canonical index from each discovered state to the instance stored in the hybrid system behavior; a state is
+       * put in the queue of source states to be check only the first time it is discovered, therefore every state is
+       * verified exactly once. Stored states are frozen, so their hash code is computed only once
+       */
+      Map<State, State> canonicalStates = new HashMap<State, State>();
+      Queue<State> sourceStatesToBeCheck = new ArrayDeque<State>();
+      /*
+       * the summary of each state to be check (see EnabledMoves), in the same order of the states: the summary of a
+       * state is derived from the one of the state from which it is discovered
+       */
+      Queue<EnabledMoves> sourceMovesToBeCheck = new ArrayDeque<EnabledMoves>();
+      /*
+       * the transitions outgoing from the state being checked and the summaries of their target states, the buffers
+       * are reused for all the states
+       */
+      List<Transition> transitions = new ArrayList<Transition>();
+      List<EnabledMoves> targetMoves = new ArrayList<EnabledMoves>();
+
+      /*
+       * FIRST STEP: create initial state
+       */
+      State initialState = createInitialState();
+      hybridSystemBehavior.setInitialState(initialState);
+      canonicalStates.put(initialState, initialState);
+      hybridSystemBehavior.getStates().add(initialState);
+      sourceStatesToBeCheck.add(initialState);
+      sourceMovesToBeCheck.add(EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), initialState));
+
+      /*
+       * ITERATION STEP: find and add all states and transitions as long as we have a source states to be check; the
+       * queue holds the states of at most two consecutive levels, the ones of the current level come first
+       */
+      ExplorationBudget explorationBudget = explorationLimits == null
+            ? null
+            : new ExplorationBudget(explorationLimits);
+      int depth = 0;
+      int levelStateCount = 1;
+      while (!sourceStatesToBeCheck.isEmpty()) {
+         if (levelStateCount == 0) {
+            depth++;
+            levelStateCount = sourceStatesToBeCheck.size();
+         }
+         if (explorationBudget != null) {
+            StopReason limitReason = explorationBudget.check(hybridSystemBehavior.getStates().size(),
+                  hybridSystemBehavior.getTransitions().size(), depth);
+            if (limitReason != null) {
+               stopReason = limitReason;
+               frontier = Collections.unmodifiableSet(new LinkedHashSet<State>(sourceStatesToBeCheck));
+               logger.info("Stopped at depth {} with {} states to be checked: {}", depth, frontier.size(),
+                     stopReason);
+               return hybridSystemBehavior;
+            }
+         }
+         levelStateCount--;
+         State sourceState = sourceStatesToBeCheck.poll();
+         transitions.clear();
+         targetMoves.clear();
+         findTransitions(sourceState, sourceMovesToBeCheck.poll(), transitions, targetMoves);
+         for (int i = 0; i < transitions.size(); i++) {
+            if (manageTransition(transitions.get(i), hybridSystemBehavior, canonicalStates, sourceStatesToBeCheck)) {
+               sourceMovesToBeCheck.add(targetMoves.get(i));
+            }
+         }
+      }
+
+      return hybridSystemBehavior;
+   }
+
+   /*
+    * returns whether the target state of the transition is discovered, and then added to the states to be check
+    */
+   private boolean manageTransition(final Transition transition, final HybridSystemBehavior hybridSystemBehavior,
+         final Map<State, State> canonicalStates, final Queue<State> sourceStatesToCheck) {
+      /*
+       * the target state is replaced with the stored instance before the transition is added to the set of
+       * transitions, therefore equal transitions always share the same (frozen) source and target instances
+       */
+      State storedTargetState = canonicalStates.putIfAbsent(transition.getTargetState(), transition.getTargetState());
+      if (storedTargetState == null) {
+         hybridSystemBehavior.getStates().add(transition.getTargetState());
+         sourceStatesToCheck.add(transition.getTargetState());
+      } else {
+         logger.debug("The target state {} of the transition {} already exists in the set of hybrid system behavior"
+               + " states, therefore the target state will be changed with the existing one",
+               transition.getTargetState(), transition);
+         transition.setTargetState(storedTargetState);
+      }
+
+      if (!hybridSystemBehavior.getTransitions().add(transition)) {
+         logger.debug("The transition {} already exists in the set of transitions, therefore the transition it is not"
+               + " added", transition);
+      }
+      return storedTargetState == null;
+   }
+}
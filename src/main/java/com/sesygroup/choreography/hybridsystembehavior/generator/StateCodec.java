@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Encodes a hybrid system behavior {@link State} as a vector of integers, and decodes it back. The vector has a fixed
+ * length and it contains:
+ * <ul>
+ * <li>for each participant, the identifier of its concrete state in the {@link SymbolTable};</li>
+ * <li>for each participant having a message queue with capacity greater than zero, the number of messages in the
+ * queue followed by the identifier of each message, from the head to the tail, and zero for the empty slots.</li>
+ * </ul>
+ * Participants are ordered as in the participant to concrete participant behavior map, and messages are identified by
+ * the identifier of their name, consistently with {@link MessageQueue#equals(Object)}. Therefore two states are equal
+ * if and only if their vectors are equal.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class StateCodec {
+   private final SymbolTable symbolTable;
+   private final int[] messageQueueCapacities;
+   private final int[] messageQueueOffsets;
+   private final int vectorLength;
+
+   public StateCodec(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap) {
+      this(new SymbolTable(participantToConcreteParticipantBehaviorMap), participantToMessageQueueSizeMap);
+   }
+
+   /**
+    * Creates a codec where participants, concrete states and messages are identified by {@code <i>symbolTable</i>}.
+    *
+    * @param symbolTable the symbol table of the concrete participant behaviors, must not be null
+    * @param participantToMessageQueueSizeMap the capacity of the message queue of each participant, must not be null
+    */
+   public StateCodec(final SymbolTable symbolTable, final Map<Participant, Integer> participantToMessageQueueSizeMap) {
+      super();
+      this.symbolTable = symbolTable;
+      messageQueueCapacities = new int[symbolTable.getParticipantCount()];
+      messageQueueOffsets = new int[symbolTable.getParticipantCount()];
+
+      int offset = symbolTable.getParticipantCount();
+      for (int i = 0; i < symbolTable.getParticipantCount(); i++) {
+         Integer messageQueueSize = participantToMessageQueueSizeMap.get(symbolTable.getParticipant(i));
+         messageQueueCapacities[i] = messageQueueSize == null
+               ? 0
+               : messageQueueSize;
+         messageQueueOffsets[i] = offset;
+         if (messageQueueCapacities[i] != 0) {
+            offset += 1 + messageQueueCapacities[i];
+         }
+      }
+      vectorLength = offset;
+   }
+
+   public SymbolTable getSymbolTable() {
+      return symbolTable;
+   }
+
+   /**
+    * Returns the length of the vectors produced by this codec.
+    *
+    * @return the length of the vectors
+    */
+   public int getVectorLength() {
+      return vectorLength;
+   }
+
+   /**
+    * Returns the capacity of the message queue of the participant identified by {@code <i>participantId</i>}; the
+    * message queue is encoded only whether its capacity is greater than zero.
+    */
+   int getMessageQueueCapacity(final int participantId) {
+      return messageQueueCapacities[participantId];
+   }
+
+   /**
+    * Returns the position of the vector holding the number of messages in the message queue of the participant
+    * identified by {@code <i>participantId</i>}, followed by the identifiers of the messages from the head to the tail.
+    */
+   int getMessageQueueOffset(final int participantId) {
+      return messageQueueOffsets[participantId];
+   }
+
+   /**
+    * Returns, for each participant, the positions of the vector encoding its concrete state and its message queue.
+    *
+    * @return the positions of the vector of each participant, in the participant order
+    */
+   int[][] getParticipantPositions() {
+      int[][] participantPositions = new int[symbolTable.getParticipantCount()][];
+      for (int i = 0; i < symbolTable.getParticipantCount(); i++) {
+         int queueLength = messageQueueCapacities[i] != 0
+               ? 1 + messageQueueCapacities[i]
+               : 0;
+         participantPositions[i] = new int[1 + queueLength];
+         participantPositions[i][0] = i;
+         for (int j = 0; j < queueLength; j++) {
+            participantPositions[i][1 + j] = messageQueueOffsets[i] + j;
+         }
+      }
+      return participantPositions;
+   }
+
+   /**
+    * Encodes {@code <i>state</i>} in a new vector.
+    *
+    * @param state the state to be encoded, must not be null
+    * @return the vector encoding the state
+    * @throws IllegalArgumentException whether the state contains participants, concrete states or messages that are
+    * not defined by the concrete participant behaviors, or a message queue with more messages than its capacity
+    */
+   public int[] encode(final State state) {
+      int[] vector = new int[vectorLength];
+      encode(state, vector, 0);
+      return vector;
+   }
+
+   /**
+    * Encodes {@code <i>state</i>} in {@code <i>vector</i>}, starting from {@code <i>offset</i>}.
+    *
+    * @param state the state to be encoded, must not be null
+    * @param vector the vector in which the state is encoded, must not be null
+    * @param offset the position of the vector from which the state is encoded
+    * @throws IllegalArgumentException whether the state contains participants, concrete states or messages that are
+    * not defined by the concrete participant behaviors, or a message queue with more messages than its capacity
+    */
+   public void encode(final State state, final int[] vector, final int offset) {
+      if (!tryEncode(state, vector, offset)) {
+         throw new IllegalArgumentException("The state " + state + " cannot be encoded");
+      }
+   }
+
+   /**
+    * Same as {@link #encode(State, int[], int)}, but it returns false instead of throwing an exception whether the
+    * state cannot be encoded.
+    */
+   boolean tryEncode(final State state, final int[] vector, final int offset) {
+      if (state.getParticipantToConcreteParticipantBehaviorStateMap().size() != symbolTable.getParticipantCount()
+            || state.getParticipantToMessageQueueMap().size() != symbolTable.getParticipantCount()) {
+         return false;
+      }
+      for (int i = 0; i < symbolTable.getParticipantCount(); i++) {
+         Participant participant = symbolTable.getParticipant(i);
+         int concreteStateId = symbolTable.getConcreteStateId(i,
+               state.getParticipantToConcreteParticipantBehaviorStateMap().get(participant));
+         MessageQueue messageQueue = state.getParticipantToMessageQueueMap().get(participant);
+         if (concreteStateId < 0 || messageQueue == null) {
+            return false;
+         }
+         vector[offset + i] = concreteStateId;
+
+         if (messageQueueCapacities[i] != 0) {
+            Queue<Message> queue = messageQueue.getQueue();
+            int queueOffset = offset + messageQueueOffsets[i];
+            int size = queue == null
+                  ? 0
+                  : queue.size();
+            if (size > messageQueueCapacities[i]) {
+               return false;
+            }
+            vector[queueOffset] = size;
+            int slot = queueOffset + 1;
+            if (queue != null) {
+               for (Message message : queue) {
+                  int messageId = symbolTable.getMessageId(message.getName());
+                  if (messageId < 0) {
+                     return false;
+                  }
+                  vector[slot++] = messageId;
+               }
+            }
+            while (slot <= queueOffset + messageQueueCapacities[i]) {
+               vector[slot++] = 0;
+            }
+         } else if (messageQueue.getQueue() != null && !messageQueue.getQueue().isEmpty()) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Decodes the state encoded in {@code <i>vector</i>}.
+    *
+    * @param vector the vector encoding the state, must not be null
+    * @return a new frozen state
+    */
+   public State decode(final int[] vector) {
+      return decode(vector, 0);
+   }
+
+   /**
+    * Decodes the state encoded in {@code <i>vector</i>}, starting from {@code <i>offset</i>}.
+    *
+    * @param vector the vector encoding the state, must not be null
+    * @param offset the position of the vector from which the state is encoded
+    * @return a new frozen state, whose message queues are packed whether they fit (see
+    * {@link MessageQueue#packedCopy})
+    */
+   public State decode(final int[] vector, final int offset) {
+      Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantToConcreteParticipantBehaviorStateMap
+            = new LinkedHashMap<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State>();
+      Map<Participant, MessageQueue> participantToMessageQueueMap = new LinkedHashMap<Participant, MessageQueue>();
+
+      for (int i = 0; i < symbolTable.getParticipantCount(); i++) {
+         participantToConcreteParticipantBehaviorStateMap.put(symbolTable.getParticipant(i),
+               symbolTable.getConcreteState(i, vector[offset + i]));
+
+         MessageQueue messageQueue = new MessageQueue();
+         messageQueue.setCapacity(messageQueueCapacities[i]);
+         if (messageQueueCapacities[i] != 0) {
+            int queueOffset = offset + messageQueueOffsets[i];
+            Queue<Message> queue = new ArrayDeque<Message>(vector[queueOffset]);
+            for (int slot = queueOffset + 1; slot <= queueOffset + vector[queueOffset]; slot++) {
+               queue.add(getMessage(vector[slot]));
+            }
+            messageQueue.setQueue(queue);
+         }
+         participantToMessageQueueMap.put(symbolTable.getParticipant(i),
+               messageQueue.packedCopy(symbolTable.getMessageAlphabet()));
+      }
+
+      State state = new State(participantToConcreteParticipantBehaviorStateMap, participantToMessageQueueMap);
+      state.freeze();
+      return state;
+   }
+
+   private Message getMessage(final int messageId) {
+      return symbolTable.getMessageAlphabet().getMessage(messageId);
+   }
+}
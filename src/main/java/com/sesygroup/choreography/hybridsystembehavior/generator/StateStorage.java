@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * The ways in which the {@link HybridSystemBehaviorGenerator} stores the reachable states.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public enum StateStorage {
+   /**
+    * Each state is stored as a {@link com.sesygroup.choreography.hybridsystembehavior.model.State} object, and each
+    * transition as a {@link com.sesygroup.choreography.hybridsystembehavior.model.Transition} object.
+    */
+   OBJECT,
+   /**
+    * Each state is stored as a vector of integers (see {@link StateCodec}), and each transition as three integers.
+    * The states and the transitions of the generated hybrid system behavior are read-only sets that decode their
+    * elements on demand. Only the {@link ExplorationStrategy#SEQUENTIAL} exploration strategy supports this storage.
+    */
+   ENCODED,
+   /**
+    * Same as {@link #ENCODED}, but the vectors are stored with collapse compression: the concrete state and the
+    * message queue of each participant are stored once in a table of distinct components, and each state is stored as
+    * the tuple of the identifiers of its components (see
+    * {@link HybridSystemBehaviorGenerator#getCompressionRatio()}). The states and the transitions of the generated
+    * hybrid system behavior share the buffers of the store, therefore they must be read by one thread at a time.
+    */
+   COLLAPSED,
+   /**
+    * Same as {@link #ENCODED}, but the vectors and their hash table are stored outside of the Java heap, either in
+    * direct buffers or in a file mapped in memory which is kept after the generation (see
+    * {@link HybridSystemBehaviorGenerator#setStateVectorDirectory(java.nio.file.Path)}).
+    */
+   OFF_HEAP
+}
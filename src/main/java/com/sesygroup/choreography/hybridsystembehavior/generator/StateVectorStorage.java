@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Set of state vectors of the same length (see {@link StateCodec}), where each vector is identified by the order in
+ * which it was added, starting from zero.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+interface StateVectorStorage {
+
+   int getVectorLength();
+
+   int size();
+
+   /**
+    * Adds {@code <i>vector</i>} whether it is not already contained.
+    *
+    * @return the identifier of the added vector, or minus one minus the identifier of the contained vector
+    */
+   int add(int[] vector);
+
+   /**
+    * Returns the identifier of {@code <i>vector</i>}, minus one whether it is not contained.
+    */
+   int indexOf(int[] vector);
+
+   /**
+    * Copies the vector identified by {@code <i>id</i>} in {@code <i>target</i>}.
+    */
+   void get(int id, int[] target);
+}
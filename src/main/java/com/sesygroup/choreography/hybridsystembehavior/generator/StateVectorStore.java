@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+
+/**
+ * Set of state vectors of the same length (see {@link StateCodec}), stored one after the other in pages of integers.
+ * Each vector is identified by the order in which it was added, starting from zero, and it is found by means of an
+ * open addressing hash table of identifiers; no object is allocated per vector.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class StateVectorStore implements StateVectorStorage {
+   private static final int PAGE_BITS = 12;
+   private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+   private static final int MAXIMUM_TABLE_LENGTH = 1 << 30;
+   private static final int MAXIMUM_SIZE = MAXIMUM_TABLE_LENGTH / 4 * 3;
+   private final int vectorLength;
+   private int[][] pages;
+   private int size;
+   /*
+    * identifier plus one of the vector in each bucket, zero for the empty buckets
+    */
+   private int[] table;
+
+   StateVectorStore(final int vectorLength) {
+      super();
+      this.vectorLength = vectorLength;
+      this.pages = new int[16][];
+      this.table = new int[1024];
+   }
+
+   @Override
+   public int getVectorLength() {
+      return vectorLength;
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public int add(final int[] vector) {
+      int bucket = findBucket(vector);
+      if (table[bucket] != 0) {
+         return -table[bucket];
+      }
+      if (size >= MAXIMUM_SIZE) {
+         throw new IllegalStateException("The number of states exceeds the capacity of the store");
+      }
+      int id = size++;
+      int page = id >>> PAGE_BITS;
+      if (page == pages.length) {
+         pages = Arrays.copyOf(pages, pages.length * 2);
+      }
+      if (pages[page] == null) {
+         pages[page] = new int[vectorLength << PAGE_BITS];
+      }
+      System.arraycopy(vector, 0, pages[page], (id & PAGE_MASK) * vectorLength, vectorLength);
+      table[bucket] = id + 1;
+      if (size > table.length / 4 * 3) {
+         resize();
+      }
+      return id;
+   }
+
+   @Override
+   public int indexOf(final int[] vector) {
+      return table[findBucket(vector)] - 1;
+   }
+
+   @Override
+   public void get(final int id, final int[] target) {
+      System.arraycopy(pages[id >>> PAGE_BITS], (id & PAGE_MASK) * vectorLength, target, 0, vectorLength);
+   }
+
+   private int findBucket(final int[] vector) {
+      int mask = table.length - 1;
+      int bucket = hash(vector, 0, vectorLength) & mask;
+      while (table[bucket] != 0 && !equals(table[bucket] - 1, vector)) {
+         bucket = (bucket + 1) & mask;
+      }
+      return bucket;
+   }
+
+   private boolean equals(final int id, final int[] vector) {
+      int[] page = pages[id >>> PAGE_BITS];
+      int offset = (id & PAGE_MASK) * vectorLength;
+      for (int i = 0; i < vectorLength; i++) {
+         if (page[offset + i] != vector[i]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private void resize() {
+      if (table.length >= MAXIMUM_TABLE_LENGTH) {
+         return;
+      }
+      int[] newTable = new int[table.length * 2];
+      int mask = newTable.length - 1;
+      for (int id = 0; id < size; id++) {
+         int bucket = hash(pages[id >>> PAGE_BITS], (id & PAGE_MASK) * vectorLength, vectorLength) & mask;
+         while (newTable[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+         }
+         newTable[bucket] = id + 1;
+      }
+      table = newTable;
+   }
+
+   /*
+    * MurmurHash3 (32 bit) of the vector, the elements of the vectors are usually small integers
+    */
+   static int hash(final int[] array, final int offset, final int vectorLength) {
+      int hash = 0;
+      for (int i = offset; i < offset + vectorLength; i++) {
+         int element = array[i] * 0xcc9e2d51;
+         element = Integer.rotateLeft(element, 15) * 0x1b873593;
+         hash = Integer.rotateLeft(hash ^ element, 13) * 5 + 0xe6546b64;
+      }
+      hash ^= vectorLength;
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      hash ^= hash >>> 16;
+      return hash;
+   }
+}
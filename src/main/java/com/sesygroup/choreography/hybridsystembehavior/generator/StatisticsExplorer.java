@@ -0,0 +1,247 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.hybridsystembehavior.Validation;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ * Breadth-first explorer performed by the calling thread, which only counts the states and the transitions: the
+ * successors of each state vector (see {@link StateCodec}) are computed directly on the vector, with the same semantics
+ * of {@link HybridSystemBehaviorGeneratorUtils#findTransitions(ConcreteTransitionIndex,
+ * com.sesygroup.choreography.hybridsystembehavior.model.State)}, therefore neither states nor transitions are created
+ * as objects, and the only memory growing with the exploration is the store of the visited state vectors.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class StatisticsExplorer {
+   private static final int[] NO_TARGET_STATE_IDS = new int[0];
+   private final ConcreteTransitionIndex concreteTransitionIndex;
+   private final StateCodec stateCodec;
+   private final int[] initialStateVector;
+   private final StateStorage stateStorage;
+   private final Path stateVectorDirectory;
+   /*
+    * for each participant and concrete state, the identifiers of the target concrete states of the transitions of each
+    * kind exchanging each message, at position kind * (messageCount + 1) + messageId + 1
+    */
+   private final int[][][][] targetStateIds;
+   private final int kindStride;
+
+   /**
+    * @param stateStorage how the state vectors are stored (see
+    * {@link EncodedExplorer#createStateVectorStore(StateStorage, StateCodec, Path)})
+    * @param stateVectorDirectory the directory of the file in which the {@link StateStorage#OFF_HEAP} state storage
+    * maps the state vectors, null to store them in direct buffers
+    */
+   StatisticsExplorer(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final StateStorage stateStorage,
+         final Path stateVectorDirectory) {
+      super();
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(), participantToMessageQueueSizeMap);
+      initialStateVector = stateCodec.encode(AbstractExplorer.createInitialState(concreteTransitionIndex,
+            participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap));
+      this.stateStorage = stateStorage;
+      this.stateVectorDirectory = stateVectorDirectory;
+
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      kindStride = symbolTable.getMessageCount() + 1;
+      targetStateIds = new int[symbolTable.getParticipantCount()][][][];
+      for (int participantId = 0; participantId < symbolTable.getParticipantCount(); participantId++) {
+         targetStateIds[participantId] = new int[symbolTable.getConcreteStateCount(participantId)][][];
+         for (int stateId = 0; stateId < symbolTable.getConcreteStateCount(participantId); stateId++) {
+            targetStateIds[participantId][stateId] = new int[ConcreteTransitionIndex.Kind.values().length
+                  * kindStride][];
+            for (ConcreteTransitionIndex.Kind kind : ConcreteTransitionIndex.Kind.values()) {
+               for (int messageId = -1; messageId < symbolTable.getMessageCount(); messageId++) {
+                  List<Transition> transitions = concreteTransitionIndex.getTransitions(participantId, stateId, kind,
+                        messageId);
+                  int[] ids = NO_TARGET_STATE_IDS;
+                  if (!transitions.isEmpty()) {
+                     ids = new int[transitions.size()];
+                     for (int i = 0; i < ids.length; i++) {
+                        ids[i] = symbolTable.getConcreteStateId(participantId, transitions.get(i).getTargetState());
+                     }
+                  }
+                  targetStateIds[participantId][stateId][kind.ordinal() * kindStride + messageId + 1] = ids;
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Explores the states reachable from the initial state, counting them and their outgoing transitions.
+    *
+    * @return the statistics of the exploration
+    */
+   public GenerationStatistics explore() {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int participantCount = symbolTable.getParticipantCount();
+      int channelCount = concreteTransitionIndex.getCommunicationChannels().size();
+      StateVectorStorage stateVectorStore = EncodedExplorer.createStateVectorStore(stateStorage, stateCodec,
+            stateVectorDirectory);
+      int vectorLength = stateCodec.getVectorLength();
+      int[] sourceVector = new int[vectorLength];
+      int[] targetVector = new int[vectorLength];
+      long asynchSendActTransitionCount = 0;
+      long asynchReceiveActAndMsgConsumptionTransitionCount = 0;
+      long synchSendReceiveActAndMsgConsumptionTransitionCount = 0;
+      long internalActionTransitionCount = 0;
+      int maximumMessageQueueFill = 0;
+      long deadlockStateCount = 0;
+
+      stateVectorStore.add(initialStateVector);
+      for (int sourceStateId = 0; sourceStateId < stateVectorStore.size(); sourceStateId++) {
+         stateVectorStore.get(sourceStateId, sourceVector);
+         long transitionCount = 0;
+
+         /*
+          * asynchronous send: for each communication channel from the participant i to the participant j for the
+          * message m, whether the queue of the participant j is not full, put m at its tail
+          */
+         for (int channelIndex = 0; channelIndex < channelCount; channelIndex++) {
+            int senderParticipantId = concreteTransitionIndex.getSenderParticipantId(channelIndex);
+            int receiverParticipantId = concreteTransitionIndex.getReceiverParticipantId(channelIndex);
+            int messageId = concreteTransitionIndex.getMessageId(channelIndex);
+            int[] ids = getTargetStateIds(senderParticipantId, sourceVector[senderParticipantId],
+                  ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, messageId);
+            int queueOffset = stateCodec.getMessageQueueOffset(receiverParticipantId);
+            if (ids.length == 0 || stateCodec.getMessageQueueCapacity(receiverParticipantId) == 0
+                  || sourceVector[queueOffset] >= stateCodec.getMessageQueueCapacity(receiverParticipantId)) {
+               continue;
+            }
+            for (int targetStateId : ids) {
+               System.arraycopy(sourceVector, 0, targetVector, 0, vectorLength);
+               targetVector[senderParticipantId] = targetStateId;
+               targetVector[queueOffset + 1 + sourceVector[queueOffset]] = messageId;
+               targetVector[queueOffset]++;
+               stateVectorStore.add(targetVector);
+            }
+            asynchSendActTransitionCount += ids.length;
+            transitionCount += ids.length;
+         }
+
+         /*
+          * asynchronous receive: whether the message at the head of the queue of the participant j is one of its input
+          * messages, consume it; the fill of the queues is measured here as well
+          */
+         for (int participantId = 0; participantId < participantCount; participantId++) {
+            int queueOffset = stateCodec.getMessageQueueOffset(participantId);
+            if (stateCodec.getMessageQueueCapacity(participantId) == 0 || sourceVector[queueOffset] == 0) {
+               continue;
+            }
+            maximumMessageQueueFill = Math.max(maximumMessageQueueFill, sourceVector[queueOffset]);
+            int headMessageId = sourceVector[queueOffset + 1];
+            if (!symbolTable.isInputMessage(participantId, headMessageId)) {
+               continue;
+            }
+            int[] ids = getTargetStateIds(participantId, sourceVector[participantId],
+                  ConcreteTransitionIndex.Kind.ASYNCHRONOUS_RECEIVE, headMessageId);
+            for (int targetStateId : ids) {
+               System.arraycopy(sourceVector, 0, targetVector, 0, vectorLength);
+               targetVector[participantId] = targetStateId;
+               System.arraycopy(sourceVector, queueOffset + 2, targetVector, queueOffset + 1,
+                     sourceVector[queueOffset] - 1);
+               targetVector[queueOffset + sourceVector[queueOffset]] = 0;
+               targetVector[queueOffset]--;
+               stateVectorStore.add(targetVector);
+            }
+            asynchReceiveActAndMsgConsumptionTransitionCount += ids.length;
+            transitionCount += ids.length;
+         }
+
+         /*
+          * synchronous send and receive: for each communication channel from the participant i to the participant j
+          * for the message m, whether both participants exchange m synchronously
+          */
+         for (int channelIndex = 0; channelIndex < channelCount; channelIndex++) {
+            int senderParticipantId = concreteTransitionIndex.getSenderParticipantId(channelIndex);
+            int receiverParticipantId = concreteTransitionIndex.getReceiverParticipantId(channelIndex);
+            int messageId = concreteTransitionIndex.getMessageId(channelIndex);
+            int[] sendIds = getTargetStateIds(senderParticipantId, sourceVector[senderParticipantId],
+                  ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, messageId);
+            int[] receiveIds = getTargetStateIds(receiverParticipantId, sourceVector[receiverParticipantId],
+                  ConcreteTransitionIndex.Kind.SYNCHRONOUS_RECEIVE, messageId);
+            if (sendIds.length > 1 || receiveIds.length > 1) {
+               Validation.validateFoundedSynchronousSendReceiveActionTransition(
+                     concreteTransitionIndex.getTransitions(senderParticipantId, sourceVector[senderParticipantId],
+                           ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, messageId),
+                     concreteTransitionIndex.getTransitions(receiverParticipantId,
+                           sourceVector[receiverParticipantId], ConcreteTransitionIndex.Kind.SYNCHRONOUS_RECEIVE,
+                           messageId));
+            }
+            if (sendIds.length == 0 || receiveIds.length == 0) {
+               continue;
+            }
+            System.arraycopy(sourceVector, 0, targetVector, 0, vectorLength);
+            targetVector[senderParticipantId] = sendIds[0];
+            targetVector[receiverParticipantId] = receiveIds[0];
+            stateVectorStore.add(targetVector);
+            synchSendReceiveActAndMsgConsumptionTransitionCount++;
+            transitionCount++;
+         }
+
+         /*
+          * internal: change the state of a single participant
+          */
+         boolean selfLoopCounted = false;
+         for (int participantId = 0; participantId < participantCount; participantId++) {
+            int[] ids = getTargetStateIds(participantId, sourceVector[participantId],
+                  ConcreteTransitionIndex.Kind.INTERNAL, -1);
+            for (int targetStateId : ids) {
+               /*
+                * an internal transition is identified by its source and target states only, therefore the internal
+                * self-loops of several participants are the same transition of the hybrid system behavior
+                */
+               if (targetStateId == sourceVector[participantId]) {
+                  if (selfLoopCounted) {
+                     continue;
+                  }
+                  selfLoopCounted = true;
+               } else {
+                  System.arraycopy(sourceVector, 0, targetVector, 0, vectorLength);
+                  targetVector[participantId] = targetStateId;
+                  stateVectorStore.add(targetVector);
+               }
+               internalActionTransitionCount++;
+               transitionCount++;
+            }
+         }
+
+         if (transitionCount == 0) {
+            deadlockStateCount++;
+         }
+      }
+
+      return new GenerationStatistics(stateVectorStore.size(), asynchSendActTransitionCount,
+            asynchReceiveActAndMsgConsumptionTransitionCount, synchSendReceiveActAndMsgConsumptionTransitionCount,
+            internalActionTransitionCount, maximumMessageQueueFill, deadlockStateCount);
+   }
+
+   private int[] getTargetStateIds(final int participantId, final int stateId, final ConcreteTransitionIndex.Kind kind,
+         final int messageId) {
+      return targetStateIds[participantId][stateId][kind.ordinal() * kindStride + messageId + 1];
+   }
+}
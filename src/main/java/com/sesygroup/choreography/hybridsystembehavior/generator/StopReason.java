@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * The reasons why a generation stops (see {@link GenerationResult#getStopReason()}).
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public enum StopReason {
+   /**
+    * All the reachable states have been expanded.
+    */
+   COMPLETED,
+   /**
+    * The number of states reached {@link ExplorationLimits#getMaxStateCount()}.
+    */
+   MAX_STATE_COUNT,
+   /**
+    * The number of transitions reached {@link ExplorationLimits#getMaxTransitionCount()}.
+    */
+   MAX_TRANSITION_COUNT,
+   /**
+    * All the states at distance less than {@link ExplorationLimits#getMaxDepth()} from the initial state have been
+    * expanded.
+    */
+   MAX_DEPTH,
+   /**
+    * The generation lasted {@link ExplorationLimits#getTimeLimit()} milliseconds.
+    */
+   TIME_LIMIT,
+   /**
+    * The used heap reached {@link ExplorationLimits#getMaxHeapUsage()} percent of the maximum heap size.
+    */
+   MAX_HEAP_USAGE
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageAlphabet;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ * Interns the participants, the message names and the concrete states of the concrete participant behaviors to dense
+ * integer identifiers, starting from zero:
+ * <ul>
+ * <li>participants are identified in the order of the participant to concrete participant behavior map;</li>
+ * <li>message names are identified globally, in order of appearance;</li>
+ * <li>concrete states are identified per participant, in the order of the states of its concrete participant behavior,
+ * followed by the states that only appear in its transitions.</li>
+ * </ul>
+ * The table is built once before the exploration starts, then it is read-only; identifiers are resolved back to the
+ * objects of the concrete participant behaviors, so that a single instance of each message is used.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class SymbolTable {
+   private final List<Participant> participants;
+   private final Map<Participant, Integer> participantIds;
+   private final List<String> messageNames;
+   private final Map<String, Integer> messageIds;
+   private final List<OutputMessage> outputMessages;
+   private final List<InputMessage> inputMessages;
+   private final boolean[][] participantInputMessages;
+   private final MessageAlphabet messageAlphabet;
+   private final List<List<com.sesygroup.choreography.concreteparticipantbehavior.model.State>> concreteStates;
+   private final List<Map<com.sesygroup.choreography.concreteparticipantbehavior.model.State, Integer>> concreteStateIds;
+
+   public SymbolTable(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap) {
+      super();
+      participants = Collections.unmodifiableList(
+            new ArrayList<Participant>(participantToConcreteParticipantBehaviorMap.keySet()));
+      participantIds = new HashMap<Participant, Integer>();
+      messageNames = new ArrayList<String>();
+      messageIds = new HashMap<String, Integer>();
+      outputMessages = new ArrayList<OutputMessage>();
+      inputMessages = new ArrayList<InputMessage>();
+      concreteStates = new ArrayList<List<com.sesygroup.choreography.concreteparticipantbehavior.model.State>>();
+      concreteStateIds
+            = new ArrayList<Map<com.sesygroup.choreography.concreteparticipantbehavior.model.State, Integer>>();
+
+      for (int participantId = 0; participantId < participants.size(); participantId++) {
+         participantIds.put(participants.get(participantId), participantId);
+         ConcreteParticipantBehavior concreteParticipantBehavior = participantToConcreteParticipantBehaviorMap
+               .get(participants.get(participantId));
+
+         concreteStates.add(new ArrayList<com.sesygroup.choreography.concreteparticipantbehavior.model.State>());
+         concreteStateIds
+               .add(new HashMap<com.sesygroup.choreography.concreteparticipantbehavior.model.State, Integer>());
+         for (com.sesygroup.choreography.concreteparticipantbehavior.model.State state : concreteParticipantBehavior
+               .getStates()) {
+            addConcreteState(participantId, state);
+         }
+         addConcreteState(participantId, concreteParticipantBehavior.getInitialState());
+         for (Transition transition : concreteParticipantBehavior.getTransitions()) {
+            addConcreteState(participantId, transition.getSourceState());
+            addConcreteState(participantId, transition.getTargetState());
+         }
+
+         concreteParticipantBehavior.getMessages().forEach(this::addMessage);
+      }
+
+      List<Message> messages = new ArrayList<Message>();
+      for (int messageId = 0; messageId < messageNames.size(); messageId++) {
+         messages.add(outputMessages.get(messageId) == null
+               ? inputMessages.get(messageId)
+               : outputMessages.get(messageId));
+      }
+      messageAlphabet = new MessageAlphabet(messages);
+
+      participantInputMessages = new boolean[participants.size()][messageNames.size()];
+      for (int participantId = 0; participantId < participants.size(); participantId++) {
+         for (Message message : participantToConcreteParticipantBehaviorMap.get(participants.get(participantId))
+               .getMessages()) {
+            if (message instanceof InputMessage) {
+               participantInputMessages[participantId][messageIds.get(message.getName())] = true;
+            }
+         }
+      }
+   }
+
+   private void addConcreteState(final int participantId,
+         final com.sesygroup.choreography.concreteparticipantbehavior.model.State state) {
+      if (state != null && !concreteStateIds.get(participantId).containsKey(state)) {
+         concreteStateIds.get(participantId).put(state, concreteStates.get(participantId).size());
+         concreteStates.get(participantId).add(state);
+      }
+   }
+
+   private void addMessage(final Message message) {
+      Integer messageId = messageIds.get(message.getName());
+      if (messageId == null) {
+         messageId = messageNames.size();
+         messageIds.put(message.getName(), messageId);
+         messageNames.add(message.getName());
+         outputMessages.add(null);
+         inputMessages.add(null);
+      }
+      if (message instanceof OutputMessage && outputMessages.get(messageId) == null) {
+         outputMessages.set(messageId, (OutputMessage) message);
+      } else if (message instanceof InputMessage && inputMessages.get(messageId) == null) {
+         inputMessages.set(messageId, (InputMessage) message);
+      }
+   }
+
+   public List<Participant> getParticipants() {
+      return participants;
+   }
+
+   public int getParticipantCount() {
+      return participants.size();
+   }
+
+   /**
+    * Returns the identifier of {@code <i>participant</i>}, minus one whether it is unknown.
+    */
+   public int getParticipantId(final Participant participant) {
+      Integer participantId = participantIds.get(participant);
+      return participantId == null
+            ? -1
+            : participantId;
+   }
+
+   public Participant getParticipant(final int participantId) {
+      return participants.get(participantId);
+   }
+
+   public int getMessageCount() {
+      return messageNames.size();
+   }
+
+   /**
+    * Returns the identifier of the message named {@code <i>messageName</i>}, minus one whether it is unknown.
+    */
+   public int getMessageId(final String messageName) {
+      Integer messageId = messageIds.get(messageName);
+      return messageId == null
+            ? -1
+            : messageId;
+   }
+
+   public String getMessageName(final int messageId) {
+      return messageNames.get(messageId);
+   }
+
+   /**
+    * Returns the {@link OutputMessage} of the concrete participant behaviors identified by {@code <i>messageId</i>},
+    * null whether the message is only an {@link InputMessage}.
+    */
+   public OutputMessage getOutputMessage(final int messageId) {
+      return outputMessages.get(messageId);
+   }
+
+   /**
+    * Returns the {@link InputMessage} of the concrete participant behaviors identified by {@code <i>messageId</i>},
+    * null whether the message is only an {@link OutputMessage}.
+    */
+   public InputMessage getInputMessage(final int messageId) {
+      return inputMessages.get(messageId);
+   }
+
+   /**
+    * Returns the alphabet of the messages, where the index of each message is its identifier; the message of each
+    * identifier is the {@link OutputMessage}, whether any, since it is the one put in the message queues.
+    */
+   public MessageAlphabet getMessageAlphabet() {
+      return messageAlphabet;
+   }
+
+   /**
+    * Returns whether the message identified by {@code <i>messageId</i>} is an {@link InputMessage} of the participant
+    * identified by {@code <i>participantId</i>}.
+    */
+   public boolean isInputMessage(final int participantId, final int messageId) {
+      return messageId >= 0 && participantInputMessages[participantId][messageId];
+   }
+
+   public int getConcreteStateCount(final int participantId) {
+      return concreteStates.get(participantId).size();
+   }
+
+   /**
+    * Returns the identifier of {@code <i>state</i>} among the concrete states of the participant identified by
+    * {@code <i>participantId</i>}, minus one whether it is unknown.
+    */
+   public int getConcreteStateId(final int participantId,
+         final com.sesygroup.choreography.concreteparticipantbehavior.model.State state) {
+      Integer concreteStateId = concreteStateIds.get(participantId).get(state);
+      return concreteStateId == null
+            ? -1
+            : concreteStateId;
+   }
+
+   public com.sesygroup.choreography.concreteparticipantbehavior.model.State getConcreteState(final int participantId,
+         final int concreteStateId) {
+      return concreteStates.get(participantId).get(concreteStateId);
+   }
+
+   /**
+    * Returns, for each participant, the identifier of its concrete state contained in {@code <i>state</i>}, minus one
+    * whether the participant or its concrete state are unknown.
+    */
+   public int[] getConcreteStateIds(final State state) {
+      int[] stateIds = new int[participants.size()];
+      for (int participantId = 0; participantId < participants.size(); participantId++) {
+         stateIds[participantId] = getConcreteStateId(participantId,
+               state.getParticipantToConcreteParticipantBehaviorStateMap().get(participants.get(participantId)));
+      }
+      return stateIds;
+   }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchReceiveActAndMsgConsumptionTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchSendActTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.SynchSendReceiveActAndMsgConsumptionTransition;
+
+/**
+ * Assigns an identifier to the label of each transition, i.e., to the transition without its source and target
+ * states, so that a transition can be stored as the identifiers of its source state, target state and label.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class TransitionLabels {
+   private static final byte ASYNCH_SEND_ACT = 0;
+   private static final byte ASYNCH_RECEIVE_ACT_AND_MSG_CONSUMPTION = 1;
+   private static final byte SYNCH_SEND_RECEIVE_ACT_AND_MSG_CONSUMPTION = 2;
+   private static final byte INTERNAL_ACTION = 3;
+   /*
+    * a label is a transition with null source and target states
+    */
+   private final List<Transition> labels = new ArrayList<Transition>();
+   private final Map<Transition, Integer> labelIndexes = new HashMap<Transition, Integer>();
+
+   /**
+    * Returns the identifier of the label of {@code <i>transition</i>}, a new identifier whether the label is met for
+    * the first time.
+    */
+   int add(final Transition transition) {
+      Transition label = newTransition(transition, null, null);
+      if (label == null) {
+         throw new IllegalArgumentException("Unknown transition type " + transition.getClass().getName());
+      }
+      Integer labelIndex = labelIndexes.get(label);
+      if (labelIndex == null) {
+         labelIndex = labels.size();
+         labels.add(label);
+         labelIndexes.put(label, labelIndex);
+      }
+      return labelIndex;
+   }
+
+   /**
+    * Returns the identifier of the label of {@code <i>transition</i>}, minus one whether the label has never been
+    * added.
+    */
+   int indexOf(final Transition transition) {
+      Transition label = newTransition(transition, null, null);
+      Integer labelIndex = label == null
+            ? null
+            : labelIndexes.get(label);
+      return labelIndex == null
+            ? -1
+            : labelIndex;
+   }
+
+   int size() {
+      return labels.size();
+   }
+
+   /**
+    * Writes the label identified by {@code <i>labelIndex</i>} to {@code <i>output</i>}, as the kind of the transition
+    * followed by the identifiers (see {@link SymbolTable}) of its participants and message.
+    */
+   void write(final int labelIndex, final SymbolTable symbolTable, final DataOutput output) throws IOException {
+      Transition label = labels.get(labelIndex);
+      if (label instanceof AsynchSendActTransition) {
+         AsynchSendActTransition asynchSendActTransition = (AsynchSendActTransition) label;
+         output.writeByte(ASYNCH_SEND_ACT);
+         output.writeInt(symbolTable.getParticipantId(asynchSendActTransition.getSourceParticipant()));
+         output.writeInt(symbolTable.getParticipantId(asynchSendActTransition.getTargetParticipant()));
+         output.writeInt(symbolTable.getMessageId(asynchSendActTransition.getOutputMessage().getName()));
+      } else if (label instanceof AsynchReceiveActAndMsgConsumptionTransition) {
+         output.writeByte(ASYNCH_RECEIVE_ACT_AND_MSG_CONSUMPTION);
+         output.writeInt(symbolTable.getMessageId(
+               ((AsynchReceiveActAndMsgConsumptionTransition) label).getInputMessage().getName()));
+      } else if (label instanceof SynchSendReceiveActAndMsgConsumptionTransition) {
+         SynchSendReceiveActAndMsgConsumptionTransition synchSendReceiveActAndMsgConsumptionTransition
+               = (SynchSendReceiveActAndMsgConsumptionTransition) label;
+         output.writeByte(SYNCH_SEND_RECEIVE_ACT_AND_MSG_CONSUMPTION);
+         output.writeInt(
+               symbolTable.getParticipantId(synchSendReceiveActAndMsgConsumptionTransition.getSourceParticipant()));
+         output.writeInt(
+               symbolTable.getParticipantId(synchSendReceiveActAndMsgConsumptionTransition.getTargetParticipant()));
+         output.writeInt(symbolTable.getMessageId(synchSendReceiveActAndMsgConsumptionTransition.getMessageName()));
+      } else {
+         output.writeByte(INTERNAL_ACTION);
+      }
+   }
+
+   /**
+    * Reads a label written by {@link #write(int, SymbolTable, DataOutput)} from {@code <i>input</i>}, and adds it
+    * with the next identifier.
+    *
+    * @throws IOException whether the label cannot be read or its kind is unknown
+    */
+   void read(final SymbolTable symbolTable, final DataInput input) throws IOException {
+      Transition label;
+      byte kind = input.readByte();
+      switch (kind) {
+      case ASYNCH_SEND_ACT:
+         label = new AsynchSendActTransition(null, null, symbolTable.getParticipant(input.readInt()),
+               symbolTable.getParticipant(input.readInt()), symbolTable.getOutputMessage(input.readInt()));
+         break;
+      case ASYNCH_RECEIVE_ACT_AND_MSG_CONSUMPTION:
+         label = new AsynchReceiveActAndMsgConsumptionTransition(null, null,
+               symbolTable.getInputMessage(input.readInt()));
+         break;
+      case SYNCH_SEND_RECEIVE_ACT_AND_MSG_CONSUMPTION:
+         label = new SynchSendReceiveActAndMsgConsumptionTransition(null, null,
+               symbolTable.getParticipant(input.readInt()), symbolTable.getParticipant(input.readInt()),
+               symbolTable.getMessageName(input.readInt()));
+         break;
+      case INTERNAL_ACTION:
+         label = new InternalActionTransition(null, null);
+         break;
+      default:
+         throw new IOException("Unknown transition kind " + kind);
+      }
+      labelIndexes.put(label, labels.size());
+      labels.add(label);
+   }
+
+   /**
+    * Returns a new transition with the label identified by {@code <i>labelIndex</i>}.
+    */
+   Transition newTransition(final int labelIndex, final State sourceState, final State targetState) {
+      return newTransition(labels.get(labelIndex), sourceState, targetState);
+   }
+
+   private static Transition newTransition(final Transition transition, final State sourceState,
+         final State targetState) {
+      if (transition instanceof AsynchSendActTransition) {
+         AsynchSendActTransition asynchSendActTransition = (AsynchSendActTransition) transition;
+         return new AsynchSendActTransition(sourceState, targetState, asynchSendActTransition.getSourceParticipant(),
+               asynchSendActTransition.getTargetParticipant(),
+               (OutputMessage) asynchSendActTransition.getOutputMessage());
+      } else if (transition instanceof AsynchReceiveActAndMsgConsumptionTransition) {
+         return new AsynchReceiveActAndMsgConsumptionTransition(sourceState, targetState,
+               ((AsynchReceiveActAndMsgConsumptionTransition) transition).getInputMessage());
+      } else if (transition instanceof SynchSendReceiveActAndMsgConsumptionTransition) {
+         SynchSendReceiveActAndMsgConsumptionTransition synchSendReceiveActAndMsgConsumptionTransition
+               = (SynchSendReceiveActAndMsgConsumptionTransition) transition;
+         return new SynchSendReceiveActAndMsgConsumptionTransition(sourceState, targetState,
+               synchSendReceiveActAndMsgConsumptionTransition.getSourceParticipant(),
+               synchSendReceiveActAndMsgConsumptionTransition.getTargetParticipant(),
+               synchSendReceiveActAndMsgConsumptionTransition.getMessageName());
+      } else if (transition instanceof InternalActionTransition) {
+         return new InternalActionTransition(sourceState, targetState);
+      }
+      return null;
+   }
+}
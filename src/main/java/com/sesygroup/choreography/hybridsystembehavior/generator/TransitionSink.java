@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Receives the states and the transitions found by the {@link HybridSystemBehaviorGenerator} as soon as they are
+ * found, instead of collecting them in a
+ * {@link com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior}. Each found state is received
+ * exactly once, either before or after the transitions entering it; the approximate explorations may miss some of the
+ * reachable states and transitions.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+@FunctionalInterface
+public interface TransitionSink {
+
+   /**
+    * Receives {@code <i>transition</i>}; its source and target states are frozen.
+    *
+    * @param transition the found transition
+    */
+   void accept(Transition transition);
+
+   /**
+    * Receives {@code <i>state</i>}, a frozen state found for the first time; by default it does nothing.
+    *
+    * @param state the found state
+    */
+   default void acceptState(final State state) {
+   }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Lazy breadth-first exploration: the transitions outgoing from each state are found only when the consumer pulls
+ * them, and a state is expanded only when the transitions of the previous states have been consumed. The discovered
+ * states are recorded in a {@link ConcurrentStateTable} shared by all the spliterators split from the same one, and
+ * each discovered state is expanded by the spliterator that discovered it, therefore every reachable state is expanded
+ * exactly once whatever the splits are. As in the hybrid system behavior built by the explorers, the target state of
+ * each transition is replaced with the instance stored when the state was discovered.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class TransitionSpliterator implements Spliterator<Transition> {
+   /*
+    * when splitting, the states are expanded in advance until the found transitions are this many
+    */
+   private static final int MAXIMUM_PENDING_TRANSITIONS = 1024;
+   private final ConcreteTransitionIndex concreteTransitionIndex;
+   private final ConcurrentStateTable canonicalStates;
+   private final Deque<State> sourceStatesToBeCheck;
+   private final Deque<Transition> pendingTransitions = new ArrayDeque<Transition>();
+   private final List<Transition> sourceStateTransitions = new ArrayList<Transition>();
+
+   TransitionSpliterator(
+         final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final int parallelism) {
+      super();
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      canonicalStates = new ConcurrentStateTable(parallelism);
+      State initialState = AbstractExplorer.createInitialState(concreteTransitionIndex,
+            participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      canonicalStates.putIfAbsent(initialState);
+      sourceStatesToBeCheck = new ArrayDeque<State>();
+      sourceStatesToBeCheck.add(initialState);
+   }
+
+   private TransitionSpliterator(final ConcreteTransitionIndex concreteTransitionIndex,
+         final ConcurrentStateTable canonicalStates, final Deque<State> sourceStatesToBeCheck) {
+      super();
+      this.concreteTransitionIndex = concreteTransitionIndex;
+      this.canonicalStates = canonicalStates;
+      this.sourceStatesToBeCheck = sourceStatesToBeCheck;
+   }
+
+   @Override
+   public boolean tryAdvance(final Consumer<? super Transition> action) {
+      while (pendingTransitions.isEmpty()) {
+         if (sourceStatesToBeCheck.isEmpty()) {
+            return false;
+         }
+         expand(sourceStatesToBeCheck.poll());
+      }
+      action.accept(pendingTransitions.poll());
+      return true;
+   }
+
+   /**
+    * Hands over the second half of the states to be checked, expanding in advance the states of this spliterator
+    * whether they are less than two.
+    */
+   @Override
+   public Spliterator<Transition> trySplit() {
+      while (sourceStatesToBeCheck.size() == 1 && pendingTransitions.size() < MAXIMUM_PENDING_TRANSITIONS) {
+         expand(sourceStatesToBeCheck.poll());
+      }
+      if (sourceStatesToBeCheck.size() < 2) {
+         return null;
+      }
+      Deque<State> splitSourceStatesToBeCheck = new ArrayDeque<State>();
+      for (int i = sourceStatesToBeCheck.size() / 2; i > 0; i--) {
+         splitSourceStatesToBeCheck.addFirst(sourceStatesToBeCheck.pollLast());
+      }
+      return new TransitionSpliterator(concreteTransitionIndex, canonicalStates, splitSourceStatesToBeCheck);
+   }
+
+   /**
+    * The number of reachable states is unknown until they have all been expanded.
+    */
+   @Override
+   public long estimateSize() {
+      return sourceStatesToBeCheck.isEmpty() && pendingTransitions.isEmpty()
+            ? 0
+            : Long.MAX_VALUE;
+   }
+
+   @Override
+   public int characteristics() {
+      return NONNULL;
+   }
+
+   private void expand(final State sourceState) {
+      sourceStateTransitions.clear();
+      HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, sourceState, sourceStateTransitions);
+      for (Transition transition : sourceStateTransitions) {
+         State storedTargetState = canonicalStates.putIfAbsent(transition.getTargetState());
+         if (storedTargetState == null) {
+            sourceStatesToBeCheck.add(transition.getTargetState());
+         } else {
+            transition.setTargetState(storedTargetState);
+         }
+         pendingTransitions.add(transition);
+      }
+   }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Run files of state vectors (see {@link StateCodec}) used by the {@link ExternalMemoryExplorer}: a run file contains
+ * vectors of the same length, sorted in lexicographic order and without duplicates, written one after the other as
+ * big-endian integers. Run files are read sequentially, and several run files are read as a single sorted stream by
+ * merging them.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class VectorRuns {
+   private static final int BUFFER_SIZE = 1 << 16;
+
+   private VectorRuns() {
+      super();
+   }
+
+   static int compare(final int[] vector, final int[] otherVector) {
+      for (int i = 0; i < vector.length; i++) {
+         if (vector[i] != otherVector[i]) {
+            return Integer.compare(vector[i], otherVector[i]);
+         }
+      }
+      return 0;
+   }
+
+   /**
+    * Sorts {@code <i>vectors</i>} and writes them, without duplicates, in a new run file of {@code <i>directory</i>}.
+    *
+    * @return the run file
+    */
+   static Path writeRun(final Path directory, final List<int[]> vectors) throws IOException {
+      vectors.sort(VectorRuns::compare);
+      try (Writer writer = new Writer(directory)) {
+         int[] previousVector = null;
+         for (int[] vector : vectors) {
+            if (previousVector == null || compare(previousVector, vector) != 0) {
+               writer.write(vector);
+            }
+            previousVector = vector;
+         }
+         return writer.getRun();
+      }
+   }
+
+   /**
+    * Writes the vectors of a new run file, which must be written in lexicographic order and without duplicates.
+    */
+   static final class Writer implements Closeable {
+      private final Path run;
+      private final DataOutputStream outputStream;
+      private long size;
+
+      Writer(final Path directory) throws IOException {
+         super();
+         run = Files.createTempFile(directory, "states", ".run");
+         outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE));
+      }
+
+      void write(final int[] vector) throws IOException {
+         for (int element : vector) {
+            outputStream.writeInt(element);
+         }
+         size++;
+      }
+
+      Path getRun() {
+         return run;
+      }
+
+      /**
+       * Returns the number of written vectors.
+       */
+      long size() {
+         return size;
+      }
+
+      @Override
+      public void close() throws IOException {
+         outputStream.close();
+      }
+   }
+
+   /**
+    * Reads the vectors of one or more run files as a single stream, in lexicographic order and without duplicates.
+    */
+   static final class Reader implements Closeable {
+      private final PriorityQueue<RunReader> runReaders;
+      private final List<RunReader> openRunReaders;
+      private final int[] previousVector;
+      private boolean first = true;
+
+      Reader(final Collection<Path> runs, final int vectorLength) throws IOException {
+         super();
+         runReaders = new PriorityQueue<RunReader>(Math.max(1, runs.size()),
+               (runReader, otherRunReader) -> compare(runReader.vector, otherRunReader.vector));
+         openRunReaders = new ArrayList<RunReader>();
+         previousVector = new int[vectorLength];
+         try {
+            for (Path run : runs) {
+               RunReader runReader = new RunReader(run, vectorLength);
+               openRunReaders.add(runReader);
+               if (runReader.advance()) {
+                  runReaders.add(runReader);
+               }
+            }
+         } catch (IOException e) {
+            close();
+            throw e;
+         }
+      }
+
+      /**
+       * Copies the next vector in {@code <i>target</i>}.
+       *
+       * @return false whether there are no more vectors; true otherwise
+       */
+      boolean next(final int[] target) throws IOException {
+         while (!runReaders.isEmpty()) {
+            RunReader runReader = runReaders.poll();
+            System.arraycopy(runReader.vector, 0, target, 0, target.length);
+            if (runReader.advance()) {
+               runReaders.add(runReader);
+            }
+            if (first || compare(previousVector, target) != 0) {
+               first = false;
+               System.arraycopy(target, 0, previousVector, 0, target.length);
+               return true;
+            }
+         }
+         return false;
+      }
+
+      @Override
+      public void close() throws IOException {
+         IOException exception = null;
+         for (RunReader runReader : openRunReaders) {
+            try {
+               runReader.inputStream.close();
+            } catch (IOException e) {
+               exception = e;
+            }
+         }
+         if (exception != null) {
+            throw exception;
+         }
+      }
+   }
+
+   private static final class RunReader {
+      private final DataInputStream inputStream;
+      private final int[] vector;
+
+      RunReader(final Path run, final int vectorLength) throws IOException {
+         inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), BUFFER_SIZE));
+         vector = new int[vectorLength];
+      }
+
+      boolean advance() throws IOException {
+         try {
+            vector[0] = inputStream.readInt();
+         } catch (EOFException e) {
+            return false;
+         }
+         for (int i = 1; i < vector.length; i++) {
+            vector[i] = inputStream.readInt();
+         }
+         return true;
+      }
+   }
+}
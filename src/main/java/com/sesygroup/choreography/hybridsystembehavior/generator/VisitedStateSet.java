@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+/**
+ * Set of the visited states used by the {@link ApproximateExplorer}, which records the state vectors (see
+ * {@link StateCodec}) without storing them; distinct vectors may therefore collide.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+interface VisitedStateSet {
+
+   /**
+    * Records {@code <i>vector</i>} as visited.
+    *
+    * @return true whether the vector was not recorded, false whether it was recorded or it collides with a recorded
+    * vector
+    */
+   boolean add(int[] vector);
+
+   /**
+    * 64 bit hash of {@code <i>vector</i>}, the MurmurHash3 finalization is applied to each element; distinct seeds
+    * give independent hashes.
+    */
+   static long hash(final int[] vector, final long seed) {
+      long hash = seed;
+      for (int element : vector) {
+         hash = mix((hash ^ element) * 0x9e3779b97f4a7c15L);
+      }
+      return mix(hash ^ vector.length);
+   }
+
+   static long mix(final long value) {
+      long hash = value;
+      hash ^= hash >>> 33;
+      hash *= 0xff51afd7ed558ccdL;
+      hash ^= hash >>> 33;
+      hash *= 0xc4ceb9fe1a85ec53L;
+      hash ^= hash >>> 33;
+      return hash;
+   }
+}
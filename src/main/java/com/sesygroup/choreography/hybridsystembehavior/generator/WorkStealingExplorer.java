@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+
+/**
+ * Asynchronous work-stealing explorer. Every unexpanded state is a task of a {@link ForkJoinPool}: each worker pushes
+ * the states it discovers on its own deque and, when idle, steals states from the deques of the other workers. The
+ * states are deduplicated through a {@link ConcurrentStateTable} shared by all workers, and the transitions are
+ * collected in one buffer per worker, merged into the hybrid system behavior at the end.
+ *
+ * The tasks are {@link CountedCompleter}s: a task completes when it and all the tasks it forked are completed, so the
+ * termination is detected when the root task completes, without any global barrier. The states are not explored in
+ * breadth-first order.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+class WorkStealingExplorer extends AbstractExplorer {
+   private final int parallelism;
+
+   WorkStealingExplorer(final Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap,
+         final Map<Participant, Integer> participantToMessageQueueSizeMap, final int parallelism) {
+      super(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+      this.parallelism = parallelism;
+   }
+
+   @Override
+   public HybridSystemBehavior explore() {
+      HybridSystemBehavior hybridSystemBehavior = new HybridSystemBehavior(participantToConcreteParticipantBehaviorMap);
+      ConcurrentStateTable canonicalStates = new ConcurrentStateTable(parallelism);
+      Collection<List<Transition>> transitionBuffers = new ConcurrentLinkedQueue<List<Transition>>();
+      ThreadLocal<List<Transition>> transitionBuffer = ThreadLocal.withInitial(() -> {
+         List<Transition> buffer = new ArrayList<Transition>();
+         transitionBuffers.add(buffer);
+         return buffer;
+      });
+
+      State initialState = createInitialState();
+      hybridSystemBehavior.setInitialState(initialState);
+      canonicalStates.putIfAbsent(initialState);
+
+      ForkJoinPool forkJoinPool = new ForkJoinPool(parallelism);
+      try {
+         forkJoinPool.invoke(new ExpandStateTask(null, initialState, canonicalStates, transitionBuffer));
+      } finally {
+         forkJoinPool.shutdown();
+      }
+
+      /*
+       * the buffers are read after the completion of the root task, that is after all the tasks are completed
+       */
+      canonicalStates.forEach(hybridSystemBehavior.getStates()::add);
+      transitionBuffers.forEach(buffer -> hybridSystemBehavior.getTransitions().addAll(buffer));
+
+      return hybridSystemBehavior;
+   }
+
+   /**
+    * Expands a state; the first state discovered by an expansion is expanded by the same task, whereas the others are
+    * forked as new tasks, which can be stolen by idle workers.
+    */
+   private final class ExpandStateTask extends CountedCompleter<Void> {
+      private static final long serialVersionUID = 5049726398561240193L;
+      private final State state;
+      private final ConcurrentStateTable canonicalStates;
+      private final ThreadLocal<List<Transition>> transitionBuffer;
+
+      ExpandStateTask(final CountedCompleter<?> completer, final State state,
+            final ConcurrentStateTable canonicalStates, final ThreadLocal<List<Transition>> transitionBuffer) {
+         super(completer);
+         this.state = state;
+         this.canonicalStates = canonicalStates;
+         this.transitionBuffer = transitionBuffer;
+      }
+
+      @Override
+      public void compute() {
+         State sourceState = state;
+         while (sourceState != null) {
+            State nextSourceState = null;
+            Collection<Transition> transitions = findTransitions(sourceState);
+            for (Transition transition : transitions) {
+               State storedTargetState = canonicalStates.putIfAbsent(transition.getTargetState());
+               if (storedTargetState != null) {
+                  transition.setTargetState(storedTargetState);
+               } else if (nextSourceState == null) {
+                  nextSourceState = transition.getTargetState();
+               } else {
+                  addToPendingCount(1);
+                  new ExpandStateTask(this, transition.getTargetState(), canonicalStates, transitionBuffer).fork();
+               }
+            }
+            transitionBuffer.get().addAll(transitions);
+            sourceState = nextSourceState;
+         }
+         tryComplete();
+      }
+   }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+
+/**
+ * Indexed set of messages, identified by their name, used to store the content of a message queue as a sequence of
+ * indexes packed in a single {@code long} (see {@link MessageQueue#packedCopy(MessageAlphabet)}). Each message takes
+ * the bits required by the greatest index, and the number of messages in the queue takes the bits required by the
+ * capacity of the queue; therefore an alphabet of up to 64 messages packs queues with capacity up to 10.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public final class MessageAlphabet implements Serializable {
+   private static final long serialVersionUID = 6206342716085163417L;
+   private final Message[] messages;
+   private final int[] messageNameHashCodes;
+   private final Map<String, Integer> messageNameToIndexMap;
+   private final int messageBits;
+
+   /**
+    * Creates an alphabet where each message is identified by its position in {@code <i>messages</i>}.
+    *
+    * @param messages the messages of the alphabet, they must have distinct names
+    * @throws IllegalArgumentException whether two messages have the same name
+    */
+   public MessageAlphabet(final List<? extends Message> messages) {
+      super();
+      this.messages = messages.toArray(new Message[messages.size()]);
+      messageNameHashCodes = new int[this.messages.length];
+      messageNameToIndexMap = new HashMap<String, Integer>();
+      for (int index = 0; index < this.messages.length; index++) {
+         if (messageNameToIndexMap.put(this.messages[index].getName(), index) != null) {
+            throw new IllegalArgumentException(
+                  "The message name " + this.messages[index].getName() + " is duplicated in the alphabet");
+         }
+         messageNameHashCodes[index] = this.messages[index].getName().hashCode();
+      }
+      messageBits = bitsOf(this.messages.length - 1);
+   }
+
+   /**
+    * Returns the number of bits required to represent the values from zero to {@code <i>maximumValue</i>}, at least
+    * one.
+    */
+   static int bitsOf(final int maximumValue) {
+      return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(maximumValue));
+   }
+
+   public int size() {
+      return messages.length;
+   }
+
+   public Message getMessage(final int index) {
+      return messages[index];
+   }
+
+   /**
+    * Returns the index of the message named {@code <i>messageName</i>}, -1 whether the alphabet does not contain it.
+    */
+   public int indexOf(final String messageName) {
+      Integer index = messageNameToIndexMap.get(messageName);
+      return index == null
+            ? -1
+            : index;
+   }
+
+   /**
+    * Returns whether the content of a message queue with capacity {@code <i>capacity</i>} fits in a single
+    * {@code long}.
+    *
+    * @param capacity the capacity of the message queue
+    * @return true whether the number of messages and the indexes of the messages fit in 64 bits; false otherwise
+    */
+   public boolean canPack(final int capacity) {
+      return capacity > 0 && messages.length > 0 && bitsOf(capacity) + (long) capacity * messageBits <= Long.SIZE;
+   }
+
+   int getMessageBits() {
+      return messageBits;
+   }
+
+   int getMessageNameHashCode(final int index) {
+      return messageNameHashCodes[index];
+   }
+}
@@ -16,11 +16,9 @@
 package com.sesygroup.choreography.hybridsystembehavior.model;
 
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.stream.Collectors;
-
-import org.apache.commons.collections4.ListUtils;
 
 import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
 
@@ -33,6 +31,8 @@ public class MessageQueue implements Serializable {
    private static final long serialVersionUID = -1175622121214486140L;
    private Integer capacity;
    private Queue<Message> queue;
+   private boolean frozen;
+   private transient int hashCode;
 
    public MessageQueue() {
       super();
@@ -55,6 +55,7 @@ public class MessageQueue implements Serializable {
    }
 
    public final void setCapacity(final Integer capacity) {
+      validateNotFrozen();
       this.capacity = capacity;
    }
 
@@ -63,17 +64,140 @@ public class MessageQueue implements Serializable {
    }
 
    public final void setQueue(final Queue<Message> queue) {
+      validateNotFrozen();
       this.queue = queue;
    }
 
+   /**
+    * Makes this message queue immutable: the contained messages are copied in a read-only persistent queue, therefore
+    * any further attempt to change the capacity, the queue or the contained messages fails. The hash code of a frozen
+    * message queue is computed once and then cached.
+    */
+   public final void freeze() {
+      if (!frozen) {
+         if (queue != null) {
+            queue = PersistentQueue.copyOf(queue);
+         }
+         frozen = true;
+      }
+   }
+
+   public final boolean isFrozen() {
+      return frozen;
+   }
+
+   /**
+    * Returns a new frozen message queue with the same capacity and messages of this message queue, plus
+    * {@code <i>message</i>} at the tail; this message queue is not changed. Whether this message queue is frozen, the
+    * new message queue shares the contained messages with it.
+    *
+    * @param message the message to put at the tail, must not be null
+    * @return the new frozen message queue
+    * @throws IllegalStateException whether this message queue is full
+    */
+   public final MessageQueue withMessageAtTail(final Message message) {
+      if (queue == null || queue.size() >= capacity) {
+         throw new IllegalStateException("The message queue " + this + " is full");
+      }
+      if (queue instanceof PackedMessageQueue) {
+         PackedMessageQueue packedMessageQueue = (PackedMessageQueue) queue;
+         int index = packedMessageQueue.getMessageAlphabet().indexOf(message.getName());
+         if (index >= 0) {
+            return newFrozenInstance(capacity, packedMessageQueue.enqueue(index));
+         }
+      }
+      return newFrozenInstance(capacity, PersistentQueue.<Message>copyOf(queue).enqueue(message));
+   }
+
+   /**
+    * Returns a new frozen message queue with the same capacity and messages of this message queue, except the message
+    * at the head; this message queue is not changed. Whether this message queue is frozen, the new message queue
+    * shares the contained messages with it.
+    *
+    * @return the new frozen message queue
+    * @throws IllegalStateException whether this message queue is empty
+    */
+   public final MessageQueue withoutHeadMessage() {
+      if (queue == null || queue.isEmpty()) {
+         throw new IllegalStateException("The message queue " + this + " is empty");
+      }
+      if (queue instanceof PackedMessageQueue) {
+         return newFrozenInstance(capacity, ((PackedMessageQueue) queue).dequeue());
+      }
+      return newFrozenInstance(capacity, PersistentQueue.<Message>copyOf(queue).dequeue());
+   }
+
+   /**
+    * Returns a new frozen message queue with the same capacity and messages of this message queue, where the messages
+    * are packed in a single {@code long} as indexes of {@code <i>messageAlphabet</i>}; this message queue is not
+    * changed. Whether the capacity is not packable (see {@link MessageAlphabet#canPack(int)}) or a message does not
+    * belong to the alphabet, the messages are not packed. The message queues derived from a packed message queue by
+    * {@link #withMessageAtTail(Message)} and {@link #withoutHeadMessage()} are packed as well, and they are compared
+    * and hashed without visiting their messages.
+    *
+    * @param messageAlphabet the alphabet of the messages, must not be null
+    * @return the new frozen message queue
+    */
+   public final MessageQueue packedCopy(final MessageAlphabet messageAlphabet) {
+      if (queue == null || capacity == null || queue.size() > capacity || !messageAlphabet.canPack(capacity)) {
+         return frozenCopy();
+      }
+      PackedMessageQueue packedMessageQueue = PackedMessageQueue.copyOf(messageAlphabet, capacity, queue);
+      return packedMessageQueue == null
+            ? frozenCopy()
+            : newFrozenInstance(capacity, packedMessageQueue);
+   }
+
+   /**
+    * Returns this message queue whether it is frozen, a frozen copy of it otherwise.
+    */
+   final MessageQueue frozenCopy() {
+      if (frozen) {
+         return this;
+      }
+      return newFrozenInstance(capacity, queue == null
+            ? null
+            : PersistentQueue.<Message>copyOf(queue));
+   }
+
+   private static MessageQueue newFrozenInstance(final Integer capacity, final Queue<Message> queue) {
+      MessageQueue messageQueue = new MessageQueue();
+      messageQueue.capacity = capacity;
+      messageQueue.queue = queue;
+      messageQueue.frozen = true;
+      return messageQueue;
+   }
+
+   private void validateNotFrozen() {
+      if (frozen) {
+         throw new IllegalStateException("The message queue " + this + " is frozen and cannot be changed");
+      }
+   }
+
+   /**
+    * The hash code depends only on the capacity and on the name of the contained messages, consistently with
+    * {@link #equals(Object)}.
+    */
    @Override
    public int hashCode() {
-      final int prime = 31;
-      int result = 1;
-      result = prime * result + capacity;
-      result = prime * result + ((queue == null)
-            ? 0
-            : queue.hashCode());
+      int result = hashCode;
+      if (result == 0 || !frozen) {
+         final int prime = 31;
+         result = 1;
+         result = prime * result + ((capacity == null)
+               ? 0
+               : capacity.hashCode());
+         if (queue instanceof PackedMessageQueue) {
+            result = ((PackedMessageQueue) queue).hashCodeOfMessageNames(result);
+         } else if (queue != null) {
+            for (Message message : queue) {
+               result = prime * result + message.getName().hashCode();
+            }
+         }
+         if (frozen) {
+            hashCode = result;
+         }
+      }
       return result;
    }
 
@@ -89,25 +213,46 @@ public class MessageQueue implements Serializable {
          return false;
       }
       MessageQueue other = (MessageQueue) obj;
-      if (capacity != other.capacity) {
+      if (capacity == null) {
+         if (other.capacity != null) {
+            return false;
+         }
+      } else if (!capacity.equals(other.capacity)) {
+         return false;
+      }
+      if (frozen && other.frozen && hashCode() != other.hashCode()) {
          return false;
       }
       if ((queue == null) ^ (other.queue == null)) {
          return false;
+      }
+      if (queue == null) {
+         return true;
+      }
+      if (queue instanceof PackedMessageQueue && other.queue instanceof PackedMessageQueue
+            && ((PackedMessageQueue) queue).getMessageAlphabet() == ((PackedMessageQueue) other.queue)
+                  .getMessageAlphabet()) {
          /*
-          * the default Message::equals checks also the type of the Message object, therefore we need to check the
-          * Message name-equality bypassing the default equals method; otherwise we have that an InputMessage("m1") is
-          * NOT equals to OutputMessage("m1"). Two lists are defined to be equal if they contain the same elements in
-          * the same order
+          * same alphabet and same capacity, therefore same layout of the words
           */
-
-      } else if (!(queue == null && other.queue == null)
-            && !ListUtils.isEqualList(queue.stream().map(Message::getName).collect(Collectors.toList()),
-                  other.queue.stream().map(Message::getName).collect(Collectors.toList()))) {
+         return ((PackedMessageQueue) queue).getWord() == ((PackedMessageQueue) other.queue).getWord();
+      }
+      /*
+       * the default Message::equals checks also the type of the Message object, therefore we need to check the Message
+       * name-equality bypassing the default equals method; otherwise we have that an InputMessage("m1") is NOT equals
+       * to OutputMessage("m1"). Two queues are equal if they contain messages with the same name in the same order
+       */
+      if (queue.size() != other.queue.size()) {
          return false;
-
       }
-      return true;
+      Iterator<Message> iterator = queue.iterator();
+      Iterator<Message> otherIterator = other.queue.iterator();
+      while (iterator.hasNext() && otherIterator.hasNext()) {
+         if (!iterator.next().getName().equals(otherIterator.next().getName())) {
+            return false;
+         }
+      }
+      return !iterator.hasNext() && !otherIterator.hasNext();
    }
 
    @Override
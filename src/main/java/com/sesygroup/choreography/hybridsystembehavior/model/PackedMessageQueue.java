@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.io.Serializable;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+
+/**
+ * Immutable FIFO queue of messages packed in a single {@code long}: the lowest bits hold the number of messages, then
+ * each message is represented by its index in a {@link MessageAlphabet}, from the head to the tail. Enqueueing,
+ * dequeueing and peeking are shifts and masks of the word, and two packed queues with the same alphabet and capacity
+ * contain messages with the same names in the same order if and only if their words are equal.
+ *
+ * <p>
+ * As a {@link java.util.Queue} it is read-only: {@link #offer(Message)} and {@link #poll()} throw an
+ * {@link UnsupportedOperationException}, whereas {@link #enqueue(int)} and {@link #dequeue()} return a new queue.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class PackedMessageQueue extends AbstractQueue<Message> implements Serializable {
+   private static final long serialVersionUID = 9026423273044571933L;
+   private final MessageAlphabet messageAlphabet;
+   private final int sizeBits;
+   private final long word;
+
+   private PackedMessageQueue(final MessageAlphabet messageAlphabet, final int sizeBits, final long word) {
+      super();
+      this.messageAlphabet = messageAlphabet;
+      this.sizeBits = sizeBits;
+      this.word = word;
+   }
+
+   /**
+    * Returns a packed queue containing the messages of {@code <i>messages</i>}, in iteration order, null whether a
+    * message does not belong to the alphabet; the capacity must be packable (see
+    * {@link MessageAlphabet#canPack(int)}) and not less than the number of messages.
+    */
+   static PackedMessageQueue copyOf(final MessageAlphabet messageAlphabet, final int capacity,
+         final Collection<? extends Message> messages) {
+      PackedMessageQueue packedMessageQueue = new PackedMessageQueue(messageAlphabet, MessageAlphabet.bitsOf(capacity),
+            0L);
+      for (Message message : messages) {
+         int index = messageAlphabet.indexOf(message.getName());
+         if (index < 0) {
+            return null;
+         }
+         packedMessageQueue = packedMessageQueue.enqueue(index);
+      }
+      return packedMessageQueue;
+   }
+
+   MessageAlphabet getMessageAlphabet() {
+      return messageAlphabet;
+   }
+
+   long getWord() {
+      return word;
+   }
+
+   /**
+    * Returns a new queue with the messages of this queue plus the message with index {@code <i>index</i>} in the
+    * alphabet at the tail; the caller checks the capacity.
+    */
+   PackedMessageQueue enqueue(final int index) {
+      int size = size();
+      return new PackedMessageQueue(messageAlphabet, sizeBits,
+            (word | ((long) index << (sizeBits + size * messageAlphabet.getMessageBits()))) + 1L);
+   }
+
+   /**
+    * Returns a new queue with the messages of this queue except the head.
+    *
+    * @throws NoSuchElementException whether this queue is empty
+    */
+   PackedMessageQueue dequeue() {
+      int size = size();
+      if (size == 0) {
+         throw new NoSuchElementException();
+      }
+      long messages = (word >>> sizeBits) >>> messageAlphabet.getMessageBits();
+      return new PackedMessageQueue(messageAlphabet, sizeBits, (messages << sizeBits) | (size - 1));
+   }
+
+   /**
+    * Returns the index in the alphabet of the message at {@code <i>position</i>}, starting from the head.
+    */
+   int indexAt(final int position) {
+      int messageBits = messageAlphabet.getMessageBits();
+      return (int) ((word >>> (sizeBits + position * messageBits)) & ((1L << messageBits) - 1L));
+   }
+
+   /**
+    * Returns {@code <i>result</i>} combined with the hash code of the name of each message, from the head to the
+    * tail, as computed by {@link MessageQueue#hashCode()}.
+    */
+   int hashCodeOfMessageNames(final int result) {
+      int hashCode = result;
+      for (int position = 0; position < size(); position++) {
+         hashCode = 31 * hashCode + messageAlphabet.getMessageNameHashCode(indexAt(position));
+      }
+      return hashCode;
+   }
+
+   @Override
+   public Iterator<Message> iterator() {
+      return new Iterator<Message>() {
+         private int position = 0;
+
+         @Override
+         public boolean hasNext() {
+            return position < size();
+         }
+
+         @Override
+         public Message next() {
+            if (!hasNext()) {
+               throw new NoSuchElementException();
+            }
+            return messageAlphabet.getMessage(indexAt(position++));
+         }
+      };
+   }
+
+   @Override
+   public int size() {
+      return (int) (word & ((1L << sizeBits) - 1L));
+   }
+
+   @Override
+   public boolean offer(final Message message) {
+      throw new UnsupportedOperationException("The queue is packed, use enqueue instead");
+   }
+
+   @Override
+   public Message poll() {
+      throw new UnsupportedOperationException("The queue is packed, use dequeue instead");
+   }
+
+   @Override
+   public Message peek() {
+      return size() == 0
+            ? null
+            : messageAlphabet.getMessage(indexAt(0));
+   }
+}
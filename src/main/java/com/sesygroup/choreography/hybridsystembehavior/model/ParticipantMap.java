@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map from participants to values, backed by an array of values and by an array of participants shared by
+ * all the maps derived from the same map. Deriving a map that differs for one participant (see
+ * {@link #with(Participant, Object)}) only copies the array of values, whereas the values themselves are shared. The
+ * iteration order is the one of the map from which the participants were taken.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class ParticipantMap<V> extends AbstractMap<Participant, V> implements Serializable {
+   private static final long serialVersionUID = 6271513694150322584L;
+   private final Participants participants;
+   private final Object[] values;
+   private transient Set<Map.Entry<Participant, V>> entrySet;
+
+   private ParticipantMap(final Participants participants, final Object[] values) {
+      super();
+      this.participants = participants;
+      this.values = values;
+   }
+
+   /**
+    * Returns a {@link ParticipantMap} with the same entries of {@code <i>map</i>}, in the same order; the map itself
+    * whether it is already a {@link ParticipantMap}.
+    */
+   @SuppressWarnings("unchecked")
+   static <V> ParticipantMap<V> copyOf(final Map<Participant, ? extends V> map) {
+      if (map instanceof ParticipantMap) {
+         return (ParticipantMap<V>) map;
+      }
+      Participant[] keys = new Participant[map.size()];
+      Object[] values = new Object[map.size()];
+      int i = 0;
+      for (Map.Entry<Participant, ? extends V> entry : map.entrySet()) {
+         keys[i] = entry.getKey();
+         values[i] = entry.getValue();
+         i++;
+      }
+      return new ParticipantMap<V>(new Participants(keys), values);
+   }
+
+   /**
+    * Returns a map equal to this one, except that {@code <i>participant</i>} is mapped to {@code <i>value</i>}.
+    *
+    * @throws IllegalArgumentException whether {@code <i>participant</i>} is not a key of this map
+    */
+   ParticipantMap<V> with(final Participant participant, final V value) {
+      int index = participants.indexOf(participant);
+      if (index < 0) {
+         throw new IllegalArgumentException("The participant " + participant + " is not contained in " + this);
+      }
+      Object[] newValues = values.clone();
+      newValues[index] = value;
+      return new ParticipantMap<V>(participants, newValues);
+   }
+
+   /**
+    * Same as {@link Map#hashCode()}, where the hash code of each entry is computed by {@code <i>entryHash</i>}.
+    */
+   int hashCode(final EntryHash entryHash) {
+      int result = 0;
+      for (int i = 0; i < values.length; i++) {
+         result += entryHash.hashCode(participants.keys[i], values[i]);
+      }
+      return result;
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public V get(final Object key) {
+      int index = participants.indexOf(key);
+      return index < 0
+            ? null
+            : (V) values[index];
+   }
+
+   @Override
+   public boolean containsKey(final Object key) {
+      return participants.indexOf(key) >= 0;
+   }
+
+   @Override
+   public int size() {
+      return values.length;
+   }
+
+   @Override
+   public boolean equals(final Object obj) {
+      if (obj instanceof ParticipantMap && ((ParticipantMap<?>) obj).participants == participants) {
+         return Arrays.equals(values, ((ParticipantMap<?>) obj).values);
+      }
+      return super.equals(obj);
+   }
+
+   @Override
+   public int hashCode() {
+      return super.hashCode();
+   }
+
+   @Override
+   public Set<Map.Entry<Participant, V>> entrySet() {
+      if (entrySet == null) {
+         entrySet = new AbstractSet<Map.Entry<Participant, V>>() {
+            @Override
+            public Iterator<Map.Entry<Participant, V>> iterator() {
+               return new Iterator<Map.Entry<Participant, V>>() {
+                  private int index = 0;
+
+                  @Override
+                  public boolean hasNext() {
+                     return index < values.length;
+                  }
+
+                  @SuppressWarnings("unchecked")
+                  @Override
+                  public Map.Entry<Participant, V> next() {
+                     if (index >= values.length) {
+                        throw new NoSuchElementException();
+                     }
+                     Map.Entry<Participant, V> entry = new AbstractMap.SimpleImmutableEntry<Participant, V>(
+                           participants.keys[index], (V) values[index]);
+                     index++;
+                     return entry;
+                  }
+               };
+            }
+
+            @Override
+            public int size() {
+               return values.length;
+            }
+         };
+      }
+      return entrySet;
+   }
+
+   /**
+    * Computes the hash code of an entry.
+    */
+   @FunctionalInterface
+   interface EntryHash {
+      int hashCode(Participant participant, Object value);
+   }
+
+   /**
+    * The participants of a family of {@link ParticipantMap}s, with the index of each of them.
+    */
+   private static final class Participants implements Serializable {
+      private static final long serialVersionUID = -3581947164204729164L;
+      private final Participant[] keys;
+      private final Map<Participant, Integer> indexes;
+
+      Participants(final Participant[] keys) {
+         super();
+         this.keys = keys;
+         this.indexes = new HashMap<Participant, Integer>();
+         for (int i = 0; i < keys.length; i++) {
+            indexes.put(keys[i], i);
+         }
+      }
+
+      int indexOf(final Object participant) {
+         Integer index = indexes.get(participant);
+         return index == null
+               ? -1
+               : index;
+      }
+   }
+}
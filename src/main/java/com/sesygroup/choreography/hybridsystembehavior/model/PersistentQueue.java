@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.io.Serializable;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent FIFO queue: it is never changed, whereas {@link #enqueue(Object)} and {@link #dequeue()} return a new
+ * queue sharing its structure with this one. The elements are kept in two linked lists, the front list from the head
+ * and the back list from the tail; enqueueing adds a node to the back list, dequeueing removes a node from the front
+ * list and, whether the front list becomes empty, the back list is reversed to become the new front list. Therefore
+ * the queues derived from the same queue share their common elements instead of copying them.
+ *
+ * <p>
+ * As a {@link java.util.Queue} it is read-only: {@link #offer(Object)} and {@link #poll()} throw an
+ * {@link UnsupportedOperationException}.
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+final class PersistentQueue<E> extends AbstractQueue<E> implements Serializable {
+   private static final long serialVersionUID = -4160547526880983776L;
+   private static final PersistentQueue<?> EMPTY = new PersistentQueue<Object>(null, null, 0);
+   /*
+    * from the head; it is null only whether the queue is empty
+    */
+   private final Node<E> front;
+   /*
+    * from the tail
+    */
+   private final Node<E> back;
+   private final int size;
+   /*
+    * the back list from the head, computed at most once per queue and then shared by its iterators; the nodes are
+    * immutable, therefore a race between two threads computing it at the same time is benign
+    */
+   private transient Node<E> reversedBack;
+
+   private PersistentQueue(final Node<E> front, final Node<E> back, final int size) {
+      super();
+      this.front = front;
+      this.back = back;
+      this.size = size;
+   }
+
+   @SuppressWarnings("unchecked")
+   static <E> PersistentQueue<E> empty() {
+      return (PersistentQueue<E>) EMPTY;
+   }
+
+   /**
+    * Returns a persistent queue containing the elements of {@code <i>elements</i>}, in iteration order; the collection
+    * itself whether it is already a {@link PersistentQueue}.
+    */
+   @SuppressWarnings("unchecked")
+   static <E> PersistentQueue<E> copyOf(final Collection<? extends E> elements) {
+      if (elements instanceof PersistentQueue) {
+         return (PersistentQueue<E>) elements;
+      }
+      Node<E> back = null;
+      for (E element : elements) {
+         back = new Node<E>(element, back);
+      }
+      return back == null
+            ? PersistentQueue.<E>empty()
+            : new PersistentQueue<E>(reverse(back), null, elements.size());
+   }
+
+   /**
+    * Returns a new queue with the elements of this queue plus {@code <i>element</i>} at the tail.
+    */
+   PersistentQueue<E> enqueue(final E element) {
+      if (front == null) {
+         return new PersistentQueue<E>(new Node<E>(element, null), null, 1);
+      }
+      return new PersistentQueue<E>(front, new Node<E>(element, back), size + 1);
+   }
+
+   /**
+    * Returns a new queue with the elements of this queue except the head.
+    *
+    * @throws NoSuchElementException whether this queue is empty
+    */
+   PersistentQueue<E> dequeue() {
+      if (front == null) {
+         throw new NoSuchElementException();
+      }
+      if (front.next != null) {
+         return new PersistentQueue<E>(front.next, back, size - 1);
+      }
+      return back == null
+            ? PersistentQueue.<E>empty()
+            : new PersistentQueue<E>(reversedBack(), null, size - 1);
+   }
+
+   private Node<E> reversedBack() {
+      Node<E> result = reversedBack;
+      if (result == null && back != null) {
+         result = reverse(back);
+         reversedBack = result;
+      }
+      return result;
+   }
+
+   private static <E> Node<E> reverse(final Node<E> node) {
+      Node<E> reversed = null;
+      for (Node<E> current = node; current != null; current = current.next) {
+         reversed = new Node<E>(current.element, reversed);
+      }
+      return reversed;
+   }
+
+   @Override
+   public Iterator<E> iterator() {
+      return new Iterator<E>() {
+         private Node<E> current = front;
+         /*
+          * the back list is visited only when the front list has been visited
+          */
+         private boolean backVisited = back == null;
+
+         @Override
+         public boolean hasNext() {
+            return current != null || !backVisited;
+         }
+
+         @Override
+         public E next() {
+            if (current == null) {
+               if (backVisited) {
+                  throw new NoSuchElementException();
+               }
+               current = reversedBack();
+               backVisited = true;
+            }
+            E element = current.element;
+            current = current.next;
+            return element;
+         }
+      };
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public boolean offer(final E element) {
+      throw new UnsupportedOperationException("The queue is persistent, use enqueue instead");
+   }
+
+   @Override
+   public E poll() {
+      throw new UnsupportedOperationException("The queue is persistent, use dequeue instead");
+   }
+
+   @Override
+   public E peek() {
+      return front == null
+            ? null
+            : front.element;
+   }
+
+   private static final class Node<E> implements Serializable {
+      private static final long serialVersionUID = -6015263475316180853L;
+      private final E element;
+      private final Node<E> next;
+
+      Node(final E element, final Node<E> next) {
+         super();
+         this.element = element;
+         this.next = next;
+      }
+   }
+}
@@ -18,6 +18,7 @@ package com.sesygroup.choreography.hybridsystembehavior.model;
 import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  *
@@ -28,6 +29,8 @@ public class State implements Serializable {
    private static final long serialVersionUID = -2971031901120572413L;
    private Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantToConcreteParticipantBehaviorStateMap;
    private Map<Participant, MessageQueue> participantToMessageQueueMap;
+   private boolean frozen;
+   private transient int hashCode;
 
    public static State newInstance(final State aState) {
       Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> newParticipantToConcreteParticipantBehaviorStateMap
@@ -73,6 +76,7 @@ public class State implements Serializable {
 
    public void setParticipantToConcreteParticipantBehaviorStateMap(
          final Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantToConcreteParticipantBehaviorStateMap) {
+      validateNotFrozen();
       this.participantToConcreteParticipantBehaviorStateMap = participantToConcreteParticipantBehaviorStateMap;
    }
 
@@ -81,22 +85,150 @@ public class State implements Serializable {
    }
 
    public void setParticipantToMessageQueueMap(final Map<Participant, MessageQueue> participantToMessageQueueMap) {
+      validateNotFrozen();
       this.participantToMessageQueueMap = participantToMessageQueueMap;
    }
 
+   /**
+    * Returns a new frozen state equal to this state, except that {@code <i>participant</i>} is in
+    * {@code <i>concreteParticipantBehaviorState</i>}; this state is not changed. The concrete states of the other
+    * participants and the message queues are shared with this state, rather than copied as in
+    * {@link #newInstance(State)}.
+    *
+    * @param participant the participant changing its concrete state, must be a participant of this state
+    * @param concreteParticipantBehaviorState the new concrete state of the participant
+    * @return the new frozen state
+    */
+   public State withConcreteParticipantBehaviorState(final Participant participant,
+         final com.sesygroup.choreography.concreteparticipantbehavior.model.State concreteParticipantBehaviorState) {
+      return new State(
+            frozenParticipantToConcreteParticipantBehaviorStateMap().with(participant,
+                  concreteParticipantBehaviorState),
+            frozenParticipantToMessageQueueMap());
+   }
+
+   /**
+    * Returns a new frozen state equal to this state, except that the message queue of {@code <i>participant</i>} is
+    * {@code <i>messageQueue</i>}; this state is not changed. The concrete states and the message queues of the other
+    * participants are shared with this state, rather than copied as in {@link #newInstance(State)}.
+    *
+    * @param participant the participant changing its message queue, must be a participant of this state
+    * @param messageQueue the new message queue of the participant, it is frozen by this method
+    * @return the new frozen state
+    */
+   public State withMessageQueue(final Participant participant, final MessageQueue messageQueue) {
+      messageQueue.freeze();
+      return new State(frozenParticipantToConcreteParticipantBehaviorStateMap(),
+            frozenParticipantToMessageQueueMap().with(participant, messageQueue));
+   }
+
+   private State(
+         final ParticipantMap<com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantToConcreteParticipantBehaviorStateMap,
+         final ParticipantMap<MessageQueue> participantToMessageQueueMap) {
+      super();
+      this.participantToConcreteParticipantBehaviorStateMap = participantToConcreteParticipantBehaviorStateMap;
+      this.participantToMessageQueueMap = participantToMessageQueueMap;
+      this.frozen = true;
+   }
+
+   private ParticipantMap<com.sesygroup.choreography.concreteparticipantbehavior.model.State> frozenParticipantToConcreteParticipantBehaviorStateMap() {
+      return ParticipantMap.copyOf(participantToConcreteParticipantBehaviorStateMap);
+   }
+
+   private ParticipantMap<MessageQueue> frozenParticipantToMessageQueueMap() {
+      if (frozen) {
+         return ParticipantMap.copyOf(participantToMessageQueueMap);
+      }
+      /*
+       * the message queues of a state that is not frozen can still change, therefore they cannot be shared
+       */
+      Map<Participant, MessageQueue> frozenParticipantToMessageQueueMap = new LinkedHashMap<Participant, MessageQueue>();
+      participantToMessageQueueMap.forEach((key, value) -> frozenParticipantToMessageQueueMap.put(key,
+            value.frozenCopy()));
+      return ParticipantMap.copyOf(frozenParticipantToMessageQueueMap);
+   }
+
+   /**
+    * Makes this state immutable: the maps become read-only and every message queue is frozen (see
+    * {@link MessageQueue#freeze()}). The hash code of a frozen state is computed once and then cached, therefore
+    * frozen states can be efficiently stored in hash-based collections.
+    */
+   public void freeze() {
+      if (!frozen) {
+         if (participantToMessageQueueMap != null) {
+            participantToMessageQueueMap.values().forEach(MessageQueue::freeze);
+            participantToMessageQueueMap = ParticipantMap.copyOf(participantToMessageQueueMap);
+         }
+         if (participantToConcreteParticipantBehaviorStateMap != null) {
+            participantToConcreteParticipantBehaviorStateMap
+                  = ParticipantMap.copyOf(participantToConcreteParticipantBehaviorStateMap);
+         }
+         frozen = true;
+      }
+   }
+
+   public boolean isFrozen() {
+      return frozen;
+   }
+
+   private void validateNotFrozen() {
+      if (frozen) {
+         throw new IllegalStateException("The state " + this + " is frozen and cannot be changed");
+      }
+   }
+
+   /**
+    * The hash code depends only on the concrete state and on the message queue of each participant, consistently with
+    * {@link #equals(Object)}.
+    */
    @Override
    public int hashCode() {
+      if (frozen && hashCode != 0) {
+         return hashCode;
+      }
       final int prime = 31;
       int result = 1;
       result = prime * result + ((participantToMessageQueueMap == null)
             ? 0
-            : participantToMessageQueueMap.hashCode());
+            : hashCode(participantToMessageQueueMap));
       result = prime * result + ((participantToConcreteParticipantBehaviorStateMap == null)
             ? 0
-            : participantToConcreteParticipantBehaviorStateMap.hashCode());
+            : hashCode(participantToConcreteParticipantBehaviorStateMap));
+      /*
+       * a state that is not frozen can still change, therefore its hash code is cached only once frozen
+       */
+      if (frozen) {
+         hashCode = result;
+      }
+      return result;
+   }
+
+   /*
+    * like Map::hashCode the result does not depend on the order of the entries, but the hash code of each entry is
+    * spread over all the bits: participants and concrete states are usually named alike (e.g., p1, p2 and s0, s1),
+    * therefore the default key.hashCode() ^ value.hashCode() of the entries would make many states collide
+    */
+   private static int hashCode(final Map<Participant, ?> map) {
+      if (map instanceof ParticipantMap) {
+         return ((ParticipantMap<?>) map).hashCode(State::hashCode);
+      }
+      int result = 0;
+      for (Map.Entry<Participant, ?> entry : map.entrySet()) {
+         result += hashCode(entry.getKey(), entry.getValue());
+      }
       return result;
    }
 
+   private static int hashCode(final Participant participant, final Object value) {
+      int hash = 31 * Objects.hashCode(participant) + Objects.hashCode(value);
+      hash ^= hash >>> 16;
+      hash *= 0x85ebca6b;
+      hash ^= hash >>> 13;
+      hash *= 0xc2b2ae35;
+      hash ^= hash >>> 16;
+      return hash;
+   }
+
    @Override
    public boolean equals(final Object obj) {
       if (this == obj) {
@@ -109,7 +241,9 @@ public class State implements Serializable {
          return false;
       }
       State other = (State) obj;
-
+      if (frozen && other.frozen && hashCode() != other.hashCode()) {
+         return false;
+      }
       if (participantToMessageQueueMap == null) {
          if (other.participantToMessageQueueMap != null) {
             return false;
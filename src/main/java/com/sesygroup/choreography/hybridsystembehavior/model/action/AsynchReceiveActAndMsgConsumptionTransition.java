@@ -41,6 +41,14 @@ public class AsynchReceiveActAndMsgConsumptionTransition extends Transition impl
       this.inputMessage = inputMessage;
    }
 
+   public InputMessage getInputMessage() {
+      return inputMessage;
+   }
+
+   public void setInputMessage(final InputMessage inputMessage) {
+      this.inputMessage = inputMessage;
+   }
+
    @Override
    public int hashCode() {
       final int prime = 31;
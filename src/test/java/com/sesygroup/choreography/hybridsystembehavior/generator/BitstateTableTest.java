@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class BitstateTableTest {
+
+   @Test
+   public void testAdd() {
+      BitstateTable bitstateTable = new BitstateTable(1 << 16, 3);
+
+      MatcherAssert.assertThat(bitstateTable.add(new int[] { 1, 2, 3 }), Matchers.is(true));
+      MatcherAssert.assertThat(bitstateTable.add(new int[] { 3, 2, 1 }), Matchers.is(true));
+      MatcherAssert.assertThat(bitstateTable.add(new int[] { 1, 2, 3 }), Matchers.is(false));
+      MatcherAssert.assertThat(bitstateTable.getAddedVectorCount(), Matchers.is(2L));
+      MatcherAssert.assertThat(bitstateTable.getSetBitCount(), Matchers.lessThanOrEqualTo(6L));
+   }
+
+   @Test
+   public void testSizeRoundedUp() {
+      MatcherAssert.assertThat(new BitstateTable(65, 1).getSize(), Matchers.is(128L));
+   }
+
+   @Test
+   public void testCollisionProbability() {
+      BitstateTable bitstateTable = new BitstateTable(64, 1);
+      MatcherAssert.assertThat(bitstateTable.getCollisionProbability(), Matchers.is(0.0));
+      MatcherAssert.assertThat(bitstateTable.getEstimatedCoverage(), Matchers.is(1.0));
+
+      for (int i = 0; i < 1000; i++) {
+         bitstateTable.add(new int[] { i });
+      }
+
+      /*
+       * a single bit per vector, therefore at most 64 vectors are added and the table is eventually full
+       */
+      MatcherAssert.assertThat(bitstateTable.getAddedVectorCount(), Matchers.is(bitstateTable.getSetBitCount()));
+      MatcherAssert.assertThat(bitstateTable.getSetBitCount(), Matchers.is(64L));
+      MatcherAssert.assertThat(bitstateTable.getCollisionProbability(), Matchers.is(1.0));
+      MatcherAssert.assertThat(bitstateTable.getEstimatedCoverage(), Matchers.lessThan(0.5));
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class ChannelTransitionSinkTest {
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testAccept() throws IOException {
+      Path file = temporaryFolder.newFile().toPath();
+      String longLine = StringUtils.repeat("è", 100000);
+      List<String> lines = Arrays.asList("first", longLine, "last");
+
+      try (ChannelTransitionSink channelTransitionSink = new ChannelTransitionSink(
+            FileChannel.open(file, StandardOpenOption.WRITE), transition -> lines.get(0))) {
+         channelTransitionSink.accept(new InternalActionTransition());
+      }
+      MatcherAssert.assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), Matchers.is(lines.subList(0, 1)));
+
+      int[] index = new int[1];
+      try (ChannelTransitionSink channelTransitionSink = new ChannelTransitionSink(
+            FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+            transition -> lines.get(index[0]++))) {
+         for (int i = 0; i < lines.size(); i++) {
+            channelTransitionSink.accept(new InternalActionTransition());
+         }
+         MatcherAssert.assertThat(channelTransitionSink.getTransitionCount(), Matchers.is(3L));
+      }
+      MatcherAssert.assertThat(Files.readAllLines(file, StandardCharsets.UTF_8), Matchers.is(lines));
+   }
+}
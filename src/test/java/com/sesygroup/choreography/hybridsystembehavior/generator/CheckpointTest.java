@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class CheckpointTest {
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testWriteAndRead() throws IOException {
+      Path directory = temporaryFolder.getRoot().toPath().resolve("checkpoint");
+      StateVectorStore stateVectorStore = new StateVectorStore(2);
+      TransitionLabels transitionLabels = new TransitionLabels();
+      PagedIntArray transitions = new PagedIntArray();
+      Checkpoint checkpoint = new Checkpoint(directory, null, 2, 0);
+
+      stateVectorStore.add(new int[] { 0, 0 });
+      stateVectorStore.add(new int[] { 1, 0 });
+      transitions.add(0);
+      transitions.add(1);
+      transitions.add(transitionLabels.add(new InternalActionTransition(null, null)));
+      checkpoint.write(1, stateVectorStore, transitionLabels, transitions);
+      stateVectorStore.add(new int[] { 1, 1 });
+      transitions.add(1);
+      transitions.add(2);
+      transitions.add(transitionLabels.add(new InternalActionTransition(null, null)));
+      checkpoint.write(2, stateVectorStore, transitionLabels, transitions);
+      MatcherAssert.assertThat(directory.toFile().list().length, Matchers.is(4));
+      MatcherAssert.assertThat(checkpoint.isDue(), Matchers.is(true));
+
+      StateVectorStore readStateVectorStore = new StateVectorStore(2);
+      TransitionLabels readTransitionLabels = new TransitionLabels();
+      PagedIntArray readTransitions = new PagedIntArray();
+      Checkpoint readCheckpoint = new Checkpoint(directory, null, 2, 0);
+      readCheckpoint.read(readStateVectorStore, readTransitionLabels, readTransitions);
+
+      MatcherAssert.assertThat(readCheckpoint.getExpandedStateCount(), Matchers.is(2));
+      MatcherAssert.assertThat(readStateVectorStore.size(), Matchers.is(3));
+      MatcherAssert.assertThat(readStateVectorStore.indexOf(new int[] { 1, 1 }), Matchers.is(2));
+      MatcherAssert.assertThat(readTransitionLabels.size(), Matchers.is(1));
+      MatcherAssert.assertThat(readTransitions.size(), Matchers.is(6L));
+      MatcherAssert.assertThat(readTransitions.get(4), Matchers.is(2));
+
+      readCheckpoint.delete();
+      MatcherAssert.assertThat(directory.toFile().list().length, Matchers.is(0));
+   }
+
+   @Test(expected = IOException.class)
+   public void testReadDifferentVectorLength() throws IOException {
+      Path directory = temporaryFolder.getRoot().toPath();
+      StateVectorStore stateVectorStore = new StateVectorStore(2);
+      stateVectorStore.add(new int[] { 0, 0 });
+      new Checkpoint(directory, null, 2, 0).write(0, stateVectorStore, new TransitionLabels(), new PagedIntArray());
+
+      new Checkpoint(directory, null, 3, 0).read(new StateVectorStore(3), new TransitionLabels(),
+            new PagedIntArray());
+   }
+}
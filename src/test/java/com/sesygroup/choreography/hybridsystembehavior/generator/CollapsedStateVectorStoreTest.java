@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class CollapsedStateVectorStoreTest {
+
+   @Test
+   public void testAdd() {
+      CollapsedStateVectorStore collapsedStateVectorStore = new CollapsedStateVectorStore(4,
+            new int[][] { { 0, 2 }, { 1, 3 } });
+
+      MatcherAssert.assertThat(collapsedStateVectorStore.add(new int[] { 1, 2, 3, 4 }), Matchers.is(0));
+      MatcherAssert.assertThat(collapsedStateVectorStore.add(new int[] { 1, 5, 3, 6 }), Matchers.is(1));
+      MatcherAssert.assertThat(collapsedStateVectorStore.add(new int[] { 1, 2, 3, 4 }), Matchers.is(-1));
+      MatcherAssert.assertThat(collapsedStateVectorStore.size(), Matchers.is(2));
+      MatcherAssert.assertThat(collapsedStateVectorStore.indexOf(new int[] { 1, 5, 3, 6 }), Matchers.is(1));
+      MatcherAssert.assertThat(collapsedStateVectorStore.indexOf(new int[] { 1, 5, 3, 4 }), Matchers.is(-1));
+      MatcherAssert.assertThat(collapsedStateVectorStore.indexOf(new int[] { 7, 5, 3, 6 }), Matchers.is(-1));
+
+      int[] vector = new int[4];
+      collapsedStateVectorStore.get(1, vector);
+      MatcherAssert.assertThat(vector, Matchers.is(new int[] { 1, 5, 3, 6 }));
+   }
+
+   @Test
+   public void testGetCompressionRatio() {
+      CollapsedStateVectorStore collapsedStateVectorStore = new CollapsedStateVectorStore(4,
+            new int[][] { { 0, 1 }, { 2, 3 } });
+      MatcherAssert.assertThat(collapsedStateVectorStore.getCompressionRatio(), Matchers.is(1.0));
+
+      for (int i = 0; i < 10; i++) {
+         for (int j = 0; j < 10; j++) {
+            collapsedStateVectorStore.add(new int[] { i, i, j, j });
+         }
+      }
+
+      /*
+       * 100 vectors of 4 integers, stored as 100 tuples of 2 integers plus 10 + 10 components of 2 integers
+       */
+      MatcherAssert.assertThat(collapsedStateVectorStore.getCompressionRatio(), Matchers.is(400.0 / 240.0));
+   }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.State;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.InternalActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.SynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class ConcreteTransitionIndexTest {
+   private static ConcreteTransitionIndex concreteTransitionIndex;
+
+   @BeforeClass
+   public static void setUp() {
+      ConcreteParticipantBehavior concreteParticipantBehavior = new ConcreteParticipantBehavior(
+            new LinkedHashSet<State>(Arrays.asList(new State("s0"), new State("s1"), new State("s2"))), new State("s0"),
+            new LinkedHashSet<Message>(
+                  Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2"), new InputMessage("m3"))),
+            new LinkedHashSet<Transition>(Arrays.asList(
+                  new AsynchronousSendActionTransition(new State("s0"), new State("s1"), new OutputMessage("m1")),
+                  new AsynchronousSendActionTransition(new State("s0"), new State("s2"), new OutputMessage("m1")),
+                  new SynchronousSendActionTransition(new State("s0"), new State("s2"), new OutputMessage("m2")),
+                  new AsynchronousReceiveActionTransition(new State("s1"), new State("s2"), new InputMessage("m3")),
+                  new InternalActionTransition(new State("s1"), new State("s0")))));
+
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new LinkedHashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p1"), concreteParticipantBehavior);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p2"),
+            new ConcreteParticipantBehavior(new LinkedHashSet<State>(Arrays.asList(new State("s0"))), new State("s0"),
+                  new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"), new OutputMessage("m3"))),
+                  new LinkedHashSet<Transition>()));
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+   }
+
+   @Test
+   public void testGetAsynchronousSendTransitions() {
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s0"),
+                  ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, "m1"),
+            Matchers.contains(
+                  new AsynchronousSendActionTransition(new State("s0"), new State("s1"), new OutputMessage("m1")),
+                  new AsynchronousSendActionTransition(new State("s0"), new State("s2"), new OutputMessage("m1"))));
+   }
+
+   @Test
+   public void testGetSynchronousSendTransitions() {
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s0"),
+                  ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, "m2"),
+            Matchers.contains(
+                  new SynchronousSendActionTransition(new State("s0"), new State("s2"), new OutputMessage("m2"))));
+      MatcherAssert.assertThat(concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s0"),
+            ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, "m2"), Matchers.empty());
+   }
+
+   @Test
+   public void testGetAsynchronousReceiveTransitions() {
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s1"),
+                  ConcreteTransitionIndex.Kind.ASYNCHRONOUS_RECEIVE, "m3"),
+            Matchers.contains(
+                  new AsynchronousReceiveActionTransition(new State("s1"), new State("s2"), new InputMessage("m3"))));
+      MatcherAssert.assertThat(concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s0"),
+            ConcreteTransitionIndex.Kind.ASYNCHRONOUS_RECEIVE, "m3"), Matchers.empty());
+   }
+
+   @Test
+   public void testGetInternalTransitions() {
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTransitions(new Participant("p1"), new State("s1"),
+                  ConcreteTransitionIndex.Kind.INTERNAL, null),
+            Matchers.contains(new InternalActionTransition(new State("s1"), new State("s0"))));
+   }
+
+   @Test
+   public void testGetTransitionsByIdentifiers() {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int participantId = symbolTable.getParticipantId(new Participant("p1"));
+
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTransitions(participantId,
+                  symbolTable.getConcreteStateId(participantId, new State("s0")),
+                  ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, symbolTable.getMessageId("m2")),
+            Matchers.contains(
+                  new SynchronousSendActionTransition(new State("s0"), new State("s2"), new OutputMessage("m2"))));
+      MatcherAssert.assertThat(concreteTransitionIndex.getTransitions(participantId, -1,
+            ConcreteTransitionIndex.Kind.SYNCHRONOUS_SEND, symbolTable.getMessageId("m2")), Matchers.empty());
+   }
+
+   @Test
+   public void testGetTargetStateIds() {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int participantId = symbolTable.getParticipantId(new Participant("p1"));
+
+      MatcherAssert.assertThat(
+            concreteTransitionIndex.getTargetStateIds(participantId,
+                  symbolTable.getConcreteStateId(participantId, new State("s0")),
+                  ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, symbolTable.getMessageId("m1")),
+            Matchers.is(new int[] { symbolTable.getConcreteStateId(participantId, new State("s1")),
+                  symbolTable.getConcreteStateId(participantId, new State("s2")) }));
+      MatcherAssert.assertThat(concreteTransitionIndex.getTargetStateIds(participantId,
+            symbolTable.getConcreteStateId(participantId, new State("s1")), ConcreteTransitionIndex.Kind.INTERNAL, -1),
+            Matchers.is(new int[] { symbolTable.getConcreteStateId(participantId, new State("s0")) }));
+      MatcherAssert.assertThat(concreteTransitionIndex.getTargetStateIds(participantId,
+            symbolTable.getConcreteStateId(participantId, new State("s2")), ConcreteTransitionIndex.Kind.INTERNAL, -1),
+            Matchers.is(new int[0]));
+   }
+
+   @Test
+   public void testGetSendChannelIndexes() {
+      SymbolTable symbolTable = concreteTransitionIndex.getSymbolTable();
+      int participantId = symbolTable.getParticipantId(new Participant("p1"));
+
+      /*
+       * the message m2 is not received by any participant, therefore only the channel of m1 is enabled
+       */
+      int[] sendChannelIndexes = concreteTransitionIndex.getSendChannelIndexes(participantId,
+            symbolTable.getConcreteStateId(participantId, new State("s0")));
+      MatcherAssert.assertThat(sendChannelIndexes.length, Matchers.is(1));
+      MatcherAssert.assertThat(concreteTransitionIndex.getCommunicationChannels().get(sendChannelIndexes[0]),
+            Matchers.is(new CommunicationChannel(new Participant("p1"), new Participant("p2"), "m1")));
+      MatcherAssert.assertThat(concreteTransitionIndex.getSendChannelIndexes(participantId,
+            symbolTable.getConcreteStateId(participantId, new State("s1"))), Matchers.is(new int[0]));
+      MatcherAssert.assertThat(concreteTransitionIndex.getSendChannelIndexes(participantId, -1),
+            Matchers.is(new int[0]));
+      MatcherAssert.assertThat(concreteTransitionIndex.hasAmbiguousSynchronousReceive(participantId,
+            symbolTable.getConcreteStateId(participantId, new State("s0"))), Matchers.is(false));
+   }
+
+   @Test
+   public void testGetCommunicationChannels() {
+      MatcherAssert.assertThat(concreteTransitionIndex.getCommunicationChannels(),
+            Matchers.contains(new CommunicationChannel(new Participant("p1"), new Participant("p2"), "m1"),
+                  new CommunicationChannel(new Participant("p2"), new Participant("p1"), "m3")));
+   }
+
+   @Test
+   public void testGetTransitionsUnknownParticipant() {
+      MatcherAssert.assertThat(concreteTransitionIndex.getTransitions(new Participant("p3"), new State("s0"),
+            ConcreteTransitionIndex.Kind.ASYNCHRONOUS_SEND, "m1"), Matchers.empty());
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testGetTransitionsUnmodifiable() {
+      concreteTransitionIndex
+            .getTransitions(new Participant("p1"), new State("s1"), ConcreteTransitionIndex.Kind.INTERNAL, null)
+            .clear();
+   }
+}
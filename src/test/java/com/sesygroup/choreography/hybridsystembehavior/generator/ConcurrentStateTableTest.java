@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class ConcurrentStateTableTest {
+
+   @Test
+   public void testPutIfAbsent() {
+      ConcurrentStateTable concurrentStateTable = new ConcurrentStateTable(1);
+      State state = createState(1);
+
+      MatcherAssert.assertThat(concurrentStateTable.putIfAbsent(state), Matchers.nullValue());
+      MatcherAssert.assertThat(concurrentStateTable.putIfAbsent(createState(1)), Matchers.sameInstance(state));
+      MatcherAssert.assertThat(concurrentStateTable.putIfAbsent(createState(2)), Matchers.nullValue());
+      MatcherAssert.assertThat(concurrentStateTable.size(), Matchers.is(2));
+   }
+
+   @Test
+   public void testPutIfAbsentConcurrently() throws Exception {
+      ConcurrentStateTable concurrentStateTable = new ConcurrentStateTable(4);
+      AtomicInteger insertedStateCount = new AtomicInteger();
+      ExecutorService executorService = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<?>> futures = new ArrayList<Future<?>>();
+         for (int thread = 0; thread < 4; thread++) {
+            futures.add(executorService.submit(() -> {
+               for (int i = 0; i < 20000; i++) {
+                  if (concurrentStateTable.putIfAbsent(createState(i)) == null) {
+                     insertedStateCount.incrementAndGet();
+                  }
+               }
+            }));
+         }
+         for (Future<?> future : futures) {
+            future.get();
+         }
+      } finally {
+         executorService.shutdown();
+      }
+
+      /*
+       * each state is inserted by exactly one thread, and the table has been resized many times
+       */
+      MatcherAssert.assertThat(insertedStateCount.get(), Matchers.is(20000));
+      MatcherAssert.assertThat(concurrentStateTable.size(), Matchers.is(20000));
+      Set<State> states = new HashSet<State>();
+      concurrentStateTable.forEach(states::add);
+      MatcherAssert.assertThat(states.size(), Matchers.is(20000));
+      MatcherAssert.assertThat(states.contains(createState(19999)), Matchers.is(true));
+   }
+
+   @Test
+   public void testPutIfAbsentDuringMigration() throws Exception {
+      /*
+       * few segments and many threads, so that the threads keep inserting in segments being migrated
+       */
+      int stateCount = 40000;
+      int threadCount = 8;
+      ConcurrentStateTable concurrentStateTable = new ConcurrentStateTable(1);
+      AtomicReferenceArray<State> canonicalStates = new AtomicReferenceArray<State>(stateCount);
+      ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+      try {
+         List<Future<?>> futures = new ArrayList<Future<?>>();
+         for (int thread = 0; thread < threadCount; thread++) {
+            int firstIndex = thread * stateCount / threadCount;
+            futures.add(executorService.submit(() -> {
+               for (int i = 0; i < stateCount; i++) {
+                  int index = (firstIndex + i) % stateCount;
+                  State state = createState(index);
+                  State containedState = concurrentStateTable.putIfAbsent(state);
+                  State canonicalState = containedState == null
+                        ? state
+                        : containedState;
+                  if (!canonicalStates.compareAndSet(index, null, canonicalState)) {
+                     MatcherAssert.assertThat(canonicalStates.get(index), Matchers.sameInstance(canonicalState));
+                  }
+               }
+            }));
+         }
+         for (Future<?> future : futures) {
+            future.get();
+         }
+      } finally {
+         executorService.shutdown();
+      }
+
+      MatcherAssert.assertThat(concurrentStateTable.size(), Matchers.is(stateCount));
+      Set<State> states = new HashSet<State>();
+      concurrentStateTable.forEach(state -> MatcherAssert.assertThat(states.add(state), Matchers.is(true)));
+      MatcherAssert.assertThat(states.size(), Matchers.is(stateCount));
+      for (int i = 0; i < stateCount; i++) {
+         MatcherAssert.assertThat(concurrentStateTable.putIfAbsent(createState(i)),
+               Matchers.sameInstance(canonicalStates.get(i)));
+      }
+   }
+
+   private static State createState(final int index) {
+      Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantStates
+            = new LinkedHashMap<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State>();
+      participantStates.put(new Participant("p1"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s" + index % 100));
+      participantStates.put(new Participant("p2"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s" + index / 100));
+      Map<Participant, MessageQueue> participantQueues = new LinkedHashMap<Participant, MessageQueue>();
+      participantQueues.put(new Participant("p1"), new MessageQueue(0));
+      participantQueues.put(new Participant("p2"), new MessageQueue(0));
+      State state = new State(participantStates, participantQueues);
+      state.freeze();
+      return state;
+   }
+}
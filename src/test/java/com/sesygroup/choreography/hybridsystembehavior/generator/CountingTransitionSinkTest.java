@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class CountingTransitionSinkTest {
+
+   @Test
+   public void testAccept() {
+      CountingTransitionSink countingTransitionSink = new CountingTransitionSink();
+
+      countingTransitionSink.acceptState(new State());
+      countingTransitionSink.accept(new InternalActionTransition());
+      countingTransitionSink.accept(new InternalActionTransition());
+
+      MatcherAssert.assertThat(countingTransitionSink.getStateCount(), Matchers.is(1L));
+      MatcherAssert.assertThat(countingTransitionSink.getTransitionCount(), Matchers.is(2L));
+   }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.State;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.InternalActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.SynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.SynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class EnabledMovesTest {
+   private static ConcreteTransitionIndex concreteTransitionIndex;
+   private static StateCodec stateCodec;
+   private static com.sesygroup.choreography.hybridsystembehavior.model.State initialState;
+
+   @BeforeClass
+   public static void setUp() {
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new LinkedHashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p1"), new ConcreteParticipantBehavior(
+            new LinkedHashSet<State>(Arrays.asList(new State("v0"), new State("v1"))), new State("v0"),
+            new LinkedHashSet<Message>(Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2"),
+                  new InputMessage("m3"), new OutputMessage("m4"))),
+            new LinkedHashSet<Transition>(Arrays.asList(
+                  new AsynchronousSendActionTransition(new State("v0"), new State("v1"), new OutputMessage("m1")),
+                  new AsynchronousSendActionTransition(new State("v1"), new State("v0"), new OutputMessage("m2")),
+                  new AsynchronousReceiveActionTransition(new State("v0"), new State("v0"), new InputMessage("m3")),
+                  new SynchronousSendActionTransition(new State("v1"), new State("v0"), new OutputMessage("m4"))))));
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p2"), new ConcreteParticipantBehavior(
+            new LinkedHashSet<State>(Arrays.asList(new State("w0"), new State("w1"))), new State("w0"),
+            new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"), new InputMessage("m2"),
+                  new OutputMessage("m3"), new InputMessage("m4"))),
+            new LinkedHashSet<Transition>(Arrays.asList(
+                  new AsynchronousReceiveActionTransition(new State("w0"), new State("w1"), new InputMessage("m1")),
+                  new AsynchronousReceiveActionTransition(new State("w1"), new State("w0"), new InputMessage("m2")),
+                  new AsynchronousSendActionTransition(new State("w1"), new State("w1"), new OutputMessage("m3")),
+                  new SynchronousReceiveActionTransition(new State("w0"), new State("w0"), new InputMessage("m4")),
+                  new InternalActionTransition(new State("w0"), new State("w1"))))));
+      Map<Participant, Integer> participantToMessageQueueSizeMap = new LinkedHashMap<Participant, Integer>();
+      participantToMessageQueueSizeMap.put(new Participant("p1"), 2);
+      participantToMessageQueueSizeMap.put(new Participant("p2"), 2);
+
+      concreteTransitionIndex = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      stateCodec = new StateCodec(concreteTransitionIndex.getSymbolTable(), participantToMessageQueueSizeMap);
+      initialState = HybridSystemBehaviorGeneratorUtils.createInitialState(participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap);
+   }
+
+   @Test
+   public void testOf() {
+      EnabledMoves enabledMoves = EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), initialState);
+
+      for (int participantId = 0; participantId < 2; participantId++) {
+         MatcherAssert.assertThat(enabledMoves.getConcreteStateId(participantId), Matchers.is(0));
+         MatcherAssert.assertThat(enabledMoves.getHeadMessageId(participantId),
+               Matchers.is(EnabledMoves.NO_MESSAGE_ID));
+      }
+      assertSame(EnabledMoves.of(stateCodec, stateCodec.encode(initialState)), enabledMoves);
+   }
+
+   @Test
+   public void testWith() {
+      EnabledMoves enabledMoves = EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), initialState);
+
+      MatcherAssert.assertThat(enabledMoves.withConcreteStateId(0, 0), Matchers.sameInstance(enabledMoves));
+      MatcherAssert.assertThat(enabledMoves.withHeadMessageId(1, EnabledMoves.NO_MESSAGE_ID),
+            Matchers.sameInstance(enabledMoves));
+
+      EnabledMoves targetMoves = enabledMoves.withConcreteStateId(0, 1).withHeadMessageId(1, 2);
+      MatcherAssert.assertThat(targetMoves.getConcreteStateId(0), Matchers.is(1));
+      MatcherAssert.assertThat(targetMoves.getConcreteStateId(1), Matchers.is(0));
+      MatcherAssert.assertThat(targetMoves.getHeadMessageId(0), Matchers.is(EnabledMoves.NO_MESSAGE_ID));
+      MatcherAssert.assertThat(targetMoves.getHeadMessageId(1), Matchers.is(2));
+      MatcherAssert.assertThat(enabledMoves.getConcreteStateId(0), Matchers.is(0));
+      MatcherAssert.assertThat(enabledMoves.getHeadMessageId(1), Matchers.is(EnabledMoves.NO_MESSAGE_ID));
+   }
+
+   @Test
+   public void testDerivedTargetMoves() {
+      /*
+       * the summaries derived along the whole exploration are the same as the ones computed from scratch
+       */
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.State> visitedStates
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.State>();
+      Queue<com.sesygroup.choreography.hybridsystembehavior.model.State> states
+            = new ArrayDeque<com.sesygroup.choreography.hybridsystembehavior.model.State>();
+      Queue<EnabledMoves> moves = new ArrayDeque<EnabledMoves>();
+      visitedStates.add(initialState);
+      states.add(initialState);
+      moves.add(EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), initialState));
+      List<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new ArrayList<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      List<EnabledMoves> targetMoves = new ArrayList<EnabledMoves>();
+      int transitionCount = 0;
+      while (!states.isEmpty()) {
+         transitions.clear();
+         targetMoves.clear();
+         HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, states.poll(), moves.poll(),
+               transitions, targetMoves);
+         MatcherAssert.assertThat(targetMoves.size(), Matchers.is(transitions.size()));
+         for (int i = 0; i < transitions.size(); i++) {
+            com.sesygroup.choreography.hybridsystembehavior.model.State targetState = transitions.get(i)
+                  .getTargetState();
+            assertSame(targetMoves.get(i), EnabledMoves.of(concreteTransitionIndex.getSymbolTable(), targetState));
+            assertSame(targetMoves.get(i), EnabledMoves.of(stateCodec, stateCodec.encode(targetState)));
+            if (visitedStates.add(targetState)) {
+               states.add(targetState);
+               moves.add(targetMoves.get(i));
+            }
+         }
+         transitionCount += transitions.size();
+      }
+
+      MatcherAssert.assertThat(visitedStates.size(), Matchers.greaterThan(10));
+      MatcherAssert.assertThat(transitionCount, Matchers.greaterThan(visitedStates.size()));
+   }
+
+   private static void assertSame(final EnabledMoves enabledMoves, final EnabledMoves expectedEnabledMoves) {
+      for (int participantId = 0; participantId < 2; participantId++) {
+         MatcherAssert.assertThat(enabledMoves.getConcreteStateId(participantId),
+               Matchers.is(expectedEnabledMoves.getConcreteStateId(participantId)));
+         MatcherAssert.assertThat(enabledMoves.getHeadMessageId(participantId),
+               Matchers.is(expectedEnabledMoves.getHeadMessageId(participantId)));
+      }
+   }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class ExplorationLimitsTest {
+
+   @Test
+   public void testDefaults() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+
+      MatcherAssert.assertThat(explorationLimits.getMaxStateCount(), Matchers.is(Integer.MAX_VALUE));
+      MatcherAssert.assertThat(explorationLimits.getMaxTransitionCount(), Matchers.is(Long.MAX_VALUE));
+      MatcherAssert.assertThat(explorationLimits.getMaxDepth(), Matchers.is(Integer.MAX_VALUE));
+      MatcherAssert.assertThat(explorationLimits.getTimeLimit(), Matchers.is(Long.MAX_VALUE));
+      MatcherAssert.assertThat(explorationLimits.getMaxHeapUsage(), Matchers.is(100));
+   }
+
+   @Test
+   public void testBudget() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setMaxStateCount(10);
+      explorationLimits.setMaxTransitionCount(20);
+      explorationLimits.setMaxDepth(3);
+      ExplorationBudget explorationBudget = new ExplorationBudget(explorationLimits);
+
+      MatcherAssert.assertThat(explorationBudget.check(9, 19, 2), Matchers.nullValue());
+      MatcherAssert.assertThat(explorationBudget.check(10, 19, 2), Matchers.is(StopReason.MAX_STATE_COUNT));
+      MatcherAssert.assertThat(explorationBudget.check(9, 20, 2), Matchers.is(StopReason.MAX_TRANSITION_COUNT));
+      MatcherAssert.assertThat(explorationBudget.check(9, 19, 3), Matchers.is(StopReason.MAX_DEPTH));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testSetMaxStateCount() {
+      new ExplorationLimits().setMaxStateCount(0);
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testSetMaxDepth() {
+      new ExplorationLimits().setMaxDepth(-1);
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testSetMaxHeapUsage() {
+      new ExplorationLimits().setMaxHeapUsage(101);
+   }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class FingerprintTableTest {
+
+   @Test
+   public void testAdd() {
+      FingerprintTable fingerprintTable = new FingerprintTable();
+
+      MatcherAssert.assertThat(fingerprintTable.add(new int[] { 1, 2, 3 }), Matchers.is(true));
+      MatcherAssert.assertThat(fingerprintTable.add(new int[] { 3, 2, 1 }), Matchers.is(true));
+      MatcherAssert.assertThat(fingerprintTable.add(new int[] { 1, 2, 3 }), Matchers.is(false));
+      MatcherAssert.assertThat(fingerprintTable.size(), Matchers.is(2));
+   }
+
+   @Test
+   public void testAddMany() {
+      FingerprintTable fingerprintTable = new FingerprintTable();
+      for (int i = 0; i < 100000; i++) {
+         MatcherAssert.assertThat(fingerprintTable.add(new int[] { i % 317, i / 317 }), Matchers.is(true));
+      }
+      for (int i = 0; i < 100000; i += 997) {
+         MatcherAssert.assertThat(fingerprintTable.add(new int[] { i % 317, i / 317 }), Matchers.is(false));
+      }
+      MatcherAssert.assertThat(fingerprintTable.size(), Matchers.is(100000));
+   }
+
+   @Test
+   public void testExpectedCollisionCount() {
+      FingerprintTable fingerprintTable = new FingerprintTable();
+      MatcherAssert.assertThat(fingerprintTable.getExpectedCollisionCount(), Matchers.is(0.0));
+
+      for (int i = 0; i < 1000; i++) {
+         fingerprintTable.add(new int[] { i });
+      }
+
+      MatcherAssert.assertThat(fingerprintTable.getExpectedCollisionCount(), Matchers.is(1000.0 * 999 / 0x1p65));
+      MatcherAssert.assertThat(fingerprintTable.getCollisionProbability(), Matchers.is(1000 / 0x1p64));
+   }
+}
@@ -15,16 +15,36 @@
  */
 package com.sesygroup.choreography.hybridsystembehavior.generator;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -44,6 +64,9 @@ import com.sesygroup.choreography.concreteparticipantbehavior.model.message.Outp
 import com.sesygroup.choreography.hybridsystembehavior.generator.HybridSystemBehaviorGenerator;
 import com.sesygroup.choreography.hybridsystembehavior.model.HybridSystemBehavior;
 import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchReceiveActAndMsgConsumptionTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.AsynchSendActTransition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.SynchSendReceiveActAndMsgConsumptionTransition;
 
 /**
  *
@@ -64,6 +87,8 @@ public class HybridSystemBehaviorGeneratorTest {
    private ConcreteParticipantBehavior mockedConcreteParticipantBehaviorP5;
    @Mock
    private ConcreteParticipantBehavior mockedConcreteParticipantBehaviorP6;
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
    @Before
    public void setUpMockedConcreteParticipantBehaviorP1() {
@@ -188,4 +213,723 @@ public class HybridSystemBehaviorGeneratorTest {
       MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
    }
 
+   @Test
+   public void testGenerateParallelBreadthFirst() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setExplorationStrategy(ExplorationStrategy.PARALLEL_BREADTH_FIRST);
+      hybridSystemBehaviorGenerator.setParallelism(4);
+
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+   }
+
+   @Test
+   public void testGenerateWorkStealing() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setExplorationStrategy(ExplorationStrategy.WORK_STEALING);
+      hybridSystemBehaviorGenerator.setParallelism(4);
+
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+   }
+
+   @Test
+   public void testGenerateEncoded() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+   }
+
+   @Test
+   public void testGenerateCollapsed() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.COLLAPSED);
+      MatcherAssert.assertThat(hybridSystemBehaviorGenerator.getCompressionRatio(), Matchers.is(Double.NaN));
+
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+      MatcherAssert.assertThat(hybridSystemBehaviorGenerator.getCompressionRatio(), Matchers.greaterThan(1.0));
+   }
+
+   @Test
+   public void testGenerateEncodedInternalSelfLoops() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createInternalSelfLoopsHybridSystemBehaviorGenerator()
+            .generate();
+
+      for (StateStorage stateStorage : Arrays.asList(StateStorage.ENCODED, StateStorage.COLLAPSED)) {
+         HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator
+               = createInternalSelfLoopsHybridSystemBehaviorGenerator();
+         hybridSystemBehaviorGenerator.setStateStorage(stateStorage);
+
+         HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+         MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(),
+               Matchers.is(expectedHybridSystemBehavior.getStates().size()));
+         MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(),
+               Matchers.is(expectedHybridSystemBehavior.getTransitions().size()));
+         MatcherAssert.assertThat(hybridSystemBehavior.getStates(),
+               Matchers.is(expectedHybridSystemBehavior.getStates()));
+         MatcherAssert.assertThat(hybridSystemBehavior.getTransitions(),
+               Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      }
+   }
+
+   @Test
+   public void testGenerateOffHeap() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.OFF_HEAP);
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+      MatcherAssert.assertThat(hybridSystemBehaviorGenerator.getStateVectorFile(), Matchers.nullValue());
+
+      hybridSystemBehaviorGenerator.setStateVectorDirectory(temporaryFolder.getRoot().toPath());
+      hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+      MatcherAssert.assertThat(Files.size(hybridSystemBehaviorGenerator.getStateVectorFile()),
+            Matchers.greaterThan(0L));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testGenerateEncodedParallelBreadthFirst() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+      hybridSystemBehaviorGenerator.setExplorationStrategy(ExplorationStrategy.PARALLEL_BREADTH_FIRST);
+      hybridSystemBehaviorGenerator.generate();
+   }
+
+   @Test
+   public void testGenerateBitstate() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setBitstateSize(1L << 20);
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+
+      BitstateStatistics bitstateStatistics = hybridSystemBehaviorGenerator.generateBitstate(transitions::add);
+
+      MatcherAssert.assertThat(bitstateStatistics.getVisitedStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(bitstateStatistics.getTransitionCount(), Matchers.is(468L));
+      MatcherAssert.assertThat(bitstateStatistics.getEstimatedCoverage(), Matchers.greaterThan(0.99));
+      MatcherAssert.assertThat(bitstateStatistics.getCollisionProbability(), Matchers.lessThan(1e-6));
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+   }
+
+   @Test
+   public void testGenerateBitstateSmallBitArray() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setBitstateSize(64);
+      hybridSystemBehaviorGenerator.setHashFunctionCount(1);
+
+      BitstateStatistics bitstateStatistics = hybridSystemBehaviorGenerator.generateBitstate(transition -> {
+      });
+
+      MatcherAssert.assertThat(bitstateStatistics.getVisitedStateCount(), Matchers.lessThanOrEqualTo(64L));
+      MatcherAssert.assertThat(bitstateStatistics.getEstimatedCoverage(), Matchers.lessThan(1.0));
+   }
+
+   @Test
+   public void testGenerateHashCompaction() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+
+      HashCompactionStatistics hashCompactionStatistics = createHybridSystemBehaviorGenerator()
+            .generateHashCompaction(transitions::add);
+
+      MatcherAssert.assertThat(hashCompactionStatistics.getVisitedStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(hashCompactionStatistics.getTransitionCount(), Matchers.is(468L));
+      MatcherAssert.assertThat(hashCompactionStatistics.getExpectedCollisionCount(), Matchers.lessThan(1e-12));
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+   }
+
+   @Test
+   public void testGenerateExternalMemory() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setExternalMemoryBufferSize(10);
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+
+      ExternalMemoryStatistics externalMemoryStatistics = hybridSystemBehaviorGenerator
+            .generateExternalMemory(temporaryFolder.getRoot().toPath(), transitions::add);
+
+      MatcherAssert.assertThat(externalMemoryStatistics.getVisitedStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(externalMemoryStatistics.getTransitionCount(), Matchers.is(468L));
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      MatcherAssert.assertThat(temporaryFolder.getRoot().list().length, Matchers.is(0));
+   }
+
+   @Test
+   public void testGenerateExternalMemoryManyRuns() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      /*
+       * a run file for each target state, so the target runs of the largest levels are merged in groups
+       */
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setExternalMemoryBufferSize(1);
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+
+      ExternalMemoryStatistics externalMemoryStatistics = hybridSystemBehaviorGenerator
+            .generateExternalMemory(temporaryFolder.getRoot().toPath(), transitions::add);
+
+      MatcherAssert.assertThat(externalMemoryStatistics.getVisitedStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(externalMemoryStatistics.getTransitionCount(), Matchers.is(468L));
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      MatcherAssert.assertThat(temporaryFolder.getRoot().list().length, Matchers.is(0));
+   }
+
+   @Test
+   public void testGenerateCheckpoint() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+      hybridSystemBehaviorGenerator.setCheckpointDirectory(temporaryFolder.getRoot().toPath());
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator.generate();
+
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+
+      hybridSystemBehavior = hybridSystemBehaviorGenerator.resume(temporaryFolder.getRoot().toPath());
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+   }
+
+   @Test
+   public void testResume() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      /*
+       * interrupt the generation after expanding 100 states, while checkpointing after each state
+       */
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      EncodedExplorer encodedExplorer = new EncodedExplorer(
+            hybridSystemBehaviorGenerator.getParticipantToConcreteParticipantBehaviorMap(),
+            hybridSystemBehaviorGenerator.getParticipantToMessageQueueSizeMap(), StateStorage.ENCODED, null) {
+         private int expandedStateCount;
+
+         @Override
+         protected void findTransitions(final com.sesygroup.choreography.hybridsystembehavior.model.State sourceState,
+               final EnabledMoves sourceMoves,
+               final Collection<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions,
+               final Collection<EnabledMoves> targetMoves) {
+            if (++expandedStateCount > 100) {
+               throw new IllegalStateException("Interrupted");
+            }
+            super.findTransitions(sourceState, sourceMoves, transitions, targetMoves);
+         }
+      };
+      encodedExplorer.setCheckpoint(temporaryFolder.getRoot().toPath(), 0, false);
+      try {
+         encodedExplorer.explore();
+         Assert.fail();
+      } catch (IllegalStateException e) {
+         MatcherAssert.assertThat(e.getMessage(), Matchers.is("Interrupted"));
+      }
+      /*
+       * data appended after the last checkpoint must be ignored
+       */
+      for (String fileName : temporaryFolder.getRoot().list()) {
+         Files.write(temporaryFolder.getRoot().toPath().resolve(fileName), new byte[] { 1, 2, 3 },
+               StandardOpenOption.APPEND);
+      }
+
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.COLLAPSED);
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator
+            .resume(temporaryFolder.getRoot().toPath());
+
+      MatcherAssert.assertThat(hybridSystemBehavior.getStates().size(), Matchers.is(162));
+      MatcherAssert.assertThat(hybridSystemBehavior.getTransitions().size(), Matchers.is(468));
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testGenerateObjectCheckpoint() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setCheckpointDirectory(temporaryFolder.getRoot().toPath());
+      hybridSystemBehaviorGenerator.generate();
+   }
+
+   @Test
+   public void testGenerateWithoutLimits() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      GenerationResult generationResult = createHybridSystemBehaviorGenerator().generate(new ExplorationLimits());
+
+      MatcherAssert.assertThat(generationResult.isComplete(), Matchers.is(true));
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.COMPLETED));
+      MatcherAssert.assertThat(generationResult.getFrontier().isEmpty(), Matchers.is(true));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior(), Matchers.is(expectedHybridSystemBehavior));
+   }
+
+   @Test
+   public void testGenerateWithoutLimitsCollapsed() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.COLLAPSED);
+
+      GenerationResult generationResult = hybridSystemBehaviorGenerator.generate(new ExplorationLimits());
+
+      MatcherAssert.assertThat(generationResult.isComplete(), Matchers.is(true));
+      MatcherAssert.assertThat(generationResult.getCompressionRatio(), Matchers.greaterThan(1.0));
+      MatcherAssert.assertThat(generationResult.getCompressionRatio(),
+            Matchers.is(hybridSystemBehaviorGenerator.getCompressionRatio()));
+      MatcherAssert.assertThat(generationResult.getStateVectorFile(), Matchers.nullValue());
+   }
+
+   @Test
+   public void testGenerateMaxDepth() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setMaxDepth(0);
+
+      GenerationResult generationResult = createHybridSystemBehaviorGenerator().generate(explorationLimits);
+
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.MAX_DEPTH));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(), Matchers.is(1));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getTransitions().size(), Matchers.is(0));
+      MatcherAssert.assertThat(generationResult.getFrontier(),
+            Matchers.is(generationResult.getHybridSystemBehavior().getStates()));
+
+      explorationLimits.setMaxDepth(3);
+      generationResult = createHybridSystemBehaviorGenerator().generate(explorationLimits);
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+      GenerationResult encodedGenerationResult = hybridSystemBehaviorGenerator.generate(explorationLimits);
+
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.MAX_DEPTH));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(), Matchers.is(47));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getTransitions().size(), Matchers.is(97));
+      MatcherAssert.assertThat(generationResult.getFrontier().size(), Matchers.is(22));
+      MatcherAssert.assertThat(encodedGenerationResult.getStopReason(), Matchers.is(StopReason.MAX_DEPTH));
+      MatcherAssert.assertThat(encodedGenerationResult.getHybridSystemBehavior(),
+            Matchers.is(generationResult.getHybridSystemBehavior()));
+      MatcherAssert.assertThat(encodedGenerationResult.getFrontier(), Matchers.is(generationResult.getFrontier()));
+   }
+
+   @Test
+   public void testGenerateMaxStateCount() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setMaxStateCount(50);
+
+      GenerationResult generationResult = createHybridSystemBehaviorGenerator().generate(explorationLimits);
+
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.MAX_STATE_COUNT));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(),
+            Matchers.greaterThanOrEqualTo(50));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(), Matchers.lessThan(162));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates()
+            .containsAll(generationResult.getFrontier()), Matchers.is(true));
+      generationResult.getHybridSystemBehavior().getTransitions().forEach(transition -> MatcherAssert
+            .assertThat(generationResult.getFrontier().contains(transition.getSourceState()), Matchers.is(false)));
+   }
+
+   @Test
+   public void testGenerateMaxTransitionCount() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setMaxTransitionCount(0);
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+
+      GenerationResult generationResult = hybridSystemBehaviorGenerator.generate(explorationLimits);
+
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.MAX_TRANSITION_COUNT));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(), Matchers.is(1));
+      MatcherAssert.assertThat(generationResult.getFrontier().size(), Matchers.is(1));
+   }
+
+   @Test
+   public void testGenerateTimeLimit() {
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setTimeLimit(0);
+
+      GenerationResult generationResult = createHybridSystemBehaviorGenerator().generate(explorationLimits);
+
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.TIME_LIMIT));
+      MatcherAssert.assertThat(generationResult.isComplete(), Matchers.is(false));
+      MatcherAssert.assertThat(generationResult.getHybridSystemBehavior().getStates().size(), Matchers.is(1));
+   }
+
+   @Test
+   public void testGenerateLimitsAndResume() throws IOException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      ExplorationLimits explorationLimits = new ExplorationLimits();
+      explorationLimits.setMaxStateCount(100);
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.ENCODED);
+      hybridSystemBehaviorGenerator.setCheckpointDirectory(temporaryFolder.getRoot().toPath());
+      GenerationResult generationResult = hybridSystemBehaviorGenerator.generate(explorationLimits);
+      MatcherAssert.assertThat(generationResult.getStopReason(), Matchers.is(StopReason.MAX_STATE_COUNT));
+
+      HybridSystemBehavior hybridSystemBehavior = hybridSystemBehaviorGenerator
+            .resume(temporaryFolder.getRoot().toPath());
+
+      MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior, Matchers.is(hybridSystemBehavior));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testGenerateLimitsParallelBreadthFirst() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setExplorationStrategy(ExplorationStrategy.PARALLEL_BREADTH_FIRST);
+      hybridSystemBehaviorGenerator.generate(new ExplorationLimits());
+   }
+
+   @Test
+   public void testGenerateAsync() throws InterruptedException, ExecutionException {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      ExecutorService executorService = Executors.newSingleThreadExecutor();
+      try {
+         HybridSystemBehavior hybridSystemBehavior = createHybridSystemBehaviorGenerator()
+               .generateAsync(executorService).get();
+
+         MatcherAssert.assertThat(hybridSystemBehavior, Matchers.is(expectedHybridSystemBehavior));
+      } finally {
+         executorService.shutdown();
+      }
+   }
+
+   @Test
+   public void testGenerateAsyncCancelled() {
+      List<Runnable> tasks = new ArrayList<Runnable>();
+      CompletableFuture<HybridSystemBehavior> future = createHybridSystemBehaviorGenerator()
+            .generateAsync(tasks::add);
+
+      future.cancel(false);
+      tasks.forEach(Runnable::run);
+
+      MatcherAssert.assertThat(future.isCancelled(), Matchers.is(true));
+   }
+
+   @Test
+   public void testExploreCancelledWhileRunning() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = hybridSystemBehaviorGenerator.getParticipantToConcreteParticipantBehaviorMap();
+      Map<Participant, Integer> participantToMessageQueueSizeMap
+            = hybridSystemBehaviorGenerator.getParticipantToMessageQueueSizeMap();
+
+      for (ExplorationStrategy explorationStrategy : Arrays.asList(ExplorationStrategy.PARALLEL_BREADTH_FIRST,
+            ExplorationStrategy.WORK_STEALING)) {
+         /*
+          * the exploration is cancelled by one of the workers while expanding the twentieth state, therefore only the
+          * states whose expansion already started can be expanded afterwards, one for each other worker
+          */
+         AtomicInteger startedExpansionCount = new AtomicInteger();
+         AtomicInteger completedExpansionCount = new AtomicInteger();
+         int parallelism = 4;
+         AbstractExplorer explorer = explorationStrategy == ExplorationStrategy.PARALLEL_BREADTH_FIRST
+               ? new ParallelBreadthFirstExplorer(participantToConcreteParticipantBehaviorMap,
+                     participantToMessageQueueSizeMap, parallelism) {
+                  @Override
+                  protected void findTransitions(
+                        final com.sesygroup.choreography.hybridsystembehavior.model.State sourceState,
+                        final EnabledMoves sourceMoves,
+                        final Collection<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions,
+                        final Collection<EnabledMoves> targetMoves) {
+                     if (startedExpansionCount.incrementAndGet() == 20) {
+                        cancel();
+                     }
+                     super.findTransitions(sourceState, sourceMoves, transitions, targetMoves);
+                     completedExpansionCount.incrementAndGet();
+                  }
+               }
+               : new WorkStealingExplorer(participantToConcreteParticipantBehaviorMap,
+                     participantToMessageQueueSizeMap, parallelism) {
+                  @Override
+                  protected void findTransitions(
+                        final com.sesygroup.choreography.hybridsystembehavior.model.State sourceState,
+                        final EnabledMoves sourceMoves,
+                        final Collection<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions,
+                        final Collection<EnabledMoves> targetMoves) {
+                     if (startedExpansionCount.incrementAndGet() == 20) {
+                        cancel();
+                     }
+                     super.findTransitions(sourceState, sourceMoves, transitions, targetMoves);
+                     completedExpansionCount.incrementAndGet();
+                  }
+               };
+         try {
+            explorer.explore();
+            Assert.fail();
+         } catch (CancellationException e) {
+            MatcherAssert.assertThat(explorer.isCancelled(), Matchers.is(true));
+            MatcherAssert.assertThat(completedExpansionCount.get(), Matchers.lessThanOrEqualTo(19 + parallelism - 1));
+         }
+      }
+   }
+
+   @Test
+   public void testExploreCancelled() {
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = hybridSystemBehaviorGenerator.getParticipantToConcreteParticipantBehaviorMap();
+      Map<Participant, Integer> participantToMessageQueueSizeMap
+            = hybridSystemBehaviorGenerator.getParticipantToMessageQueueSizeMap();
+
+      for (AbstractExplorer explorer : Arrays.asList(
+            new SequentialExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap),
+            new EncodedExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+                  StateStorage.ENCODED, null),
+            new ParallelBreadthFirstExplorer(participantToConcreteParticipantBehaviorMap,
+                  participantToMessageQueueSizeMap, 2),
+            new WorkStealingExplorer(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap,
+                  2))) {
+         explorer.cancel();
+         try {
+            explorer.explore();
+            Assert.fail();
+         } catch (CancellationException e) {
+            MatcherAssert.assertThat(explorer.isCancelled(), Matchers.is(true));
+         }
+      }
+   }
+
+   @Test
+   public void testTransitionStream() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = createHybridSystemBehaviorGenerator().transitionStream().collect(Collectors.toSet());
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> parallelTransitions
+            = createHybridSystemBehaviorGenerator().transitionStream().parallel().collect(Collectors.toSet());
+
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      MatcherAssert.assertThat(parallelTransitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      MatcherAssert.assertThat(createHybridSystemBehaviorGenerator().transitionStream().limit(10).count(),
+            Matchers.is(10L));
+   }
+
+   @Test
+   public void testTransitionIterator() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      Iterator<com.sesygroup.choreography.hybridsystembehavior.model.Transition> iterator
+            = createHybridSystemBehaviorGenerator().transitionIterator();
+      com.sesygroup.choreography.hybridsystembehavior.model.Transition transition = iterator.next();
+
+      MatcherAssert.assertThat(transition.getSourceState(),
+            Matchers.is(expectedHybridSystemBehavior.getInitialState()));
+      MatcherAssert.assertThat(expectedHybridSystemBehavior.getTransitions().contains(transition), Matchers.is(true));
+   }
+
+   @Test
+   public void testTransitionSpliterator() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      Spliterator<com.sesygroup.choreography.hybridsystembehavior.model.Transition> spliterator
+            = createHybridSystemBehaviorGenerator().transitionSpliterator();
+      Spliterator<com.sesygroup.choreography.hybridsystembehavior.model.Transition> splitSpliterator
+            = spliterator.trySplit();
+      MatcherAssert.assertThat(splitSpliterator, Matchers.notNullValue());
+
+      /*
+       * each state is expanded exactly once, by one of the two spliterators
+       */
+      List<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new ArrayList<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      spliterator.forEachRemaining(transitions::add);
+      splitSpliterator.forEachRemaining(transitions::add);
+
+      MatcherAssert.assertThat(transitions.size(), Matchers.is(468));
+      MatcherAssert.assertThat(new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>(
+            transitions), Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+      MatcherAssert.assertThat(spliterator.estimateSize(), Matchers.is(0L));
+   }
+
+   @Test
+   public void testGenerateTransitionSink() {
+      HybridSystemBehavior expectedHybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+
+      CountingTransitionSink countingTransitionSink = new CountingTransitionSink();
+      long transitionCount = createHybridSystemBehaviorGenerator().generate(countingTransitionSink);
+
+      MatcherAssert.assertThat(transitionCount, Matchers.is(468L));
+      MatcherAssert.assertThat(countingTransitionSink.getStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(countingTransitionSink.getTransitionCount(), Matchers.is(468L));
+
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.State> states
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.State>();
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.COLLAPSED);
+      hybridSystemBehaviorGenerator.generate(new TransitionSink() {
+         @Override
+         public void accept(final com.sesygroup.choreography.hybridsystembehavior.model.Transition transition) {
+            transitions.add(transition);
+         }
+
+         @Override
+         public void acceptState(final com.sesygroup.choreography.hybridsystembehavior.model.State state) {
+            states.add(state);
+         }
+      });
+
+      MatcherAssert.assertThat(states, Matchers.is(expectedHybridSystemBehavior.getStates()));
+      MatcherAssert.assertThat(transitions, Matchers.is(expectedHybridSystemBehavior.getTransitions()));
+   }
+
+   @Test
+   public void testGenerateStatistics() {
+      HybridSystemBehavior hybridSystemBehavior = createHybridSystemBehaviorGenerator().generate();
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.State> sourceStates = hybridSystemBehavior
+            .getTransitions().stream()
+            .map(com.sesygroup.choreography.hybridsystembehavior.model.Transition::getSourceState)
+            .collect(Collectors.toSet());
+      int maximumMessageQueueFill = hybridSystemBehavior.getStates().stream()
+            .flatMap(state -> state.getParticipantToMessageQueueMap().values().stream())
+            .filter(messageQueue -> messageQueue.getQueue() != null)
+            .mapToInt(messageQueue -> messageQueue.getQueue().size()).max().getAsInt();
+
+      GenerationStatistics generationStatistics = createHybridSystemBehaviorGenerator().generateStatistics();
+
+      MatcherAssert.assertThat(generationStatistics.getStateCount(), Matchers.is(162L));
+      MatcherAssert.assertThat(generationStatistics.getTransitionCount(), Matchers.is(468L));
+      MatcherAssert.assertThat(generationStatistics.getAsynchSendActTransitionCount(),
+            Matchers.is(countTransitions(hybridSystemBehavior, AsynchSendActTransition.class)));
+      MatcherAssert.assertThat(generationStatistics.getAsynchReceiveActAndMsgConsumptionTransitionCount(),
+            Matchers.is(countTransitions(hybridSystemBehavior, AsynchReceiveActAndMsgConsumptionTransition.class)));
+      MatcherAssert.assertThat(generationStatistics.getSynchSendReceiveActAndMsgConsumptionTransitionCount(),
+            Matchers.is(countTransitions(hybridSystemBehavior, SynchSendReceiveActAndMsgConsumptionTransition.class)));
+      MatcherAssert.assertThat(generationStatistics.getInternalActionTransitionCount(),
+            Matchers.is(countTransitions(hybridSystemBehavior,
+                  com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition.class)));
+      MatcherAssert.assertThat(generationStatistics.getSynchSendReceiveActAndMsgConsumptionTransitionCount(),
+            Matchers.greaterThan(0L));
+      MatcherAssert.assertThat(generationStatistics.getMaximumMessageQueueFill(), Matchers.is(maximumMessageQueueFill));
+      MatcherAssert.assertThat(generationStatistics.getDeadlockStateCount(),
+            Matchers.is((long) (hybridSystemBehavior.getStates().size() - sourceStates.size())));
+   }
+
+   @Test
+   public void testGenerateStatisticsCollapsed() {
+      GenerationStatistics expectedGenerationStatistics = createHybridSystemBehaviorGenerator().generateStatistics();
+
+      HybridSystemBehaviorGenerator hybridSystemBehaviorGenerator = createHybridSystemBehaviorGenerator();
+      hybridSystemBehaviorGenerator.setStateStorage(StateStorage.COLLAPSED);
+      GenerationStatistics generationStatistics = hybridSystemBehaviorGenerator.generateStatistics();
+
+      MatcherAssert.assertThat(generationStatistics.toString(), Matchers.is(expectedGenerationStatistics.toString()));
+   }
+
+   @Test
+   public void testGenerateStatisticsInternalSelfLoops() {
+      HybridSystemBehavior hybridSystemBehavior = createInternalSelfLoopsHybridSystemBehaviorGenerator().generate();
+
+      GenerationStatistics generationStatistics = createInternalSelfLoopsHybridSystemBehaviorGenerator()
+            .generateStatistics();
+
+      MatcherAssert.assertThat(generationStatistics.getStateCount(),
+            Matchers.is((long) hybridSystemBehavior.getStates().size()));
+      MatcherAssert.assertThat(generationStatistics.getTransitionCount(),
+            Matchers.is((long) hybridSystemBehavior.getTransitions().size()));
+      MatcherAssert.assertThat(generationStatistics.getInternalActionTransitionCount(),
+            Matchers.is(countTransitions(hybridSystemBehavior,
+                  com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition.class)));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testSetBitstateSize() {
+      createHybridSystemBehaviorGenerator().setBitstateSize(63);
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testSetParallelism() {
+      createHybridSystemBehaviorGenerator().setParallelism(0);
+   }
+
+   private static long countTransitions(final HybridSystemBehavior hybridSystemBehavior,
+         final Class<? extends com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitionClass) {
+      return hybridSystemBehavior.getTransitions().stream().filter(transitionClass::isInstance).count();
+   }
+
+   private HybridSystemBehaviorGenerator createHybridSystemBehaviorGenerator() {
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new HashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P1"), mockedConcreteParticipantBehaviorP1);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P2"), mockedConcreteParticipantBehaviorP2);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P3"), mockedConcreteParticipantBehaviorP3);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P4"), mockedConcreteParticipantBehaviorP4);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P5"), mockedConcreteParticipantBehaviorP5);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P6"), mockedConcreteParticipantBehaviorP6);
+
+      Map<Participant, Integer> participantToMessageQueueSizeMap = new HashMap<Participant, Integer>();
+      participantToMessageQueueSizeMap.put(new Participant("P1"), 1);
+      participantToMessageQueueSizeMap.put(new Participant("P2"), 1);
+      participantToMessageQueueSizeMap.put(new Participant("P3"), 1);
+      participantToMessageQueueSizeMap.put(new Participant("P4"), 0);
+      participantToMessageQueueSizeMap.put(new Participant("P5"), 0);
+      participantToMessageQueueSizeMap.put(new Participant("P6"), 0);
+
+      return new HybridSystemBehaviorGenerator(participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap);
+   }
+
+   private HybridSystemBehaviorGenerator createInternalSelfLoopsHybridSystemBehaviorGenerator() {
+      ConcreteParticipantBehavior concreteParticipantBehaviorP1 = new ConcreteParticipantBehavior(
+            new LinkedHashSet<State>(Arrays.asList(new State("s0"), new State("s1"))), new State("s0"),
+            new LinkedHashSet<Message>(Arrays.asList(new OutputMessage("m1"))),
+            new LinkedHashSet<Transition>(Arrays.asList(new InternalActionTransition(new State("s0"), new State("s0")),
+                  new AsynchronousSendActionTransition(new State("s0"), new State("s1"), new OutputMessage("m1")))));
+      ConcreteParticipantBehavior concreteParticipantBehaviorP2 = new ConcreteParticipantBehavior(
+            new LinkedHashSet<State>(Arrays.asList(new State("s0"), new State("s1"))), new State("s0"),
+            new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"))),
+            new LinkedHashSet<Transition>(Arrays.asList(new InternalActionTransition(new State("s0"), new State("s0")),
+                  new AsynchronousReceiveActionTransition(new State("s0"), new State("s1"), new InputMessage("m1")))));
+
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new HashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P1"), concreteParticipantBehaviorP1);
+      participantToConcreteParticipantBehaviorMap.put(new Participant("P2"), concreteParticipantBehaviorP2);
+
+      Map<Participant, Integer> participantToMessageQueueSizeMap = new HashMap<Participant, Integer>();
+      participantToMessageQueueSizeMap.put(new Participant("P1"), 1);
+      participantToMessageQueueSizeMap.put(new Participant("P2"), 1);
+
+      return new HybridSystemBehaviorGenerator(participantToConcreteParticipantBehaviorMap,
+            participantToMessageQueueSizeMap);
+   }
+
 }
@@ -15,11 +15,13 @@
  */
 package com.sesygroup.choreography.hybridsystembehavior.generator;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -341,4 +343,103 @@ public class HybridSystemBehaviorGeneratorUtilsTest {
                         new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v2"))));
    }
 
+   @Test
+   public void testFindTransitions() {
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new LinkedHashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p1"),
+            new ConcreteParticipantBehavior(
+                  new LinkedHashSet<com.sesygroup.choreography.concreteparticipantbehavior.model.State>(Arrays.asList(
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v0"),
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v1"),
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v2"))),
+                  new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v0"),
+                  new LinkedHashSet<Message>(Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(
+                        new AsynchronousSendActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v1"),
+                              new OutputMessage("m1")),
+                        new SynchronousSendActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v2"),
+                              new OutputMessage("m2")),
+                        new InternalActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("v2"))))));
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p2"),
+            new ConcreteParticipantBehavior(
+                  new LinkedHashSet<com.sesygroup.choreography.concreteparticipantbehavior.model.State>(Arrays.asList(
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w0"),
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w1"),
+                        new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w2"))),
+                  new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w0"),
+                  new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"), new InputMessage("m2"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(
+                        new AsynchronousReceiveActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w2"),
+                              new InputMessage("m1")),
+                        new SynchronousReceiveActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w1"),
+                              new InputMessage("m2")),
+                        new InternalActionTransition(
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w0"),
+                              new com.sesygroup.choreography.concreteparticipantbehavior.model.State("w1"))))));
+      Map<Participant, Integer> participantToMessageQueueSizeMap = new LinkedHashMap<Participant, Integer>();
+      participantToMessageQueueSizeMap.put(new Participant("p1"), 1);
+      participantToMessageQueueSizeMap.put(new Participant("p2"), 1);
+      ConcreteTransitionIndex concreteTransitionIndex
+            = new ConcreteTransitionIndex(participantToConcreteParticipantBehaviorMap);
+      State initialState = HybridSystemBehaviorGeneratorUtils
+            .createInitialState(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+
+      /*
+       * the transitions are added to the buffer, after the ones it already contains
+       */
+      List<com.sesygroup.choreography.hybridsystembehavior.model.Transition> transitions
+            = new ArrayList<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, initialState, transitions);
+      MatcherAssert.assertThat(transitions.size(), Matchers.is(4));
+      State targetState = transitions.get(0).getTargetState();
+      HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, targetState, transitions);
+
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> expectedTransitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      for (State sourceState : Arrays.asList(initialState, targetState)) {
+         expectedTransitions.addAll(
+               HybridSystemBehaviorGeneratorUtils.findAsynchSendActTransitions(concreteTransitionIndex, sourceState));
+         expectedTransitions.addAll(HybridSystemBehaviorGeneratorUtils
+               .findAsynchReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState));
+         expectedTransitions.addAll(HybridSystemBehaviorGeneratorUtils
+               .findSynchSendReceiveActAndMsgConsumptionTransitions(concreteTransitionIndex, sourceState));
+         expectedTransitions.addAll(
+               HybridSystemBehaviorGeneratorUtils.findInternalActionTransitions(concreteTransitionIndex, sourceState));
+      }
+      MatcherAssert.assertThat(transitions.size(), Matchers.is(expectedTransitions.size()));
+      MatcherAssert.assertThat(new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>(
+            transitions), Matchers.is(expectedTransitions));
+      MatcherAssert.assertThat(
+            HybridSystemBehaviorGeneratorUtils.findTransitions(concreteTransitionIndex, initialState),
+            Matchers.is(transitions.subList(0, 4)));
+
+      /*
+       * the overloads searching the participant to concrete participant behavior map find the same transitions
+       */
+      Set<com.sesygroup.choreography.hybridsystembehavior.model.Transition> mapTransitions
+            = new HashSet<com.sesygroup.choreography.hybridsystembehavior.model.Transition>();
+      for (State sourceState : Arrays.asList(initialState, targetState)) {
+         mapTransitions.addAll(HybridSystemBehaviorGeneratorUtils
+               .findAsynchSendActTransitions(participantToConcreteParticipantBehaviorMap, sourceState));
+         mapTransitions.addAll(HybridSystemBehaviorGeneratorUtils.findAsynchReceiveActAndMsgConsumptionTransitions(
+               participantToConcreteParticipantBehaviorMap, sourceState));
+         mapTransitions.addAll(HybridSystemBehaviorGeneratorUtils.findSynchSendReceiveActAndMsgConsumptionTransitions(
+               participantToConcreteParticipantBehaviorMap, sourceState));
+         mapTransitions.addAll(HybridSystemBehaviorGeneratorUtils
+               .findInternalActionTransitions(participantToConcreteParticipantBehaviorMap, sourceState));
+      }
+      MatcherAssert.assertThat(mapTransitions, Matchers.is(expectedTransitions));
+   }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class OffHeapStateVectorStoreTest {
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testAdd() {
+      OffHeapStateVectorStore offHeapStateVectorStore = new OffHeapStateVectorStore(3);
+
+      MatcherAssert.assertThat(offHeapStateVectorStore.add(new int[] { 1, 2, 3 }), Matchers.is(0));
+      MatcherAssert.assertThat(offHeapStateVectorStore.add(new int[] { 3, 2, 1 }), Matchers.is(1));
+      MatcherAssert.assertThat(offHeapStateVectorStore.add(new int[] { 1, 2, 3 }), Matchers.is(-1));
+      MatcherAssert.assertThat(offHeapStateVectorStore.size(), Matchers.is(2));
+      MatcherAssert.assertThat(offHeapStateVectorStore.indexOf(new int[] { 3, 2, 1 }), Matchers.is(1));
+      MatcherAssert.assertThat(offHeapStateVectorStore.indexOf(new int[] { 2, 2, 2 }), Matchers.is(-1));
+      MatcherAssert.assertThat(offHeapStateVectorStore.getFile(), Matchers.nullValue());
+   }
+
+   @Test
+   public void testAddMany() {
+      OffHeapStateVectorStore offHeapStateVectorStore = new OffHeapStateVectorStore(2, 1000, null);
+      for (int i = 0; i < 100000; i++) {
+         MatcherAssert.assertThat(offHeapStateVectorStore.add(new int[] { i % 317, i / 317 }), Matchers.is(i));
+      }
+
+      int[] vector = new int[2];
+      for (int i = 0; i < 100000; i += 997) {
+         offHeapStateVectorStore.get(i, vector);
+         MatcherAssert.assertThat(vector, Matchers.is(new int[] { i % 317, i / 317 }));
+         MatcherAssert.assertThat(offHeapStateVectorStore.add(vector), Matchers.is(-i - 1));
+      }
+   }
+
+   @Test
+   public void testAddMapped() throws IOException {
+      Path directory = temporaryFolder.getRoot().toPath();
+      OffHeapStateVectorStore offHeapStateVectorStore = new OffHeapStateVectorStore(2, directory);
+      for (int i = 0; i < 1000; i++) {
+         MatcherAssert.assertThat(offHeapStateVectorStore.add(new int[] { i, -i }), Matchers.is(i));
+      }
+
+      Path file = offHeapStateVectorStore.getFile();
+      MatcherAssert.assertThat(file.getParent(), Matchers.is(directory));
+      try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "r")) {
+         randomAccessFile.seek(999 * 2 * Integer.BYTES);
+         MatcherAssert.assertThat(randomAccessFile.readInt(), Matchers.is(999));
+         MatcherAssert.assertThat(randomAccessFile.readInt(), Matchers.is(-999));
+      }
+   }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import com.sesygroup.choreography.hybridsystembehavior.model.Transition;
+import com.sesygroup.choreography.hybridsystembehavior.model.action.InternalActionTransition;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class QueueTransitionSinkTest {
+
+   @Test
+   public void testTake() throws InterruptedException {
+      QueueTransitionSink queueTransitionSink = new QueueTransitionSink(2);
+      List<Transition> transitions = new ArrayList<Transition>();
+      for (int i = 0; i < 100; i++) {
+         transitions.add(new InternalActionTransition());
+      }
+
+      Thread producer = new Thread(() -> {
+         transitions.forEach(queueTransitionSink::accept);
+         queueTransitionSink.close();
+      });
+      producer.start();
+      List<Transition> takenTransitions = new ArrayList<Transition>();
+      for (Transition transition = queueTransitionSink.take(); transition != null; transition = queueTransitionSink
+            .take()) {
+         takenTransitions.add(transition);
+      }
+      producer.join();
+
+      MatcherAssert.assertThat(takenTransitions.size(), Matchers.is(100));
+      for (int i = 0; i < 100; i++) {
+         MatcherAssert.assertThat(takenTransitions.get(i) == transitions.get(i), Matchers.is(true));
+      }
+      MatcherAssert.assertThat(queueTransitionSink.take(), Matchers.nullValue());
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testQueueTransitionSink() {
+      new QueueTransitionSink(0);
+   }
+}
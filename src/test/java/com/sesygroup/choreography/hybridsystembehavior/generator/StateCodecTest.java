@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+import com.sesygroup.choreography.hybridsystembehavior.model.State;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class StateCodecTest {
+   private static StateCodec stateCodec;
+   private static State state;
+
+   @BeforeClass
+   public static void setUp() {
+      com.sesygroup.choreography.concreteparticipantbehavior.model.State s0
+            = new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s0");
+      com.sesygroup.choreography.concreteparticipantbehavior.model.State s1
+            = new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s1");
+
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new LinkedHashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p1"),
+            new ConcreteParticipantBehavior(
+                  new LinkedHashSet<com.sesygroup.choreography.concreteparticipantbehavior.model.State>(
+                        Arrays.asList(s0, s1)),
+                  s0, new LinkedHashSet<Message>(Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(
+                        new AsynchronousSendActionTransition(s0, s1, new OutputMessage("m1")),
+                        new AsynchronousSendActionTransition(s1, s0, new OutputMessage("m2"))))));
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p2"),
+            new ConcreteParticipantBehavior(
+                  new LinkedHashSet<com.sesygroup.choreography.concreteparticipantbehavior.model.State>(
+                        Arrays.asList(s0, s1)),
+                  s0, new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"), new InputMessage("m2"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(
+                        new AsynchronousReceiveActionTransition(s0, s1, new InputMessage("m1")),
+                        new AsynchronousReceiveActionTransition(s1, s0, new InputMessage("m2"))))));
+
+      Map<Participant, Integer> participantToMessageQueueSizeMap = new LinkedHashMap<Participant, Integer>();
+      participantToMessageQueueSizeMap.put(new Participant("p1"), 0);
+      participantToMessageQueueSizeMap.put(new Participant("p2"), 2);
+
+      stateCodec = new StateCodec(participantToConcreteParticipantBehaviorMap, participantToMessageQueueSizeMap);
+
+      Map<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State> participantStates
+            = new LinkedHashMap<Participant, com.sesygroup.choreography.concreteparticipantbehavior.model.State>();
+      participantStates.put(new Participant("p1"), s1);
+      participantStates.put(new Participant("p2"), s0);
+      MessageQueue messageQueue = new MessageQueue(2);
+      messageQueue.getQueue().offer(new OutputMessage("m2"));
+      Map<Participant, MessageQueue> participantQueues = new LinkedHashMap<Participant, MessageQueue>();
+      participantQueues.put(new Participant("p1"), new MessageQueue(0));
+      participantQueues.put(new Participant("p2"), messageQueue);
+      state = new State(participantStates, participantQueues);
+   }
+
+   @Test
+   public void testGetVectorLength() {
+      MatcherAssert.assertThat(stateCodec.getVectorLength(), Matchers.is(5));
+   }
+
+   @Test
+   public void testEncode() {
+      MatcherAssert.assertThat(stateCodec.encode(state), Matchers.is(new int[] { 1, 0, 1, 1, 0 }));
+   }
+
+   @Test
+   public void testDecode() {
+      State decodedState = stateCodec.decode(stateCodec.encode(state));
+
+      MatcherAssert.assertThat(decodedState, Matchers.is(state));
+      MatcherAssert.assertThat(decodedState.isFrozen(), Matchers.is(true));
+      MatcherAssert.assertThat(decodedState.toString(), Matchers.is(state.toString()));
+   }
+
+   @Test
+   public void testEncodeOffset() {
+      int[] vector = new int[7];
+      stateCodec.encode(state, vector, 2);
+
+      MatcherAssert.assertThat(vector, Matchers.is(new int[] { 0, 0, 1, 0, 1, 1, 0 }));
+      MatcherAssert.assertThat(stateCodec.decode(vector, 2), Matchers.is(state));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testEncodeUnknownConcreteState() {
+      stateCodec.encode(state.withConcreteParticipantBehaviorState(new Participant("p1"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s2")));
+   }
+}
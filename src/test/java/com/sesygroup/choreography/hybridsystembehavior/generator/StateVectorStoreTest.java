@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class StateVectorStoreTest {
+
+   @Test
+   public void testAdd() {
+      StateVectorStore stateVectorStore = new StateVectorStore(3);
+
+      MatcherAssert.assertThat(stateVectorStore.add(new int[] { 1, 2, 3 }), Matchers.is(0));
+      MatcherAssert.assertThat(stateVectorStore.add(new int[] { 3, 2, 1 }), Matchers.is(1));
+      MatcherAssert.assertThat(stateVectorStore.add(new int[] { 1, 2, 3 }), Matchers.is(-1));
+      MatcherAssert.assertThat(stateVectorStore.size(), Matchers.is(2));
+      MatcherAssert.assertThat(stateVectorStore.indexOf(new int[] { 3, 2, 1 }), Matchers.is(1));
+      MatcherAssert.assertThat(stateVectorStore.indexOf(new int[] { 2, 2, 2 }), Matchers.is(-1));
+   }
+
+   @Test
+   public void testAddMany() {
+      StateVectorStore stateVectorStore = new StateVectorStore(2);
+      for (int i = 0; i < 100000; i++) {
+         MatcherAssert.assertThat(stateVectorStore.add(new int[] { i % 317, i / 317 }), Matchers.is(i));
+      }
+
+      int[] vector = new int[2];
+      for (int i = 0; i < 100000; i += 997) {
+         stateVectorStore.get(i, vector);
+         MatcherAssert.assertThat(vector, Matchers.is(new int[] { i % 317, i / 317 }));
+         MatcherAssert.assertThat(stateVectorStore.add(vector), Matchers.is(-i - 1));
+      }
+   }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.ConcreteParticipantBehavior;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.State;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Transition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousReceiveActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.action.AsynchronousSendActionTransition;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
+import com.sesygroup.choreography.hybridsystembehavior.model.Participant;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class SymbolTableTest {
+   private static SymbolTable symbolTable;
+
+   @BeforeClass
+   public static void setUp() {
+      Map<Participant, ConcreteParticipantBehavior> participantToConcreteParticipantBehaviorMap
+            = new LinkedHashMap<Participant, ConcreteParticipantBehavior>();
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p1"),
+            new ConcreteParticipantBehavior(new LinkedHashSet<State>(Arrays.asList(new State("s0"))), new State("s0"),
+                  new LinkedHashSet<Message>(Arrays.asList(new OutputMessage("m1"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(new AsynchronousSendActionTransition(new State("s0"),
+                        new State("s1"), new OutputMessage("m1"))))));
+      participantToConcreteParticipantBehaviorMap.put(new Participant("p2"),
+            new ConcreteParticipantBehavior(
+                  new LinkedHashSet<State>(Arrays.asList(new State("s0"), new State("s1"))), new State("s0"),
+                  new LinkedHashSet<Message>(Arrays.asList(new InputMessage("m1"), new InputMessage("m2"))),
+                  new LinkedHashSet<Transition>(Arrays.asList(new AsynchronousReceiveActionTransition(new State("s0"),
+                        new State("s1"), new InputMessage("m1"))))));
+      symbolTable = new SymbolTable(participantToConcreteParticipantBehaviorMap);
+   }
+
+   @Test
+   public void testParticipants() {
+      MatcherAssert.assertThat(symbolTable.getParticipantCount(), Matchers.is(2));
+      MatcherAssert.assertThat(symbolTable.getParticipantId(new Participant("p2")), Matchers.is(1));
+      MatcherAssert.assertThat(symbolTable.getParticipantId(new Participant("p3")), Matchers.is(-1));
+      MatcherAssert.assertThat(symbolTable.getParticipant(0), Matchers.is(new Participant("p1")));
+   }
+
+   @Test
+   public void testMessages() {
+      MatcherAssert.assertThat(symbolTable.getMessageCount(), Matchers.is(2));
+      MatcherAssert.assertThat(symbolTable.getMessageId("m1"), Matchers.is(0));
+      MatcherAssert.assertThat(symbolTable.getMessageId("m3"), Matchers.is(-1));
+      MatcherAssert.assertThat(symbolTable.getMessageName(1), Matchers.is("m2"));
+      MatcherAssert.assertThat(symbolTable.getOutputMessage(0), Matchers.is(new OutputMessage("m1")));
+      MatcherAssert.assertThat(symbolTable.getInputMessage(0), Matchers.is(new InputMessage("m1")));
+      MatcherAssert.assertThat(symbolTable.getOutputMessage(1), Matchers.nullValue());
+      MatcherAssert.assertThat(symbolTable.isInputMessage(1, 0), Matchers.is(true));
+      MatcherAssert.assertThat(symbolTable.isInputMessage(0, 0), Matchers.is(false));
+      MatcherAssert.assertThat(symbolTable.isInputMessage(1, -1), Matchers.is(false));
+   }
+
+   @Test
+   public void testConcreteStates() {
+      /*
+       * the state s1 of p1 only appears in its transitions
+       */
+      MatcherAssert.assertThat(symbolTable.getConcreteStateCount(0), Matchers.is(2));
+      MatcherAssert.assertThat(symbolTable.getConcreteStateId(0, new State("s1")), Matchers.is(1));
+      MatcherAssert.assertThat(symbolTable.getConcreteStateId(1, new State("s2")), Matchers.is(-1));
+      MatcherAssert.assertThat(symbolTable.getConcreteState(1, 1), Matchers.is(new State("s1")));
+   }
+
+   @Test
+   public void testGetConcreteStateIds() {
+      Map<Participant, State> participantStates = new LinkedHashMap<Participant, State>();
+      participantStates.put(new Participant("p2"), new State("s1"));
+      participantStates.put(new Participant("p1"), new State("s0"));
+      Map<Participant, MessageQueue> participantQueues = new LinkedHashMap<Participant, MessageQueue>();
+      participantQueues.put(new Participant("p2"), new MessageQueue(0));
+      participantQueues.put(new Participant("p1"), new MessageQueue(0));
+
+      MatcherAssert.assertThat(symbolTable.getConcreteStateIds(
+            new com.sesygroup.choreography.hybridsystembehavior.model.State(participantStates, participantQueues)),
+            Matchers.is(new int[] { 0, 1 }));
+   }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class VectorRunsTest {
+   @Rule
+   public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+   @Test
+   public void testWriteRun() throws IOException {
+      Path run = VectorRuns.writeRun(temporaryFolder.getRoot().toPath(),
+            new ArrayList<int[]>(Arrays.asList(new int[] { 2, 1 }, new int[] { 1, 3 }, new int[] { 2, 1 })));
+
+      MatcherAssert.assertThat(read(Arrays.asList(run)),
+            Matchers.contains(new int[] { 1, 3 }, new int[] { 2, 1 }));
+   }
+
+   @Test
+   public void testReadMergedRuns() throws IOException {
+      Path run = VectorRuns.writeRun(temporaryFolder.getRoot().toPath(),
+            new ArrayList<int[]>(Arrays.asList(new int[] { 2, 1 }, new int[] { 1, 3 })));
+      Path otherRun = VectorRuns.writeRun(temporaryFolder.getRoot().toPath(),
+            new ArrayList<int[]>(Arrays.asList(new int[] { 2, 1 }, new int[] { 0, 5 }, new int[] { 3, 0 })));
+      Path emptyRun = VectorRuns.writeRun(temporaryFolder.getRoot().toPath(), new ArrayList<int[]>());
+
+      MatcherAssert.assertThat(read(Arrays.asList(run, otherRun, emptyRun)), Matchers.contains(new int[] { 0, 5 },
+            new int[] { 1, 3 }, new int[] { 2, 1 }, new int[] { 3, 0 }));
+   }
+
+   private static List<int[]> read(final List<Path> runs) throws IOException {
+      List<int[]> vectors = new ArrayList<int[]>();
+      try (VectorRuns.Reader reader = new VectorRuns.Reader(runs, 2)) {
+         int[] vector = new int[2];
+         while (reader.next(vector)) {
+            vectors.add(vector.clone());
+         }
+      }
+      return vectors;
+   }
+}
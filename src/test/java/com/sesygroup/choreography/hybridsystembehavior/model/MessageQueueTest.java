@@ -16,6 +16,8 @@
 package com.sesygroup.choreography.hybridsystembehavior.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import org.apache.commons.collections4.ListUtils;
@@ -26,6 +28,7 @@ import org.mockito.Mockito;
 
 import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
 import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+import com.sesygroup.choreography.hybridsystembehavior.model.MessageAlphabet;
 import com.sesygroup.choreography.hybridsystembehavior.model.MessageQueue;
 
 /**
@@ -91,4 +94,121 @@ public class MessageQueueTest {
       Assert.assertFalse(ListUtils.isEqualList(messageQueuesOne, messageQueuesTwo));
    }
 
+   @Test
+   public void testMessageQueueHashCode() {
+      MessageQueue messageQueueOne = new MessageQueue(2);
+      messageQueueOne.getQueue().offer(new InputMessage("m1"));
+      messageQueueOne.getQueue().offer(new InputMessage("m2"));
+
+      MessageQueue messageQueueTwo = new MessageQueue(2);
+      messageQueueTwo.getQueue().offer(new OutputMessage("m1"));
+      messageQueueTwo.getQueue().offer(new InputMessage("m2"));
+
+      Assert.assertEquals(messageQueueOne.hashCode(), messageQueueTwo.hashCode());
+      Assert.assertTrue(new HashSet<MessageQueue>(Arrays.asList(messageQueueOne)).contains(messageQueueTwo));
+   }
+
+   @Test
+   public void testFrozenMessageQueueEqual() {
+      MessageQueue messageQueueOne = new MessageQueue(2);
+      messageQueueOne.getQueue().offer(new InputMessage("m1"));
+      messageQueueOne.freeze();
+
+      MessageQueue messageQueueTwo = new MessageQueue(2);
+      messageQueueTwo.getQueue().offer(new OutputMessage("m1"));
+
+      Assert.assertTrue(messageQueueOne.isFrozen());
+      Assert.assertEquals(messageQueueOne, messageQueueTwo);
+      Assert.assertEquals(messageQueueTwo, messageQueueOne);
+      Assert.assertEquals(messageQueueOne.hashCode(), messageQueueTwo.hashCode());
+      Assert.assertEquals("[m1]", messageQueueOne.toString());
+      Assert.assertEquals("m1", messageQueueOne.getQueue().peek().getName());
+   }
+
+   @Test
+   public void testFrozenMessageQueueHashCodeChangedBeforeFreeze() {
+      MessageQueue messageQueueOne = new MessageQueue(2);
+      messageQueueOne.getQueue().offer(new InputMessage("m1"));
+      int hashCodeBeforeChange = messageQueueOne.hashCode();
+      messageQueueOne.getQueue().offer(new InputMessage("m2"));
+      messageQueueOne.freeze();
+
+      MessageQueue messageQueueTwo = new MessageQueue(2);
+      messageQueueTwo.getQueue().offer(new OutputMessage("m1"));
+      messageQueueTwo.getQueue().offer(new OutputMessage("m2"));
+      messageQueueTwo.freeze();
+
+      Assert.assertNotEquals(hashCodeBeforeChange, messageQueueOne.hashCode());
+      Assert.assertEquals(messageQueueTwo.hashCode(), messageQueueOne.hashCode());
+      Assert.assertEquals(messageQueueTwo, messageQueueOne);
+      Assert.assertEquals(messageQueueOne, messageQueueTwo);
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testFrozenMessageQueueOffer() {
+      MessageQueue messageQueue = new MessageQueue(2);
+      messageQueue.freeze();
+      messageQueue.getQueue().offer(new InputMessage("m1"));
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testFrozenMessageQueueSetCapacity() {
+      MessageQueue messageQueue = new MessageQueue(2);
+      messageQueue.freeze();
+      messageQueue.setCapacity(3);
+   }
+
+   @Test
+   public void testWithMessageAtTail() {
+      MessageQueue messageQueue = new MessageQueue(2);
+      messageQueue.getQueue().offer(new InputMessage("m1"));
+
+      MessageQueue newMessageQueue = messageQueue.withMessageAtTail(new OutputMessage("m2"));
+
+      Assert.assertTrue(newMessageQueue.isFrozen());
+      Assert.assertEquals("[m1, m2]", newMessageQueue.toString());
+      Assert.assertEquals("[m1]", messageQueue.toString());
+      Assert.assertEquals("[]", newMessageQueue.withoutHeadMessage().withoutHeadMessage().toString());
+      Assert.assertEquals(new MessageQueue(2), newMessageQueue.withoutHeadMessage().withoutHeadMessage());
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testWithMessageAtTailFull() {
+      messageQueue.withMessageAtTail(new OutputMessage("m2"));
+   }
+
+   @Test(expected = IllegalStateException.class)
+   public void testWithoutHeadMessageEmpty() {
+      new MessageQueue(1).withoutHeadMessage();
+   }
+
+   @Test
+   public void testPackedCopy() {
+      MessageAlphabet messageAlphabet = new MessageAlphabet(
+            Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2")));
+      MessageQueue messageQueue = new MessageQueue(3);
+      messageQueue.getQueue().offer(new InputMessage("m2"));
+      messageQueue.getQueue().offer(new InputMessage("m1"));
+      MessageQueue packedMessageQueue = messageQueue.packedCopy(messageAlphabet);
+
+      Assert.assertTrue(packedMessageQueue.isFrozen());
+      Assert.assertEquals(messageQueue, packedMessageQueue);
+      Assert.assertEquals(messageQueue.hashCode(), packedMessageQueue.hashCode());
+      Assert.assertEquals("[m2, m1]", packedMessageQueue.toString());
+
+      MessageQueue otherMessageQueue = new MessageQueue(3);
+      otherMessageQueue.getQueue().offer(new OutputMessage("m1"));
+      MessageQueue derivedMessageQueue = packedMessageQueue.withoutHeadMessage();
+      Assert.assertEquals(otherMessageQueue, derivedMessageQueue);
+      Assert.assertEquals(otherMessageQueue.hashCode(), derivedMessageQueue.hashCode());
+      Assert.assertEquals(otherMessageQueue.packedCopy(messageAlphabet), derivedMessageQueue);
+      Assert.assertNotEquals(packedMessageQueue, derivedMessageQueue.withMessageAtTail(new OutputMessage("m2")));
+
+      /*
+       * a message not belonging to the alphabet unpacks the queue
+       */
+      MessageQueue unpackedMessageQueue = derivedMessageQueue.withMessageAtTail(new OutputMessage("m3"));
+      Assert.assertEquals("[m1, m3]", unpackedMessageQueue.toString());
+      Assert.assertEquals(3, unpackedMessageQueue.getCapacity().intValue());
+   }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sesygroup.choreography.concreteparticipantbehavior.model.Message;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.InputMessage;
+import com.sesygroup.choreography.concreteparticipantbehavior.model.message.OutputMessage;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class PackedMessageQueueTest {
+   private static MessageAlphabet messageAlphabet;
+
+   @BeforeClass
+   public static void setUp() {
+      messageAlphabet = new MessageAlphabet(
+            Arrays.asList(new OutputMessage("m1"), new OutputMessage("m2"), new InputMessage("m3")));
+   }
+
+   @Test
+   public void testEnqueueDequeue() {
+      PackedMessageQueue queue = PackedMessageQueue.copyOf(messageAlphabet, 3, Collections.<Message>emptyList())
+            .enqueue(2).enqueue(0).enqueue(1);
+
+      MatcherAssert.assertThat(queue, Matchers.contains(new InputMessage("m3"), new OutputMessage("m1"),
+            new OutputMessage("m2")));
+      MatcherAssert.assertThat(queue.size(), Matchers.is(3));
+      MatcherAssert.assertThat(queue.peek(), Matchers.is(new InputMessage("m3")));
+      MatcherAssert.assertThat(queue.dequeue(), Matchers.contains(new OutputMessage("m1"), new OutputMessage("m2")));
+      MatcherAssert.assertThat(queue.dequeue().dequeue().enqueue(2),
+            Matchers.contains(new OutputMessage("m2"), new InputMessage("m3")));
+      MatcherAssert.assertThat(queue.dequeue().dequeue().dequeue(), Matchers.empty());
+      MatcherAssert.assertThat(queue.dequeue().dequeue().dequeue().peek(), Matchers.nullValue());
+   }
+
+   @Test
+   public void testWordIdentifiesMessages() {
+      PackedMessageQueue queueOne = PackedMessageQueue.copyOf(messageAlphabet, 2,
+            Arrays.asList(new InputMessage("m1"), new OutputMessage("m2")));
+      PackedMessageQueue queueTwo = PackedMessageQueue.copyOf(messageAlphabet, 2, Collections.<Message>emptyList())
+            .enqueue(0).enqueue(1);
+      PackedMessageQueue queueThree = PackedMessageQueue.copyOf(messageAlphabet, 2, Collections.<Message>emptyList())
+            .enqueue(1).enqueue(0);
+
+      MatcherAssert.assertThat(queueOne.getWord(), Matchers.is(queueTwo.getWord()));
+      MatcherAssert.assertThat(queueOne.getWord(), Matchers.not(queueThree.getWord()));
+      MatcherAssert.assertThat(queueOne.dequeue().dequeue().getWord(), Matchers.is(0L));
+   }
+
+   @Test
+   public void testCopyOfUnknownMessage() {
+      MatcherAssert.assertThat(
+            PackedMessageQueue.copyOf(messageAlphabet, 2, Arrays.asList(new OutputMessage("m4"))),
+            Matchers.nullValue());
+   }
+
+   @Test
+   public void testCanPack() {
+      List<Message> messages = new ArrayList<Message>();
+      for (int i = 0; i < 64; i++) {
+         messages.add(new OutputMessage("m" + i));
+      }
+      MessageAlphabet largeMessageAlphabet = new MessageAlphabet(messages);
+
+      MatcherAssert.assertThat(messageAlphabet.canPack(0), Matchers.is(false));
+      MatcherAssert.assertThat(messageAlphabet.canPack(29), Matchers.is(true));
+      MatcherAssert.assertThat(messageAlphabet.canPack(30), Matchers.is(false));
+      MatcherAssert.assertThat(largeMessageAlphabet.canPack(10), Matchers.is(true));
+      MatcherAssert.assertThat(largeMessageAlphabet.canPack(11), Matchers.is(false));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testDuplicatedMessageName() {
+      new MessageAlphabet(Arrays.asList(new OutputMessage("m1"), new InputMessage("m1")));
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testOffer() {
+      PackedMessageQueue.copyOf(messageAlphabet, 1, Collections.<Message>emptyList()).offer(new OutputMessage("m1"));
+   }
+
+   @Test(expected = NoSuchElementException.class)
+   public void testDequeueEmpty() {
+      PackedMessageQueue.copyOf(messageAlphabet, 1, Collections.<Message>emptyList()).dequeue();
+   }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 Software Engineering and Synthesis Group
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.sesygroup.choreography.hybridsystembehavior.model;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ *
+ * @author Alexander Perucci (http://www.alexanderperucci.com/)
+ *
+ */
+public class PersistentQueueTest {
+
+   @Test
+   public void testEnqueueDequeue() {
+      PersistentQueue<String> queue = PersistentQueue.<String>empty().enqueue("m1").enqueue("m2").enqueue("m3");
+
+      MatcherAssert.assertThat(queue, Matchers.contains("m1", "m2", "m3"));
+      MatcherAssert.assertThat(queue.size(), Matchers.is(3));
+      MatcherAssert.assertThat(queue.peek(), Matchers.is("m1"));
+      MatcherAssert.assertThat(queue.dequeue(), Matchers.contains("m2", "m3"));
+      MatcherAssert.assertThat(queue.dequeue().dequeue().enqueue("m4"), Matchers.contains("m3", "m4"));
+      MatcherAssert.assertThat(queue.dequeue().dequeue().dequeue(), Matchers.empty());
+   }
+
+   @Test
+   public void testEnqueueDoesNotChangeQueue() {
+      PersistentQueue<String> queue = PersistentQueue.copyOf(Arrays.asList("m1", "m2"));
+      PersistentQueue<String> queueOne = queue.enqueue("m3");
+      PersistentQueue<String> queueTwo = queue.dequeue().enqueue("m4");
+
+      MatcherAssert.assertThat(queue, Matchers.contains("m1", "m2"));
+      MatcherAssert.assertThat(queueOne, Matchers.contains("m1", "m2", "m3"));
+      MatcherAssert.assertThat(queueTwo, Matchers.contains("m2", "m4"));
+   }
+
+   @Test
+   public void testIteratorBackList() {
+      /*
+       * m1 is in the front list, m2 and m3 in the back list, which is reversed once and shared by the iterations
+       */
+      PersistentQueue<String> queue = PersistentQueue.<String>empty().enqueue("m1").enqueue("m2").enqueue("m3");
+
+      MatcherAssert.assertThat(queue, Matchers.contains("m1", "m2", "m3"));
+      MatcherAssert.assertThat(queue, Matchers.contains("m1", "m2", "m3"));
+      MatcherAssert.assertThat(queue.dequeue(), Matchers.contains("m2", "m3"));
+      MatcherAssert.assertThat(queue.dequeue().enqueue("m4"), Matchers.contains("m2", "m3", "m4"));
+      MatcherAssert.assertThat(queue.enqueue("m4"), Matchers.contains("m1", "m2", "m3", "m4"));
+      MatcherAssert.assertThat(queue, Matchers.contains("m1", "m2", "m3"));
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testOffer() {
+      PersistentQueue.<String>empty().offer("m1");
+   }
+
+   @Test(expected = NoSuchElementException.class)
+   public void testDequeueEmpty() {
+      PersistentQueue.<String>empty().dequeue();
+   }
+}
@@ -159,4 +159,91 @@ public class StateTest {
       MatcherAssert.assertThat(states.stream().collect(Collectors.toList()).contains(stateTwo), Matchers.is(true));
 
    }
+
+   @Test
+   public void testHashCode() {
+      State stateOne = State.newInstance(state);
+      State stateTwo = State.newInstance(state);
+      stateTwo.freeze();
+
+      MatcherAssert.assertThat(stateOne.hashCode(), Matchers.is(stateTwo.hashCode()));
+
+      Set<State> states = new HashSet<State>();
+      states.add(stateOne);
+      MatcherAssert.assertThat(states.contains(stateTwo), Matchers.is(true));
+   }
+
+   @Test
+   public void testHashCodeChangedBeforeFreeze() {
+      State changedState = State.newInstance(state);
+      int hashCodeBeforeChange = changedState.hashCode();
+      changedState.getParticipantToMessageQueueMap().get(new Participant("p2")).getQueue()
+            .offer(new OutputMessage("m2"));
+      changedState.freeze();
+
+      State expectedState = State.newInstance(changedState);
+      expectedState.freeze();
+
+      MatcherAssert.assertThat(changedState.hashCode(), Matchers.not(hashCodeBeforeChange));
+      MatcherAssert.assertThat(changedState.hashCode(), Matchers.is(expectedState.hashCode()));
+      MatcherAssert.assertThat(changedState, Matchers.is(expectedState));
+
+      Set<State> states = new HashSet<State>();
+      states.add(expectedState);
+      MatcherAssert.assertThat(states.contains(changedState), Matchers.is(true));
+   }
+
+   @Test
+   public void testFreeze() {
+      State frozenState = State.newInstance(state);
+      frozenState.freeze();
+
+      MatcherAssert.assertThat(frozenState.isFrozen(), Matchers.is(true));
+      MatcherAssert.assertThat(frozenState, Matchers.is(state));
+      MatcherAssert.assertThat(frozenState.getParticipantToMessageQueueMap().get(new Participant("p1")).isFrozen(),
+            Matchers.is(true));
+      MatcherAssert.assertThat(State.newInstance(frozenState).isFrozen(), Matchers.is(false));
+      MatcherAssert.assertThat(State.newInstance(frozenState), Matchers.is(frozenState));
+   }
+
+   @Test(expected = UnsupportedOperationException.class)
+   public void testFreezeUnmodifiableMap() {
+      State frozenState = State.newInstance(state);
+      frozenState.freeze();
+      frozenState.getParticipantToConcreteParticipantBehaviorStateMap().put(new Participant("p1"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s1"));
+   }
+
+   @Test
+   public void testWithConcreteParticipantBehaviorState() {
+      State frozenState = State.newInstance(state);
+      frozenState.freeze();
+      State newState = frozenState.withConcreteParticipantBehaviorState(new Participant("p2"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s1"));
+
+      MatcherAssert.assertThat(newState.isFrozen(), Matchers.is(true));
+      MatcherAssert.assertThat(newState.toString(), Matchers.is("(p1:s0:[m1],p2:s1:[])"));
+      MatcherAssert.assertThat(frozenState, Matchers.is(state));
+      MatcherAssert.assertThat(newState.getParticipantToMessageQueueMap().get(new Participant("p1")),
+            Matchers.sameInstance(frozenState.getParticipantToMessageQueueMap().get(new Participant("p1"))));
+      MatcherAssert.assertThat(newState.withConcreteParticipantBehaviorState(new Participant("p2"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s0")), Matchers.is(state));
+   }
+
+   @Test
+   public void testWithMessageQueue() {
+      State newState = state.withMessageQueue(new Participant("p1"),
+            state.getParticipantToMessageQueueMap().get(new Participant("p1")).withoutHeadMessage());
+
+      MatcherAssert.assertThat(newState.isFrozen(), Matchers.is(true));
+      MatcherAssert.assertThat(newState.toString(), Matchers.is("(p1:s0:[],p2:s0:[])"));
+      MatcherAssert.assertThat(state.isFrozen(), Matchers.is(false));
+      MatcherAssert.assertThat(state.toString(), Matchers.is("(p1:s0:[m1],p2:s0:[])"));
+   }
+
+   @Test(expected = IllegalArgumentException.class)
+   public void testWithConcreteParticipantBehaviorStateUnknownParticipant() {
+      state.withConcreteParticipantBehaviorState(new Participant("p3"),
+            new com.sesygroup.choreography.concreteparticipantbehavior.model.State("s1"));
+   }
 }